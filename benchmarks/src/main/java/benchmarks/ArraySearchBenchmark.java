@@ -0,0 +1,128 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the searching algorithms of {@code ArraySearchDemo}. Each invocation performs
+ * a fixed batch of searches whose targets are found with the given probability, so that the
+ * reported time is the average time of one search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArraySearchBenchmark {
+
+    // Number of searches performed in one invocation.
+    private static final int QUERIES = 256;
+
+    /**
+     * Data for the linear searches, which do not care whether the array is sorted.
+     */
+    @State(Scope.Thread)
+    public static class LinearData {
+        @Param({"16", "1024", "65536"}) int size;
+        @Param({"0.0", "0.5", "1.0"}) double hitRatio;
+        // Whether the found targets are anywhere in the array, or only in its first tenth.
+        @Param({"ANYWHERE", "FRONT"}) String hitPosition;
+        @Param({"false", "true"}) boolean sorted;
+
+        int[] a, queries;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.sortedEvenArray(size, rng);
+            if(!sorted) { BenchmarkData.shuffle(a, rng); }
+            int range = hitPosition.equals("FRONT") ? Math.max(1, size / 10) : size;
+            queries = createQueries(a, range, hitRatio, rng);
+        }
+    }
+
+    /**
+     * Data for the binary searches, which need the array to be sorted.
+     */
+    @State(Scope.Thread)
+    public static class BinaryData {
+        @Param({"16", "1024", "65536", "4194304"}) int size;
+        @Param({"0.0", "0.5", "1.0"}) double hitRatio;
+
+        int[] a, queries;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.sortedEvenArray(size, rng);
+            queries = createQueries(a, size, hitRatio, rng);
+        }
+    }
+
+    // Hits are elements from positions 0, ..., range-1 of the array, misses are odd numbers
+    // that cannot occur in the array. Searches are in random order to defeat branch prediction.
+    private static int[] createQueries(int[] a, int range, double hitRatio, Random rng) {
+        int[] queries = new int[QUERIES];
+        int max = a.length == 0 ? 0 : Arrays.stream(a).max().getAsInt();
+        for(int i = 0; i < QUERIES; i++) {
+            if(a.length > 0 && rng.nextDouble() < hitRatio) { queries[i] = a[rng.nextInt(range)]; }
+            else { queries[i] = 2 * rng.nextInt(max / 2 + 1) + 1; }
+        }
+        return queries;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int linearSearch(LinearData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.linearSearch(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int sentinelSearch(LinearData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.sentinelSearch(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int unrolledSearch(LinearData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.unrolledSearch(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int binarySearch(BinaryData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.binarySearch(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int binarySearchIncorrect(BinaryData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.binarySearchIncorrect(d.a, x); }
+        return sum;
+    }
+
+    // Baseline of the library binary search for the same data.
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int arraysBinarySearch(BinaryData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += Arrays.binarySearch(d.a, x); }
+        return sum;
+    }
+}
@@ -0,0 +1,108 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generators of the input data shared by the benchmarks. All data is generated from a fixed
+ * seed, so that the measurements of two versions of the code are made with identical inputs.
+ */
+public class BenchmarkData {
+
+    /**
+     * Seed of the random number generator used for all generated data.
+     */
+    public static final int SEED = 12345;
+
+    /**
+     * The shapes of generated integer arrays.
+     */
+    public enum Distribution {
+        /** Independent values uniformly from {@code -n, ..., n}. */
+        UNIFORM,
+        /** Mostly ascending runs of random lengths, as in {@code ShlemielTest}. */
+        ASCENDING_RUNS,
+        /** Values from a small range, so that each value occurs many times. */
+        FEW_DISTINCT,
+        /** The values {@code 0, ..., n-1} in ascending order. */
+        SORTED
+    }
+
+    /**
+     * Create an integer array of the given length and distribution.
+     * @param n The length of the array.
+     * @param distribution The distribution of the values.
+     * @param rng The random number generator to use.
+     * @return The new array.
+     */
+    public static int[] intArray(int n, Distribution distribution, Random rng) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) {
+            switch(distribution) {
+                case UNIFORM: a[i] = rng.nextInt(2*n + 1) - n; break;
+                case ASCENDING_RUNS: a[i] = i > 0 && rng.nextInt(100) < 80 ? a[i-1] + 1 + rng.nextInt(10) : rng.nextInt(10 * n); break;
+                case FEW_DISTINCT: a[i] = rng.nextInt(4); break;
+                default: a[i] = i;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Create a strictly ascending array of the given length whose elements are all even, so
+     * that every odd value is guaranteed to be missing from the array.
+     * @param n The length of the array.
+     * @param rng The random number generator to use.
+     * @return The new array.
+     */
+    public static int[] sortedEvenArray(int n, Random rng) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) {
+            a[i] = (i > 0 ? a[i-1] : 0) + 2 * (1 + rng.nextInt(4));
+        }
+        return a;
+    }
+
+    /**
+     * Create a random permutation of the numbers {@code 1, ..., n}.
+     * @param n The length of the permutation.
+     * @param rng The random number generator to use.
+     * @return The new permutation.
+     */
+    public static int[] permutation(int n, Random rng) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) { a[i] = i + 1; }
+        shuffle(a, rng);
+        return a;
+    }
+
+    /**
+     * Shuffle the given array in place with the Fisher-Yates algorithm.
+     * @param a The array to shuffle.
+     * @param rng The random number generator to use.
+     */
+    public static void shuffle(int[] a, Random rng) {
+        for(int i = a.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+        }
+    }
+
+    /**
+     * Create a widened copy of the given array.
+     * @param a The array to widen.
+     * @return The array of the same elements as {@code long}.
+     */
+    public static long[] widen(int[] a) {
+        return Arrays.stream(a).asLongStream().toArray();
+    }
+
+    /**
+     * Create the boxed copy of the given array.
+     * @param a The array to box.
+     * @return The array of the same elements as {@code Integer}.
+     */
+    public static Integer[] box(int[] a) {
+        return Arrays.stream(a).boxed().toArray(Integer[]::new);
+    }
+}
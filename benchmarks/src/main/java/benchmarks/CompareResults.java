@@ -0,0 +1,165 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare two JMH result files written with {@code -rf json}, for example the results of the
+ * same benchmarks run on two versions of the code. Each benchmark that appears in both files
+ * with the same parameters is printed with its old and new score and the relative change. A
+ * change is a regression when the new score is worse than the old score by more than the sum
+ * of their score errors, where worse means higher for time modes and lower for throughput.
+ * The exit status is 1 if some benchmark regressed, so that the comparison can fail a build.
+ */
+public class CompareResults {
+
+    /**
+     * Compare the two given result files and print the comparison.
+     * @param args The old result file and the new result file.
+     * @throws IOException If either file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 2) {
+            System.err.println("Usage: CompareResults old.json new.json");
+            System.exit(2);
+        }
+        Map<String, Map<String, Object>> before = readResults(Path.of(args[0]));
+        Map<String, Map<String, Object>> after = readResults(Path.of(args[1]));
+        int width = 9;
+        for(String key: before.keySet()) { width = Math.max(width, key.length()); }
+        for(String key: after.keySet()) { width = Math.max(width, key.length()); }
+        String row = "%-" + width + "s %14s %14s %8s%n";
+        int regressions = 0;
+        System.out.printf(row, "Benchmark", "Old", "New", "Change");
+        for(Map.Entry<String, Map<String, Object>> entry: after.entrySet()) {
+            Map<String, Object> newResult = entry.getValue();
+            Map<String, Object> oldResult = before.get(entry.getKey());
+            if(oldResult == null) {
+                System.out.printf(row, entry.getKey(), "-", String.format("%.3f", score(newResult)), "new");
+                continue;
+            }
+            double oldScore = score(oldResult), newScore = score(newResult);
+            double tolerance = error(oldResult) + error(newResult);
+            // In throughput mode more operations is better, in the time modes less time is.
+            boolean higherIsBetter = "thrpt".equals(newResult.get("mode"));
+            double worsening = higherIsBetter ? oldScore - newScore : newScore - oldScore;
+            boolean regressed = worsening > tolerance;
+            if(regressed) { regressions++; }
+            System.out.printf("%-" + width + "s %14.3f %14.3f %+7.1f%%%s%n", entry.getKey(), oldScore, newScore,
+                100 * (newScore - oldScore) / oldScore, regressed ? "  REGRESSION" : "");
+        }
+        for(String key: before.keySet()) {
+            if(!after.containsKey(key)) { System.out.printf(row, key, "", "-", "missing"); }
+        }
+        System.out.println(regressions + " regressions");
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Read the results of one file, keyed by the benchmark name followed by its parameters.
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> readResults(Path path) throws IOException {
+        String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        for(Object item: (List<Object>)new JsonParser(json).parse()) {
+            Map<String, Object> result = (Map<String, Object>)item;
+            String key = (String)result.get("benchmark");
+            Map<String, Object> params = (Map<String, Object>)result.get("params");
+            if(params != null) { key += new TreeMap<>(params); }
+            results.put(key, result);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double score(Map<String, Object> result) {
+        return number(((Map<String, Object>)result.get("primaryMetric")).get("score"));
+    }
+
+    // The error is NaN when there were too few iterations to compute it, and then ignored.
+    @SuppressWarnings("unchecked")
+    private static double error(Map<String, Object> result) {
+        double error = number(((Map<String, Object>)result.get("primaryMetric")).get("scoreError"));
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // JMH writes the special values such as NaN as strings.
+    private static double number(Object value) {
+        return value instanceof Double ? (Double)value : Double.parseDouble(value.toString());
+    }
+
+    // Just enough of a JSON parser for the result files of JMH, with objects as maps, arrays as
+    // lists, numbers as doubles, and strings without any escapes other than the simple ones.
+    private static class JsonParser {
+        private final String s;
+        private int pos;
+
+        JsonParser(String s) { this.s = s; }
+
+        Object parse() {
+            skipWhitespace();
+            char c = s.charAt(pos);
+            if(c == '{') {
+                Map<String, Object> map = new LinkedHashMap<>();
+                pos++;
+                while(!tryConsume('}')) {
+                    skipWhitespace();
+                    String name = (String)parse();
+                    expect(':');
+                    map.put(name, parse());
+                    tryConsume(',');
+                }
+                return map;
+            }
+            if(c == '[') {
+                List<Object> list = new ArrayList<>();
+                pos++;
+                while(!tryConsume(']')) {
+                    list.add(parse());
+                    tryConsume(',');
+                }
+                return list;
+            }
+            if(c == '"') {
+                StringBuilder result = new StringBuilder();
+                pos++;
+                while((c = s.charAt(pos++)) != '"') {
+                    if(c == '\\') {
+                        c = s.charAt(pos++);
+                        if(c == 'n') { c = '\n'; }
+                        else if(c == 't') { c = '\t'; }
+                        else if(c == 'u') { c = (char)Integer.parseInt(s.substring(pos, pos + 4), 16); pos += 4; }
+                    }
+                    result.append(c);
+                }
+                return result.toString();
+            }
+            int start = pos;
+            while(pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0) { pos++; }
+            String word = s.substring(start, pos);
+            if(word.equals("true") || word.equals("false")) { return Boolean.valueOf(word); }
+            if(word.equals("null")) { return null; }
+            return Double.valueOf(word);
+        }
+
+        private void skipWhitespace() {
+            while(pos < s.length() && Character.isWhitespace(s.charAt(pos))) { pos++; }
+        }
+
+        private boolean tryConsume(char c) {
+            skipWhitespace();
+            if(pos < s.length() && s.charAt(pos) == c) { pos++; return true; }
+            return false;
+        }
+
+        private void expect(char c) {
+            if(!tryConsume(c)) { throw new IllegalArgumentException("Expected " + c + " at position " + pos); }
+        }
+    }
+}
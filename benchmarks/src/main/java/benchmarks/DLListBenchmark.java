@@ -0,0 +1,144 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the operations of {@code DLList}, with {@code java.util.LinkedList} as the
+ * baseline where the same operation exists there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DLListBenchmark {
+
+    // Number of searches performed in one invocation.
+    private static final int QUERIES = 64;
+
+    /**
+     * List of distinct even keys in random order, and the keys to search for.
+     */
+    @State(Scope.Thread)
+    public static class ListData {
+        @Param({"16", "1024", "65536"}) int size;
+        @Param({"0.0", "0.5", "1.0"}) double hitRatio;
+
+        Integer[] keys, queries;
+        DLList<Integer> list;
+        LinkedList<Integer> linked;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            int[] a = BenchmarkData.sortedEvenArray(size, rng);
+            BenchmarkData.shuffle(a, rng);
+            keys = BenchmarkData.box(a);
+            list = new DLList<>(keys);
+            linked = new LinkedList<>(Arrays.asList(keys));
+            queries = new Integer[QUERIES];
+            for(int i = 0; i < QUERIES; i++) {
+                // Odd keys are guaranteed misses.
+                queries[i] = rng.nextDouble() < hitRatio ? a[rng.nextInt(size)] : 2 * rng.nextInt(size) + 1;
+            }
+        }
+    }
+
+    /**
+     * Fresh lists for the operations that modify or consume their lists. Since these are
+     * rebuilt before every invocation, the sizes are large enough to dominate that overhead.
+     */
+    @State(Scope.Thread)
+    public static class FreshData {
+        @Param({"1024", "65536"}) int size;
+
+        Integer[] keys, sortedFirst, sortedSecond;
+        DLList<Integer> list, first, second;
+        LinkedList<Integer> linked;
+
+        @Setup(Level.Trial) public void setupTrial() {
+            Random rng = new Random(BenchmarkData.SEED);
+            keys = BenchmarkData.box(BenchmarkData.intArray(size, BenchmarkData.Distribution.UNIFORM, rng));
+            sortedFirst = BenchmarkData.box(BenchmarkData.sortedEvenArray(size, rng));
+            sortedSecond = BenchmarkData.box(BenchmarkData.sortedEvenArray(size, rng));
+        }
+
+        @Setup(Level.Invocation) public void setupInvocation() {
+            list = new DLList<>(keys);
+            linked = new LinkedList<>(Arrays.asList(keys));
+            first = new DLList<>(sortedFirst);
+            second = new DLList<>(sortedSecond);
+        }
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int contains(ListData d) {
+        int count = 0;
+        for(Integer x: d.queries) { if(d.list.contains(x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int linkedListContains(ListData d) {
+        int count = 0;
+        for(Integer x: d.queries) { if(d.linked.contains(x)) { count++; } }
+        return count;
+    }
+
+    // Rotating left and then right by the same amount leaves the list unchanged.
+    @Benchmark public DLList<Integer> rotate(ListData d) {
+        d.list.rotateLeft(d.size / 2);
+        d.list.rotateRight(d.size / 2);
+        return d.list;
+    }
+
+    @Benchmark public long iterate(ListData d) {
+        long sum = 0;
+        ListIterator<Integer> it = d.list.iterator();
+        while(it.hasNext()) { sum += it.next(); }
+        return sum;
+    }
+
+    @Benchmark public long linkedListIterate(ListData d) {
+        long sum = 0;
+        for(Integer x: d.linked) { sum += x; }
+        return sum;
+    }
+
+    // Moving every node from the front to the back, one node at a time.
+    @Benchmark public DLList<Integer> insertAndRemove(ListData d) {
+        for(int i = 0; i < d.size; i++) { d.list.insertBack(d.list.removeFront().getKey()); }
+        return d.list;
+    }
+
+    @Benchmark public DLList<Integer> removeIf(FreshData d) {
+        d.list.removeIf(x -> x % 2 == 0);
+        return d.list;
+    }
+
+    @Benchmark public LinkedList<Integer> linkedListRemoveIf(FreshData d) {
+        d.linked.removeIf(x -> x % 2 == 0);
+        return d.linked;
+    }
+
+    @Benchmark public DLList<Integer> merge(FreshData d) {
+        return DLList.merge(d.first, d.second);
+    }
+}
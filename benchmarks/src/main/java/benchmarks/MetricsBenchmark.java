@@ -0,0 +1,160 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the cost of the instrumentation recorded into {@code Metrics}. Each operation
+ * is measured in three ways: through its original overload, which passes a {@code null} sink
+ * to the only implementation, then through the baseline copy of the implementation as it was
+ * before the instrumentation, and finally recording into a sink. The first two should take
+ * the same time, which verifies that disabled instrumentation costs nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetricsBenchmark {
+
+    // Number of searches performed in one invocation.
+    private static final int QUERIES = 256;
+
+    /**
+     * Data to search, the same for the array and the list.
+     */
+    @State(Scope.Thread)
+    public static class SearchData {
+        @Param({"16", "1024"}) int size;
+
+        int[] a, sorted, queries;
+        Integer[] boxedQueries;
+        DLList<Integer> list;
+        // The header of a chain of nodes with the same keys as the list, for the baseline.
+        DLNode<Integer> head;
+        final Metrics metrics = new Metrics();
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            sorted = BenchmarkData.sortedEvenArray(size, rng);
+            a = sorted.clone();
+            BenchmarkData.shuffle(a, rng);
+            list = new DLList<>(BenchmarkData.box(a));
+            head = new DLNode<>();
+            for(int x: a) { head.insertPredecessor(x); }
+            queries = new int[QUERIES];
+            for(int i = 0; i < QUERIES; i++) { queries[i] = rng.nextBoolean() ? a[rng.nextInt(size)] : 2 * rng.nextInt(size) + 1; }
+            boxedQueries = BenchmarkData.box(queries);
+        }
+    }
+
+    // The baseline copies of the searches before they were instrumented.
+
+    private static int linearSearchBaseline(int[] a, int x) {
+        int i = 0;
+        while(i < a.length && a[i] != x) { i++; }
+        return i < a.length ? i : -1;
+    }
+
+    private static int binarySearchBaseline(int[] a, int x) {
+        int lo = 0, hi = a.length - 1;
+        if(hi == -1 || a[hi] < x) {
+            return a.length;
+        }
+        while(lo < hi) {
+            int mid = (lo + hi) / 2;
+            if(a[mid] < x) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean containsBaseline(DLNode<Integer> head, Integer o) {
+        head.setKey(o);
+        DLNode<Integer> curr = head;
+        do {
+            curr = curr.getNext();
+        } while(!curr.getKey().equals(o));
+        return curr != head;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int linearSearch(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.linearSearch(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int linearSearchBaseline(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += linearSearchBaseline(d.a, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int linearSearchEnabled(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.linearSearch(d.a, x, d.metrics); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int binarySearch(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.binarySearch(d.sorted, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int binarySearchBaseline(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += binarySearchBaseline(d.sorted, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int binarySearchEnabled(SearchData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.binarySearch(d.sorted, x, d.metrics); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int contains(SearchData d) {
+        int count = 0;
+        for(Integer x: d.boxedQueries) { if(d.list.contains(x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int containsBaseline(SearchData d) {
+        int count = 0;
+        for(Integer x: d.boxedQueries) { if(containsBaseline(d.head, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int containsEnabled(SearchData d) {
+        int count = 0;
+        for(Integer x: d.boxedQueries) { if(d.list.contains(x, d.metrics)) { count++; } }
+        return count;
+    }
+}
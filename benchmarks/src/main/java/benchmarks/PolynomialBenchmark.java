@@ -0,0 +1,115 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the polynomial evaluation strategies of {@code Shlemiel},
+ * {@code PolynomialBatch} and {@code Polynomial}, and of the two multiplication
+ * algorithms of {@code Polynomial}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PolynomialBenchmark {
+
+    // Number of points in which the polynomial is evaluated in one invocation.
+    private static final int POINTS = 1024;
+
+    /**
+     * Polynomial of the given degree and the points to evaluate it in.
+     */
+    @State(Scope.Thread)
+    public static class EvaluationData {
+        @Param({"4", "16", "256"}) int degree;
+
+        double[] coefficients, xs, out = new double[POINTS];
+        Polynomial polynomial;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            coefficients = new double[degree + 1];
+            for(int i = 0; i <= degree; i++) { coefficients[i] = rng.nextGaussian(); }
+            polynomial = new Polynomial(coefficients);
+            xs = new double[POINTS];
+            for(int i = 0; i < POINTS; i++) { xs[i] = 2 * rng.nextDouble() - 1; }
+        }
+    }
+
+    /**
+     * Two polynomials of the given degree to multiply.
+     */
+    @State(Scope.Thread)
+    public static class MultiplicationData {
+        @Param({"16", "64", "256", "4096"}) int degree;
+
+        double[] a, b;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = new double[degree + 1];
+            b = new double[degree + 1];
+            for(int i = 0; i <= degree; i++) { a[i] = rng.nextGaussian(); b[i] = rng.nextGaussian(); }
+        }
+    }
+
+    private static double evaluateAll(EvaluationData d, Polynomial.Strategy strategy) {
+        Polynomial.Evaluator evaluator = strategy.getEvaluator();
+        double sum = 0;
+        for(double x: d.xs) { sum += evaluator.evaluate(d.coefficients, x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluatePolynomialShlemiel(EvaluationData d) { return evaluateAll(d, Polynomial.Strategy.SHLEMIEL); }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluatePolynomialLinear(EvaluationData d) { return evaluateAll(d, Polynomial.Strategy.LINEAR); }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluatePolynomialHorner(EvaluationData d) { return evaluateAll(d, Polynomial.Strategy.HORNER); }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluatePolynomialFma(EvaluationData d) { return evaluateAll(d, Polynomial.Strategy.FMA); }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluatePolynomialEstrin(EvaluationData d) { return evaluateAll(d, Polynomial.Strategy.ESTRIN); }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double[] evaluatePolynomialBatch(EvaluationData d) {
+        PolynomialBatch.evaluatePolynomialBatch(d.coefficients, d.xs, d.out);
+        return d.out;
+    }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double[] parallelEvaluatePolynomialBatch(EvaluationData d) {
+        PolynomialBatch.parallelEvaluatePolynomialBatch(d.coefficients, d.xs, d.out);
+        return d.out;
+    }
+
+    @Benchmark @OperationsPerInvocation(POINTS)
+    public double evaluateWithDerivative(EvaluationData d) {
+        double sum = 0;
+        for(double x: d.xs) { sum += d.polynomial.evaluateWithDerivative(x)[1]; }
+        return sum;
+    }
+
+    @Benchmark public double[] multiplySchoolbook(MultiplicationData d) { return Polynomial.multiplySchoolbook(d.a, d.b); }
+
+    @Benchmark public double[] multiplyFFT(MultiplicationData d) { return Polynomial.multiplyFFT(d.a, d.b); }
+}
@@ -0,0 +1,208 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the prefix sums and the range query structures built on them: the prefix
+ * scans, {@code FenwickTree}, {@code SegmentTree}, {@code SparseTable} and the sliding
+ * window aggregates, each against the Shlemiel approach of looping over the range.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RangeQueryBenchmark {
+
+    // Number of queries or updates performed in one invocation.
+    private static final int QUERIES = 1024;
+
+    /**
+     * Array for the whole array prefix scans.
+     */
+    @State(Scope.Thread)
+    public static class ScanData {
+        @Param({"1024", "65536", "4194304"}) int size;
+
+        int[] a;
+        long[] out;
+        final PrefixAccumulator accumulator = new PrefixAccumulator();
+
+        @Setup public void setup() {
+            a = BenchmarkData.intArray(size, BenchmarkData.Distribution.UNIFORM, new Random(BenchmarkData.SEED));
+            out = new long[size];
+        }
+    }
+
+    /**
+     * Array with its range query structures, and random ranges and updates.
+     */
+    @State(Scope.Thread)
+    public static class RangeData {
+        @Param({"1024", "65536", "1048576"}) int size;
+
+        int[] a, from, to, delta;
+        FenwickTree fenwick;
+        SegmentTree sumTree, minTree;
+        SparseTable sparse;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.intArray(size, BenchmarkData.Distribution.UNIFORM, rng);
+            fenwick = new FenwickTree(a);
+            sumTree = new SegmentTree(a, SegmentTree.Operation.SUM);
+            minTree = new SegmentTree(a, SegmentTree.Operation.MIN);
+            sparse = SparseTable.min(a);
+            from = new int[QUERIES]; to = new int[QUERIES]; delta = new int[QUERIES];
+            for(int i = 0; i < QUERIES; i++) {
+                int x = rng.nextInt(size), y = rng.nextInt(size);
+                from[i] = Math.min(x, y); to[i] = Math.max(x, y) + 1;
+                delta[i] = rng.nextInt(201) - 100;
+            }
+        }
+    }
+
+    /**
+     * Array and the width of the sliding window.
+     */
+    @State(Scope.Thread)
+    public static class WindowData {
+        @Param({"65536"}) int size;
+        @Param({"4", "64", "1024"}) int width;
+        @Param({"UNIFORM", "ASCENDING_RUNS"}) BenchmarkData.Distribution distribution;
+
+        int[] a;
+
+        @Setup public void setup() {
+            a = BenchmarkData.intArray(size, distribution, new Random(BenchmarkData.SEED));
+        }
+    }
+
+    // Prefix scans
+
+    @Benchmark public int[] accumulate(ScanData d) { return Shlemiel.accumulate(d.a); }
+
+    @Benchmark public long[] accumulateLong(ScanData d) { return PrefixScan.accumulateLong(d.a); }
+
+    @Benchmark public long[] parallelAccumulateLong(ScanData d) { return PrefixScan.parallelAccumulateLong(d.a); }
+
+    @Benchmark public int[] scan(ScanData d) { return PrefixScan.scan(d.a, Math::max); }
+
+    @Benchmark public int[] parallelScan(ScanData d) { return PrefixScan.parallelScan(d.a, Math::max); }
+
+    @Benchmark public long[] accumulatorChunk(ScanData d) {
+        d.accumulator.reset();
+        return d.accumulator.accept(d.a, 0, d.a.length, d.out);
+    }
+
+    // Range sums
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeSumShlemiel(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) {
+            for(int i = d.from[q]; i < d.to[q]; i++) { total += d.a[i]; }
+        }
+        return total;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeSumFenwick(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) { total += d.fenwick.rangeSum(d.from[q], d.to[q]); }
+        return total;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeSumSegmentTree(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) { total += d.sumTree.query(d.from[q], d.to[q]); }
+        return total;
+    }
+
+    // Point updates. Each update is undone right after, so the data stays the same.
+
+    @Benchmark @OperationsPerInvocation(2 * QUERIES)
+    public FenwickTree pointUpdateFenwick(RangeData d) {
+        for(int q = 0; q < QUERIES; q++) { d.fenwick.add(d.from[q], d.delta[q]); }
+        for(int q = 0; q < QUERIES; q++) { d.fenwick.add(d.from[q], -d.delta[q]); }
+        return d.fenwick;
+    }
+
+    @Benchmark @OperationsPerInvocation(2 * QUERIES)
+    public SegmentTree pointUpdateSegmentTree(RangeData d) {
+        for(int q = 0; q < QUERIES; q++) { d.sumTree.add(d.from[q], d.from[q] + 1, d.delta[q]); }
+        for(int q = 0; q < QUERIES; q++) { d.sumTree.add(d.from[q], d.from[q] + 1, -d.delta[q]); }
+        return d.sumTree;
+    }
+
+    @Benchmark @OperationsPerInvocation(2 * QUERIES)
+    public SegmentTree rangeUpdateSegmentTree(RangeData d) {
+        for(int q = 0; q < QUERIES; q++) { d.sumTree.add(d.from[q], d.to[q], d.delta[q]); }
+        for(int q = 0; q < QUERIES; q++) { d.sumTree.add(d.from[q], d.to[q], -d.delta[q]); }
+        return d.sumTree;
+    }
+
+    // Range minimums
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeMinShlemiel(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) {
+            int min = Integer.MAX_VALUE;
+            for(int i = d.from[q]; i < d.to[q]; i++) { min = Math.min(min, d.a[i]); }
+            total += min;
+        }
+        return total;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeMinSegmentTree(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) { total += d.minTree.query(d.from[q], d.to[q]); }
+        return total;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public long rangeMinSparseTable(RangeData d) {
+        long total = 0;
+        for(int q = 0; q < QUERIES; q++) { total += d.sparse.query(d.from[q], d.to[q]); }
+        return total;
+    }
+
+    // Construction of the structures
+
+    @Benchmark public FenwickTree buildFenwick(RangeData d) { return new FenwickTree(d.a); }
+
+    @Benchmark public SegmentTree buildSegmentTree(RangeData d) { return new SegmentTree(d.a, SegmentTree.Operation.SUM); }
+
+    @Benchmark public SparseTable buildSparseTable(RangeData d) { return SparseTable.min(d.a); }
+
+    // Sliding windows
+
+    @Benchmark public int[] slidingMinShlemiel(WindowData d) { return SlidingWindow.slidingMinShlemiel(d.a, d.width); }
+
+    @Benchmark public int[] slidingMin(WindowData d) { return SlidingWindow.slidingMin(d.a, d.width); }
+
+    @Benchmark public int[] slidingMaxShlemiel(WindowData d) { return SlidingWindow.slidingMaxShlemiel(d.a, d.width); }
+
+    @Benchmark public int[] slidingMax(WindowData d) { return SlidingWindow.slidingMax(d.a, d.width); }
+
+    @Benchmark public long[] slidingSumShlemiel(WindowData d) { return SlidingWindow.slidingSumShlemiel(d.a, d.width); }
+
+    @Benchmark public long[] slidingSum(WindowData d) { return SlidingWindow.slidingSum(d.a, d.width); }
+}
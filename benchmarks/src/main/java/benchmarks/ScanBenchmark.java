@@ -0,0 +1,131 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the single pass algorithms that summarize an entire array: maximum
+ * subarrays, longest runs, frequency counting and compaction. The Shlemiel versions of the
+ * maximum subarray problems are measured only with the smaller sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScanBenchmark {
+
+    /**
+     * Array of the given size and distribution, also in the other representations needed.
+     */
+    @State(Scope.Thread)
+    public static class ArrayData {
+        @Param({"1000", "100000", "1000000"}) int size;
+        @Param({"UNIFORM", "ASCENDING_RUNS", "FEW_DISTINCT"}) BenchmarkData.Distribution distribution;
+
+        int[] a, copy;
+        double[] doubles;
+
+        @Setup public void setup() {
+            a = BenchmarkData.intArray(size, distribution, new Random(BenchmarkData.SEED));
+            copy = new int[size];
+            doubles = new double[size];
+            for(int i = 0; i < size; i++) { doubles[i] = a[i]; }
+        }
+    }
+
+    /**
+     * Smaller array for comparing the quadratic Shlemiel versions.
+     */
+    @State(Scope.Thread)
+    public static class SmallData {
+        @Param({"100", "1000", "10000"}) int size;
+
+        int[] a, signs;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.intArray(size, BenchmarkData.Distribution.UNIFORM, rng);
+            // Products of subarrays must fit in long, so the factors are small.
+            signs = new int[size];
+            for(int i = 0; i < size; i++) { signs[i] = rng.nextInt(100) < 90 ? (rng.nextBoolean() ? 1 : -1) : rng.nextInt(5) - 2; }
+        }
+    }
+
+    // Maximum subarrays
+
+    @Benchmark public MaximumSubarray.Subarray maxSumSubarrayShlemiel(SmallData d) { return MaximumSubarray.maxSumSubarrayShlemiel(d.a); }
+
+    @Benchmark public MaximumSubarray.Subarray maxSumSubarray(SmallData d) { return MaximumSubarray.maxSumSubarray(d.a); }
+
+    @Benchmark public MaximumSubarray.Subarray maxProductSubarrayShlemiel(SmallData d) { return MaximumSubarray.maxProductSubarrayShlemiel(d.signs); }
+
+    @Benchmark public MaximumSubarray.Subarray maxProductSubarray(SmallData d) { return MaximumSubarray.maxProductSubarray(d.signs); }
+
+    @Benchmark public MaximumSubarray.Subarray longestSubarrayWithSumAtMostShlemiel(SmallData d) {
+        return MaximumSubarray.longestSubarrayWithSumAtMostShlemiel(d.a, 0);
+    }
+
+    @Benchmark public MaximumSubarray.Subarray longestSubarrayWithSumAtMost(SmallData d) {
+        return MaximumSubarray.longestSubarrayWithSumAtMost(d.a, 0);
+    }
+
+    @Benchmark public MaximumSubarray.Subarray maxSumSubarrayLarge(ArrayData d) { return MaximumSubarray.maxSumSubarray(d.a); }
+
+    @Benchmark public MaximumSubarray.Subarray parallelMaxSumSubarray(ArrayData d) { return MaximumSubarray.parallelMaxSumSubarray(d.a); }
+
+    // Longest runs
+
+    @Benchmark public int longestAscendingSubarray(ArrayData d) { return Shlemiel.longestAscendingSubarray(d.a); }
+
+    @Benchmark public RunTracker runTracker(ArrayData d) {
+        RunTracker.OfLong tracker = new RunTracker.OfLong();
+        for(int x: d.a) { tracker.add(x); }
+        return tracker;
+    }
+
+    @Benchmark public RunTracker parallelRunTracker(ArrayData d) { return RunTracker.parallelSummarize(d.a); }
+
+    @Benchmark public RunTracker parallelRunTrackerDouble(ArrayData d) { return RunTracker.parallelSummarize(d.doubles); }
+
+    // Frequency counting
+
+    @Benchmark public HashMap<Integer, Integer> countHashMap(ArrayData d) {
+        HashMap<Integer, Integer> counts = new HashMap<>();
+        for(int x: d.a) { counts.merge(x, 1, Integer::sum); }
+        return counts;
+    }
+
+    @Benchmark public IntIntHashMap countIntIntHashMap(ArrayData d) {
+        IntIntHashMap counts = new IntIntHashMap();
+        for(int x: d.a) { counts.addTo(x, 1); }
+        return counts;
+    }
+
+    @Benchmark public List<HeavyHitters.Candidate> frequentElements(ArrayData d) { return HeavyHitters.frequentElements(d.a, 10); }
+
+    @Benchmark public boolean hasMajorityLinear(ArrayData d) { return Shlemiel.hasMajorityLinear(d.a); }
+
+    @Benchmark public boolean parallelHasMajority(ArrayData d) { return ParallelMajority.parallelHasMajority(d.a); }
+
+    // Compaction, of a copy since the array is modified.
+
+    @Benchmark public int retainIf(ArrayData d) {
+        System.arraycopy(d.a, 0, d.copy, 0, d.a.length);
+        return Compaction.retainIf(d.copy, x -> x % 2 == 0);
+    }
+}
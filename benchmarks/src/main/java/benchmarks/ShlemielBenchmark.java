@@ -0,0 +1,352 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of each {@code Shlemiel} algorithm against its faster counterparts, including
+ * the later alternatives in {@code KSum}, {@code PermutationChecker}, {@code HeavyHitters},
+ * {@code ParallelMajority} and {@code Compaction}. The input sizes stop where the quadratic
+ * and cubic Shlemiel versions would take seconds per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ShlemielBenchmark {
+
+    // Number of goal values searched in one invocation of the summing element benchmarks.
+    private static final int GOALS = 16;
+
+    /**
+     * Unsorted integer data of the given size and distribution.
+     */
+    @State(Scope.Thread)
+    public static class IntData {
+        @Param({"100", "1000", "10000"}) int size;
+        @Param({"UNIFORM", "ASCENDING_RUNS", "FEW_DISTINCT"}) BenchmarkData.Distribution distribution;
+
+        int[] a;
+        long[] wide;
+
+        @Setup public void setup() {
+            a = BenchmarkData.intArray(size, distribution, new Random(BenchmarkData.SEED));
+            wide = BenchmarkData.widen(a);
+        }
+    }
+
+    /**
+     * Sorted integer data with goal sums that exist with the given probability.
+     */
+    @State(Scope.Thread)
+    public static class SortedData {
+        @Param({"100", "1000", "10000"}) int size;
+        @Param({"0.0", "1.0"}) double hitRatio;
+
+        int[] a, goals;
+        long[] wide;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.sortedEvenArray(size, rng);
+            wide = BenchmarkData.widen(a);
+            goals = createGoals(a, 2, hitRatio, rng);
+        }
+    }
+
+    /**
+     * Smaller sorted integer data for the cubic algorithms.
+     */
+    @State(Scope.Thread)
+    public static class CubicData {
+        @Param({"50", "200", "500"}) int size;
+        @Param({"0.0", "1.0"}) double hitRatio;
+
+        int[] a, goals;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.sortedEvenArray(size, rng);
+            goals = createGoals(a, 3, hitRatio, rng);
+        }
+    }
+
+    // Hits are sums of k elements in distinct random positions, all of which are even, so
+    // that odd goals are guaranteed misses.
+    private static int[] createGoals(int[] a, int k, double hitRatio, Random rng) {
+        int[] goals = new int[GOALS];
+        for(int i = 0; i < GOALS; i++) {
+            int sum = 0;
+            for(int j = 0; j < k; j++) { sum += a[(i * k + j) % a.length]; }
+            if(rng.nextDouble() >= hitRatio) { sum++; }
+            goals[i] = sum;
+        }
+        return goals;
+    }
+
+    /**
+     * A permutation of {@code 1, ..., n}, or if invalid, the same with one duplicated element.
+     */
+    @State(Scope.Thread)
+    public static class PermutationData {
+        @Param({"100", "1000", "10000"}) int size;
+        @Param({"true", "false"}) boolean valid;
+
+        int[] a;
+        long[] wide;
+        final PermutationChecker checker = new PermutationChecker();
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.permutation(size, rng);
+            // The duplicate is placed at the end, so that rejecting the array takes a full pass.
+            if(!valid) { a[size - 1] = a[0]; }
+            wide = BenchmarkData.widen(a);
+        }
+    }
+
+    /**
+     * List of strings of random lengths, half of which are removed as too short.
+     */
+    @State(Scope.Thread)
+    public static class StringData {
+        @Param({"100", "1000", "10000"}) int size;
+
+        ArrayList<String> strings = new ArrayList<>();
+        int len;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            StringBuilder word = new StringBuilder();
+            String[] words = new String[1000];
+            for(int i = 0; i < words.length; i++) {
+                word.append((char)(rng.nextInt(26) + 'a'));
+                words[i] = word.toString();
+            }
+            for(int i = 0; i < size; i++) { strings.add(words[rng.nextInt(words.length)]); }
+            len = words.length / 2;
+        }
+    }
+
+    // Accumulation
+
+    @Benchmark public int[] accumulateShlemiel(IntData d) { return Shlemiel.accumulateShlemiel(d.a); }
+
+    @Benchmark public int[] accumulate(IntData d) { return Shlemiel.accumulate(d.a); }
+
+    @Benchmark public long[] accumulateLong(IntData d) { return Shlemiel.accumulate(d.wide); }
+
+    @Benchmark public long[] accumulateExact(IntData d) { return Shlemiel.accumulateExact(d.wide); }
+
+    @Benchmark public long[] accumulateWidening(IntData d) { return PrefixScan.accumulateLong(d.a); }
+
+    @Benchmark public long[] parallelAccumulateWidening(IntData d) { return PrefixScan.parallelAccumulateLong(d.a); }
+
+    // Longest ascending subarray
+
+    @Benchmark public int longestAscendingSubarrayShlemiel(IntData d) { return Shlemiel.longestAscendingSubarrayShlemiel(d.a); }
+
+    @Benchmark public int longestAscendingSubarray(IntData d) { return Shlemiel.longestAscendingSubarray(d.a); }
+
+    @Benchmark public int longestAscendingSubarrayLong(IntData d) { return Shlemiel.longestAscendingSubarray(d.wide); }
+
+    @Benchmark public long longestAscendingSubarrayRunTracker(IntData d) {
+        return RunTracker.parallelSummarize(d.a).getLongest(RunTracker.Kind.STRICTLY_ASCENDING);
+    }
+
+    // Two summing elements
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int twoSummingElementsShlemiel(SortedData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.twoSummingElementsShlemiel(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int twoSummingElements(SortedData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.twoSummingElements(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int twoSummingElementsExact(SortedData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.twoSummingElementsExact(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int twoSummingElementsLong(SortedData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.twoSummingElements(d.wide, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public long countPairsShlemiel(SortedData d) {
+        long count = 0;
+        for(int x: d.goals) { count += KSum.countPairsShlemiel(d.a, x); }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public long countPairs(SortedData d) {
+        long count = 0;
+        for(int x: d.goals) { count += KSum.countPairs(d.a, x); }
+        return count;
+    }
+
+    // Three summing elements
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int threeSummingElementsShlemiel(CubicData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.threeSummingElementsShlemiel(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int threeSummingElements(CubicData d) {
+        int count = 0;
+        for(int x: d.goals) { if(Shlemiel.threeSummingElements(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int parallelThreeSummingElements(CubicData d) {
+        int count = 0;
+        for(int x: d.goals) { if(KSum.parallelThreeSummingElements(d.a, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int kSumShlemiel(CubicData d) {
+        int count = 0;
+        for(int x: d.goals) { if(KSum.kSumShlemiel(d.a, 3, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public int kSum(CubicData d) {
+        int count = 0;
+        for(int x: d.goals) { if(KSum.kSum(d.a, 3, x)) { count++; } }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public long countTriplesShlemiel(CubicData d) {
+        long count = 0;
+        for(int x: d.goals) { count += KSum.countTriplesShlemiel(d.a, x); }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public long countTriples(CubicData d) {
+        long count = 0;
+        for(int x: d.goals) { count += KSum.countTriples(d.a, x); }
+        return count;
+    }
+
+    @Benchmark @OperationsPerInvocation(GOALS)
+    public long parallelCountTriples(CubicData d) {
+        long count = 0;
+        for(int x: d.goals) { count += KSum.parallelCountTriples(d.a, x); }
+        return count;
+    }
+
+    // Contains all numbers
+
+    @Benchmark public boolean containsAllNumbersShlemiel(PermutationData d) {
+        return Shlemiel.containsAllNumbersShlemiel(d.a, d.size);
+    }
+
+    // Sorting modifies the array, so the time of making its copy is included.
+    @Benchmark public boolean containsAllNumbersSorting(PermutationData d) {
+        return Shlemiel.containsAllNumbersSorting(d.a.clone(), d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersRadix(PermutationData d) {
+        return Shlemiel.containsAllNumbersSorting(d.a.clone(), d.size, IntRadixSort::sort);
+    }
+
+    @Benchmark public boolean containsAllNumbersLinear(PermutationData d) {
+        return Shlemiel.containsAllNumbersLinear(d.a, d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersLinearLong(PermutationData d) {
+        return Shlemiel.containsAllNumbersLinear(d.wide, d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersBitset(PermutationData d) {
+        return PermutationChecker.containsAllNumbersBitset(d.a, d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersReused(PermutationData d) {
+        return d.checker.containsAllNumbers(d.a, d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersInPlace(PermutationData d) {
+        return PermutationChecker.containsAllNumbersInPlace(d.a, d.size);
+    }
+
+    @Benchmark public boolean containsAllNumbersParallel(PermutationData d) {
+        return PermutationChecker.containsAllNumbersParallel(d.a, d.size);
+    }
+
+    // Removing short strings. All versions modify the list, so each works on a fresh copy.
+
+    @Benchmark public ArrayList<String> removeShortStringsShlemiel(StringData d) {
+        ArrayList<String> copy = new ArrayList<>(d.strings);
+        Shlemiel.removeShortStringsShlemiel(copy, d.len);
+        return copy;
+    }
+
+    @Benchmark public ArrayList<String> removeShortStrings(StringData d) {
+        ArrayList<String> copy = new ArrayList<>(d.strings);
+        Shlemiel.removeShortStrings(copy, d.len);
+        return copy;
+    }
+
+    @Benchmark public ArrayList<String> removeShortStringsInPlace(StringData d) {
+        ArrayList<String> copy = new ArrayList<>(d.strings);
+        Shlemiel.removeShortStringsInPlace(copy, d.len);
+        return copy;
+    }
+
+    @Benchmark public String[] removeShortStringsParallel(StringData d) {
+        return Compaction.parallelRetainIf(d.strings.toArray(new String[0]), s -> s.length() >= d.len);
+    }
+
+    // Majority element
+
+    @Benchmark public boolean hasMajorityShlemiel(IntData d) { return Shlemiel.hasMajorityShlemiel(d.a); }
+
+    @Benchmark public boolean hasMajorityHashMap(IntData d) { return Shlemiel.hasMajorityHashMap(d.a); }
+
+    @Benchmark public boolean hasMajorityIntHashMap(IntData d) { return Shlemiel.hasMajorityIntHashMap(d.a); }
+
+    @Benchmark public boolean hasMajorityLinear(IntData d) { return Shlemiel.hasMajorityLinear(d.a); }
+
+    @Benchmark public boolean hasMajorityLinearLong(IntData d) { return Shlemiel.hasMajorityLinear(d.wide); }
+
+    @Benchmark public boolean hasMajorityHeavyHitters(IntData d) { return HeavyHitters.hasMajority(d.a); }
+
+    @Benchmark public boolean parallelHasMajority(IntData d) { return ParallelMajority.parallelHasMajority(d.a); }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading the snapshots of {@code BinarySnapshot} from memory, in both array
+ * formats and as a list, and of searching a delta format record without decoding it first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnapshotBenchmark {
+
+    // Number of searches performed in one invocation.
+    private static final int QUERIES = 256;
+
+    /**
+     * Snapshots of the same sorted data in each format.
+     */
+    @State(Scope.Thread)
+    public static class SnapshotData {
+        @Param({"1000", "1000000"}) int size;
+
+        int[] a, queries;
+        byte[] raw, delta, list;
+        BinarySnapshot.DeltaIndex index;
+
+        @Setup public void setup() throws IOException {
+            Random rng = new Random(BenchmarkData.SEED);
+            a = BenchmarkData.sortedEvenArray(size, rng);
+            queries = new int[QUERIES];
+            for(int i = 0; i < QUERIES; i++) { queries[i] = rng.nextInt(a[size - 1] + 2); }
+            raw = write(out -> BinarySnapshot.writeInts(out, a));
+            delta = write(out -> BinarySnapshot.writeSorted(out, a));
+            list = write(out -> BinarySnapshot.writeList(out, new DLList<>(BenchmarkData.box(a)), BinarySnapshot.INTEGERS));
+            index = new BinarySnapshot.DeltaIndex(ByteBuffer.wrap(delta));
+        }
+
+        private interface Writer { void write(BinarySnapshot.Output out) throws IOException; }
+
+        private static byte[] write(Writer writer) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinarySnapshot.Output out = new BinarySnapshot.Output(Channels.newChannel(bytes));
+            writer.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    @Benchmark public int[] loadRaw(SnapshotData d) throws IOException {
+        return BinarySnapshot.readInts(new BinarySnapshot.Input(ByteBuffer.wrap(d.raw)));
+    }
+
+    @Benchmark public int[] loadDelta(SnapshotData d) throws IOException {
+        return BinarySnapshot.readInts(new BinarySnapshot.Input(ByteBuffer.wrap(d.delta)));
+    }
+
+    @Benchmark public DLList<Integer> loadList(SnapshotData d) throws IOException {
+        return BinarySnapshot.readList(new BinarySnapshot.Input(ByteBuffer.wrap(d.list)), BinarySnapshot.INTEGERS);
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int searchDeltaIndex(SnapshotData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += d.index.lowerBound(x); }
+        return sum;
+    }
+
+    @Benchmark @OperationsPerInvocation(QUERIES)
+    public int searchDecoded(SnapshotData d) {
+        int sum = 0;
+        for(int x: d.queries) { sum += ArraySearchDemo.binarySearch(d.a, x); }
+        return sum;
+    }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@code IntRadixSort} against {@code Arrays.sort} and {@code Arrays.parallelSort}.
+ * Sorting modifies its array, so every version first copies the same data into a work array,
+ * which adds the same cost to each of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortBenchmark {
+
+    /**
+     * Unsorted integer data of the given size and distribution.
+     */
+    @State(Scope.Thread)
+    public static class SortData {
+        @Param({"1000", "100000", "10000000"}) int size;
+        @Param({"UNIFORM", "ASCENDING_RUNS", "FEW_DISTINCT"}) BenchmarkData.Distribution distribution;
+
+        int[] a, work;
+
+        @Setup public void setup() {
+            a = BenchmarkData.intArray(size, distribution, new Random(BenchmarkData.SEED));
+            work = new int[size];
+        }
+
+        int[] fresh() {
+            System.arraycopy(a, 0, work, 0, size);
+            return work;
+        }
+    }
+
+    @Benchmark public int[] arraysSort(SortData d) {
+        int[] a = d.fresh();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark public int[] arraysParallelSort(SortData d) {
+        int[] a = d.fresh();
+        Arrays.parallelSort(a);
+        return a;
+    }
+
+    @Benchmark public int[] radixSort8(SortData d) {
+        int[] a = d.fresh();
+        IntRadixSort.sort(a, 8);
+        return a;
+    }
+
+    @Benchmark public int[] radixSort11(SortData d) {
+        int[] a = d.fresh();
+        IntRadixSort.sort(a, 11);
+        return a;
+    }
+
+    @Benchmark public int[] parallelRadixSort8(SortData d) {
+        int[] a = d.fresh();
+        IntRadixSort.parallelSort(a, 8);
+        return a;
+    }
+
+    @Benchmark public int[] parallelRadixSort11(SortData d) {
+        int[] a = d.fresh();
+        IntRadixSort.parallelSort(a, 11);
+        return a;
+    }
+
+    @Benchmark public int[] radixSortWithPermutation(SortData d) {
+        return IntRadixSort.sortWithPermutation(d.fresh());
+    }
+
+    @Benchmark public int[] parallelRadixSortWithPermutation(SortData d) {
+        return IntRadixSort.parallelSortWithPermutation(d.fresh());
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@code TimingWheel} against a {@code PriorityQueue} of deadlines. Each
+ * invocation schedules the same timers, cancels some of them, and runs the rest to expiry.
+ * The priority queue cancels with its linear time {@code remove}, so the cancelled fraction
+ * is kept small enough for its invocations to finish.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimingWheelBenchmark {
+
+    // Timers whose deadline is at most this many ticks away.
+    private static final int HORIZON = 1 << 16;
+
+    /**
+     * Random delays of the timers, and the indices of the timers to cancel.
+     */
+    @State(Scope.Thread)
+    public static class TimerData {
+        @Param({"1000", "100000"}) int size;
+
+        long[] delays;
+        int[] cancels;
+
+        @Setup public void setup() {
+            Random rng = new Random(BenchmarkData.SEED);
+            delays = new long[size];
+            for(int i = 0; i < size; i++) { delays[i] = 1 + rng.nextInt(HORIZON); }
+            cancels = new int[Math.min(size / 10, 1000)];
+            for(int i = 0; i < cancels.length; i++) { cancels[i] = rng.nextInt(size); }
+        }
+    }
+
+    @Benchmark public int timingWheel(TimerData d) {
+        TimingWheel wheel = new TimingWheel();
+        int[] fired = new int[1];
+        Runnable task = () -> fired[0]++;
+        @SuppressWarnings("unchecked")
+        DLNode<TimingWheel.Timer>[] handles = new DLNode[d.size];
+        for(int i = 0; i < d.size; i++) { handles[i] = wheel.schedule(task, d.delays[i]); }
+        for(int i: d.cancels) { wheel.cancel(handles[i]); }
+        wheel.advance(HORIZON);
+        return fired[0];
+    }
+
+    @Benchmark public int priorityQueue(TimerData d) {
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        Long[] handles = new Long[d.size];
+        // The index is packed into the low bits so that the elements are distinct handles.
+        for(int i = 0; i < d.size; i++) { queue.offer(handles[i] = d.delays[i] << 20 | i); }
+        for(int i: d.cancels) { queue.remove(handles[i]); }
+        int fired = 0;
+        for(long now = 1; now <= HORIZON; now++) {
+            while(!queue.isEmpty() && queue.peek() >> 20 <= now) { queue.poll(); fired++; }
+        }
+        return fired;
+    }
+}
@@ -13,11 +13,25 @@ public class ArraySearchDemo {
      * or -1 if that element does not exist in the array. 
      */
     public static int linearSearch(int[] a, int x) {
+        return linearSearch(a, x, null);
+    }
+
+    /**
+     * Unoptimized linear search that records its operation counts.
+     * @param a The array to search the value in.
+     * @param x The element to search for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return The first index in which the element is found,
+     * or -1 if that element does not exist in the array.
+     */
+    public static int linearSearch(int[] a, int x, Metrics metrics) {
         // We use a while-loop here instead of a foreach-loop to make individual steps clear.
         int i = 0;
         while(i < a.length && a[i] != x) { i++; }
-        // Condition to create the final answer.
-        return i < a.length ? i : -1;
+        // The loop checked the bounds i + 1 times and compared every element it reached.
+        long comparisons = Math.min(i + 1, a.length);
+        // Condition to create the final answer, which checks the bounds once more.
+        return counted(metrics, "ArraySearchDemo.linearSearch", i < a.length ? i : -1, comparisons, i + 2, comparisons);
     }
 
     /**
@@ -28,8 +42,20 @@ public class ArraySearchDemo {
      * or -1 if that element does not exist in the array. 
      */
     public static int sentinelSearch(int[] a, int x) {
+        return sentinelSearch(a, x, null);
+    }
+
+    /**
+     * Sentinel search that records its operation counts.
+     * @param a The array to search the value in.
+     * @param x The element to search for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return The first index in which the element is found,
+     * or -1 if that element does not exist in the array.
+     */
+    public static int sentinelSearch(int[] a, int x, Metrics metrics) {
         // Can't forget this important edge case.
-        if(a.length == 0) { return -1; }
+        if(a.length == 0) { return counted(metrics, "ArraySearchDemo.sentinelSearch", -1, 0, 1, 0); }
         // Take the original last element for safekeeping.
         int last = a[a.length - 1];
         // Place the element to look for as sentinel to the end of array.
@@ -39,8 +65,10 @@ public class ArraySearchDemo {
         while(a[i] != x) { i++; }
         // Restore the original lasy element in place.
         a[a.length - 1] = last;
+        // The loop compared i + 1 elements, and the last element was read, written and restored.
+        long comparisons = i + 1 + (i >= a.length - 1 ? 1 : 0);
         // Careful with the edge case in the condition.
-        return (i < a.length - 1 || last == x) ? i : -1;
+        return counted(metrics, "ArraySearchDemo.sentinelSearch", (i < a.length - 1 || last == x) ? i : -1, comparisons, 2, i + 4);
     }
 
     /**
@@ -51,17 +79,37 @@ public class ArraySearchDemo {
      * or -1 if that element does not exist in the array. 
      */
     public static int unrolledSearch(int[] a, int x) {
+        return unrolledSearch(a, x, null);
+    }
+
+    /**
+     * Unrolled search that records its operation counts.
+     * @param a The array to search the value in.
+     * @param x The element to search for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return The first index in which the element is found,
+     * or -1 if that element does not exist in the array.
+     */
+    public static int unrolledSearch(int[] a, int x, Metrics metrics) {
         int i = 0;
         // Handle the first element in a special way.
         if(a.length % 2 == 1) { // odd man out
-            if(a[i++] == x) { return 0; }
+            if(a[i++] == x) { return counted(metrics, "ArraySearchDemo.unrolledSearch", 0, 1, 0, 1); }
         }
         // Two elements compared in each round, saving half of bounds checks.
+        long rounds = 0;
         while(i < a.length) {
-            if(a[i++] == x) { return --i; }
-            if(a[i++] == x) { return --i; }
+            rounds++;
+            if(a[i++] == x) {
+                i--; // Step back to the element that was found.
+                return counted(metrics, "ArraySearchDemo.unrolledSearch", i, i + 1, rounds, i + 1);
+            }
+            if(a[i++] == x) {
+                i--;
+                return counted(metrics, "ArraySearchDemo.unrolledSearch", i, i + 1, rounds, i + 1);
+            }
         }
-        return -1;
+        return counted(metrics, "ArraySearchDemo.unrolledSearch", -1, a.length, rounds + 1, a.length);
     }
 
     /**
@@ -74,14 +122,28 @@ public class ArraySearchDemo {
      * largest element of the array, returns {@code a.length} as special case.
      */
     public static int binarySearch(int[] a, int x) {
+        return binarySearch(a, x, null);
+    }
+
+    /**
+     * The classic binary search that records its operation counts.
+     * @param a The array to search the value in.
+     * @param x The element to search for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return The first index in which the element is found, or the index where that
+     * element would go to keep array in sorted order.
+     */
+    public static int binarySearch(int[] a, int x, Metrics metrics) {
         // Invariant: the desired position is always between indices lo and hi, inclusive.
         int lo = 0, hi = a.length - 1;
         // Handle the search for element larger than last element as special case.
         if(hi == -1 || a[hi] < x) {
-            return a.length;
+            return counted(metrics, "ArraySearchDemo.binarySearch", a.length, Math.min(a.length, 1), 1, Math.min(a.length, 1));
         }
         // As long as indices have not met, move one of them depending on midpoint element comparison.
+        long steps = 0;
         while(lo < hi) {
+            steps++;
             // Midpoint element position: notice the asymmetry lo <= mid < hi.
             int mid = (lo + hi) / 2;
             // Due to asymmetry, moves of lo and hi indices are asymmetric also.
@@ -93,27 +155,40 @@ public class ArraySearchDemo {
             }
         }
         // The leftmost position where the element x could occur in a sorted array.
-        return lo;
+        return counted(metrics, "ArraySearchDemo.binarySearch", lo, steps + 1, steps + 2, steps + 1);
     }
 
     // A common but incorrect version of binary search.
 
     public static int binarySearchIncorrect(int[] a, int x) {
+        return binarySearchIncorrect(a, x, null);
+    }
+
+    /**
+     * The incorrect binary search that records its operation counts.
+     * @param a The array to search the value in.
+     * @param x The element to search for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return Some index in which the element is found, or some index near where it would go.
+     */
+    public static int binarySearchIncorrect(int[] a, int x, Metrics metrics) {
         // Invariant: the desired position is always between indices lo and hi, inclusive.
         int lo = 0, hi = a.length - 1;
         // Handle the search for element larger than last element as special case.
         if(hi == -1 || a[hi] < x) {
-            return a.length;
+            return counted(metrics, "ArraySearchDemo.binarySearchIncorrect", a.length, Math.min(a.length, 1), 1, Math.min(a.length, 1));
         }
         // As long as indices have not met, move one of them depending on midpoint element comparison.
+        long steps = 0;
         while(lo < hi) {
+            steps++;
             // Midpoint element position: notice the asymmetry lo <= mid < hi.
             int mid = (lo + hi) / 2;
             // Clever "optimization" to terminate early when the element is found.
             if(a[mid] == x) {
                 // Who gives a crap about returning the leftmost position of x. I mean,
                 //the authors of Arrays.binarySearch of Java did not. And still don't.
-                return mid;
+                return counted(metrics, "ArraySearchDemo.binarySearchIncorrect", mid, 2 * steps, steps + 1, 2 * steps);
             }
             // Due to asymmetry, moves of lo and hi indices are asymmetric.
             if(a[mid] < x) {
@@ -125,6 +200,15 @@ public class ArraySearchDemo {
             }
         }
         // Frankly, who even cares at this point.
-        return lo;
+        return counted(metrics, "ArraySearchDemo.binarySearchIncorrect", lo, 2 * steps + 1, steps + 2, 2 * steps + 1);
+    }
+
+    // Record the given counts of one call of a search into the metrics, unless they are null,
+    // and return the result of the search. The operation names are string literals, so that
+    // recording builds no new strings. Once this is inlined into a search that was given
+    // null metrics, the compiler also removes the counting as dead code.
+    private static int counted(Metrics metrics, String operation, int result, long comparisons, long bounds, long probes) {
+        if(metrics != null) { metrics.record(operation, comparisons, bounds, probes, 0, 0); }
+        return result;
     }
 }
\ No newline at end of file
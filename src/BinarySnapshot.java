@@ -0,0 +1,612 @@
+import java.io.EOFException;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Compact binary snapshots of {@code DLList} instances and {@code int} arrays, written and
+ * read in a streaming fashion through a {@code ByteBuffer} over any channel, such as a
+ * {@code FileChannel}. Each record starts with a four byte magic number that identifies its
+ * kind, followed by its length and its elements. Lengths, list keys and deltas are written
+ * as variable length integers of seven bits per byte, so that small numbers take one byte.
+ *
+ * A sorted array, such as the arrays searched with {@code ArraySearchDemo.binarySearch},
+ * can be written in delta format, where each element is stored as its difference to the
+ * previous element. The elements are divided into blocks of equal length, and the record
+ * starts with a block index of the first element and the byte offset of each block in fixed
+ * width. A {@link DeltaIndex} can therefore search the record directly in its buffer, for
+ * example a file mapped into memory, by binary searching the block index and then decoding
+ * only one block, instead of decoding the entire array first.
+ */
+public class BinarySnapshot {
+
+    // Magic numbers of the records, the ASCII codes of "DLL1", "INT1" and "DIX1".
+    private static final int LIST_MAGIC = 0x444c4c31;
+    private static final int INTS_MAGIC = 0x494e5431;
+    private static final int DELTA_MAGIC = 0x44495831;
+
+    // Bytes in one entry of the block index, the first element and the offset of the block.
+    private static final int INDEX_ENTRY = 8;
+
+    // Default size of the buffers of Output and Input.
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The default number of elements in one block of the delta format.
+     */
+    public static final int BLOCK_SIZE = 64;
+
+    /**
+     * Encoder and decoder of the keys of one type.
+     * @param <E> Type of the keys.
+     */
+    public interface KeyCodec<E> {
+        /**
+         * Write the given key.
+         * @param out The output to write to.
+         * @param key The key to write.
+         * @throws IOException If writing to the channel fails.
+         */
+        void write(Output out, E key) throws IOException;
+
+        /**
+         * Read one key. Every key must take at least one byte, so that the length of a list
+         * can be checked against the data that remains before the list is read.
+         * @param in The input to read from.
+         * @return The key that was read.
+         * @throws IOException If reading from the channel fails or the data ends too soon.
+         */
+        E read(Input in) throws IOException;
+    }
+
+    /**
+     * Codec of {@code Integer} keys as zigzag encoded variable length integers, so that
+     * numbers of small magnitude take one byte regardless of their sign.
+     */
+    public static final KeyCodec<Integer> INTEGERS = new KeyCodec<Integer>() {
+        @Override public void write(Output out, Integer key) throws IOException {
+            out.writeVarLong(((key << 1) ^ (key >> 31)) & 0xFFFFFFFFL);
+        }
+        @Override public Integer read(Input in) throws IOException {
+            int z = (int)in.readVarLong();
+            return (z >>> 1) ^ -(z & 1);
+        }
+    };
+
+    /**
+     * Codec of {@code String} keys as their length in bytes followed by their UTF-8 bytes.
+     */
+    public static final KeyCodec<String> STRINGS = new KeyCodec<String>() {
+        @Override public void write(Output out, String key) throws IOException {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+        @Override public String read(Input in) throws IOException {
+            byte[] bytes = new byte[in.readLength()];
+            in.readBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Buffered writer of binary data into a channel. The buffer is written to the channel
+     * when it becomes full and when {@link #flush()} is called, which must be done after the
+     * last record. The channel is not closed by the output.
+     */
+    public static final class Output implements Flushable {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an output into the given channel.
+         * @param channel The channel to write to.
+         */
+        public Output(WritableByteChannel channel) { this(channel, BUFFER_SIZE); }
+
+        // Package-private so that the tests can use small buffers.
+        Output(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(16, bufferSize));
+        }
+
+        // Make room for at least the given number of bytes, at most the size of the buffer.
+        private void reserve(int bytes) throws IOException {
+            if(buffer.remaining() < bytes) { flush(); }
+        }
+
+        /**
+         * Write the given {@code int} as four bytes.
+         * @param x The value to write.
+         * @throws IOException If writing to the channel fails.
+         */
+        public void writeInt(int x) throws IOException {
+            reserve(4);
+            buffer.putInt(x);
+        }
+
+        /**
+         * Write the given non-negative {@code long} as a variable length integer.
+         * @param x The value to write, treated as unsigned.
+         * @throws IOException If writing to the channel fails.
+         */
+        public void writeVarLong(long x) throws IOException {
+            reserve(10);
+            while((x & ~0x7FL) != 0) {
+                buffer.put((byte)((x & 0x7F) | 0x80));
+                x >>>= 7;
+            }
+            buffer.put((byte)x);
+        }
+
+        /**
+         * Write the given bytes.
+         * @param bytes The bytes to write.
+         * @throws IOException If writing to the channel fails.
+         */
+        public void writeBytes(byte[] bytes) throws IOException {
+            int pos = 0;
+            while(pos < bytes.length) {
+                if(!buffer.hasRemaining()) { flush(); }
+                int k = Math.min(buffer.remaining(), bytes.length - pos);
+                buffer.put(bytes, pos, k);
+                pos += k;
+            }
+        }
+
+        /**
+         * Write the elements of the given array as four bytes each, in bulk.
+         * @param a The array to write.
+         * @throws IOException If writing to the channel fails.
+         */
+        public void writeInts(int[] a) throws IOException {
+            int pos = 0;
+            while(pos < a.length) {
+                reserve(4);
+                int k = Math.min(buffer.remaining() / 4, a.length - pos);
+                buffer.asIntBuffer().put(a, pos, k);
+                buffer.position(buffer.position() + 4 * k);
+                pos += k;
+            }
+        }
+
+        /**
+         * Write the contents of the buffer into the channel.
+         * @throws IOException If writing to the channel fails.
+         */
+        @Override public void flush() throws IOException {
+            buffer.flip();
+            while(buffer.hasRemaining()) { channel.write(buffer); }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered reader of binary data, either from a channel or directly from a buffer that
+     * already contains the data, such as a file mapped into memory. The channel is not
+     * closed by the input.
+     */
+    public static final class Input {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an input from the given channel.
+         * @param channel The channel to read from.
+         */
+        public Input(ReadableByteChannel channel) { this(channel, BUFFER_SIZE); }
+
+        // Package-private so that the tests can use small buffers.
+        Input(ReadableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(16, bufferSize));
+            this.buffer.flip(); // Nothing has been read yet.
+        }
+
+        /**
+         * Create an input that reads the given buffer from its position to its limit, without
+         * copying it. Reading advances the position of the buffer.
+         * @param buffer The buffer to read.
+         */
+        public Input(ByteBuffer buffer) {
+            this.channel = null;
+            this.buffer = buffer;
+        }
+
+        // Make sure that at least the given number of bytes, at most the size of the buffer,
+        // are available in the buffer, reading more from the channel if necessary.
+        private void require(int bytes) throws IOException {
+            if(buffer.remaining() >= bytes) { return; }
+            if(channel != null) {
+                buffer.compact();
+                while(buffer.position() < bytes && channel.read(buffer) >= 0) { }
+                buffer.flip();
+            }
+            if(buffer.remaining() < bytes) { throw new EOFException("Snapshot ended in the middle of a record"); }
+        }
+
+        /**
+         * Read four bytes as an {@code int}.
+         * @return The value that was read.
+         * @throws IOException If reading from the channel fails or the data ends too soon.
+         */
+        public int readInt() throws IOException {
+            require(4);
+            return buffer.getInt();
+        }
+
+        /**
+         * Read a variable length integer.
+         * @return The value that was read.
+         * @throws IOException If reading from the channel fails or the data ends too soon.
+         */
+        public long readVarLong() throws IOException {
+            long result = 0;
+            for(int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = buffer.get();
+                result |= (long)(b & 0x7F) << shift;
+                if(b >= 0) { return result; }
+            }
+            throw new StreamCorruptedException("Variable length integer is longer than ten bytes");
+        }
+
+        // Check that a record whose header claims the given number of bytes can fit in the
+        // data that remains, before anything is allocated for it. The check is exact for a
+        // buffer and for a channel that knows its size, such as a FileChannel. Any other
+        // channel is read until it ends, as it would be without the check.
+        void checkAvailable(long bytes) throws IOException {
+            long available = buffer.remaining();
+            if(channel instanceof SeekableByteChannel) {
+                SeekableByteChannel seekable = (SeekableByteChannel)channel;
+                available += Math.max(0, seekable.size() - seekable.position());
+            }
+            else if(channel != null) { return; }
+            if(bytes > available) { throw new EOFException("Snapshot ended in the middle of a record"); }
+        }
+
+        // Read a variable length integer that must be a valid length of an array.
+        int readLength() throws IOException {
+            long n = readVarLong();
+            if(n < 0 || n > Integer.MAX_VALUE) { throw new StreamCorruptedException("Illegal length " + n); }
+            return (int)n;
+        }
+
+        /**
+         * Read bytes to fill the given array.
+         * @param bytes The array to fill.
+         * @throws IOException If reading from the channel fails or the data ends too soon.
+         */
+        public void readBytes(byte[] bytes) throws IOException {
+            int pos = 0;
+            while(pos < bytes.length) {
+                require(1);
+                int k = Math.min(buffer.remaining(), bytes.length - pos);
+                buffer.get(bytes, pos, k);
+                pos += k;
+            }
+        }
+
+        /**
+         * Read four bytes per element to fill the given array, in bulk.
+         * @param a The array to fill.
+         * @throws IOException If reading from the channel fails or the data ends too soon.
+         */
+        public void readInts(int[] a) throws IOException {
+            int pos = 0;
+            while(pos < a.length) {
+                require(4);
+                int k = Math.min(buffer.remaining() / 4, a.length - pos);
+                buffer.asIntBuffer().get(a, pos, k);
+                buffer.position(buffer.position() + 4 * k);
+                pos += k;
+            }
+        }
+
+        // Skip the given number of bytes.
+        void skip(long bytes) throws IOException {
+            while(bytes > 0) {
+                require(1);
+                int k = (int)Math.min(buffer.remaining(), bytes);
+                buffer.position(buffer.position() + k);
+                bytes -= k;
+            }
+        }
+    }
+
+    /**
+     * Write the given list as a record of its length followed by its keys.
+     * @param out The output to write to.
+     * @param list The list to write.
+     * @param codec The codec of the keys.
+     * @param <E> Type of the keys.
+     * @throws IOException If writing to the channel fails.
+     */
+    public static <E> void writeList(Output out, DLList<E> list, KeyCodec<E> codec) throws IOException {
+        long n = 0;
+        for(Iterator<E> it = list.iterator(); it.hasNext(); it.next()) { n++; }
+        out.writeInt(LIST_MAGIC);
+        out.writeVarLong(n);
+        for(Iterator<E> it = list.iterator(); it.hasNext();) { codec.write(out, it.next()); }
+    }
+
+    /**
+     * Read a list record, linking its nodes into a {@code DLList.Chain} as the keys are
+     * decoded and splicing the finished chain into the new list with one update of its header.
+     * @param in The input to read from.
+     * @param codec The codec of the keys.
+     * @param <E> Type of the keys.
+     * @return The list that was read.
+     * @throws IOException If reading fails, the data ends too soon, or the record is not a list.
+     */
+    public static <E> DLList<E> readList(Input in, KeyCodec<E> codec) throws IOException {
+        expectMagic(in, LIST_MAGIC);
+        long n = in.readVarLong();
+        if(n < 0) { throw new StreamCorruptedException("Illegal length " + n); }
+        in.checkAvailable(n); // Every key takes at least one byte.
+        DLList.Chain<E> chain = new DLList.Chain<>();
+        for(long i = 0; i < n; i++) { chain.add(codec.read(in)); }
+        DLList<E> list = new DLList<>();
+        list.spliceBack(chain);
+        return list;
+    }
+
+    /**
+     * Write the given array as a record of its length followed by its elements as four
+     * bytes each, which is the fastest format to read back but does not compress at all.
+     * @param out The output to write to.
+     * @param a The array to write, in any order.
+     * @throws IOException If writing to the channel fails.
+     */
+    public static void writeInts(Output out, int[] a) throws IOException {
+        out.writeInt(INTS_MAGIC);
+        out.writeVarLong(a.length);
+        out.writeInts(a);
+    }
+
+    /**
+     * Write the given sorted array as a record in the delta format with blocks of
+     * {@link #BLOCK_SIZE} elements.
+     * @param out The output to write to.
+     * @param a The array to write, sorted in ascending order.
+     * @throws IOException If writing to the channel fails.
+     */
+    public static void writeSorted(Output out, int[] a) throws IOException {
+        writeSorted(out, a, BLOCK_SIZE);
+    }
+
+    /**
+     * Write the given sorted array as a record in the delta format. Shorter blocks make
+     * searching faster and the block index larger.
+     * @param out The output to write to.
+     * @param a The array to write, sorted in ascending order.
+     * @param blockSize The number of elements in one block.
+     * @throws IOException If writing to the channel fails.
+     * @throws IllegalArgumentException If the array is not sorted.
+     */
+    public static void writeSorted(Output out, int[] a, int blockSize) throws IOException {
+        if(blockSize < 1) { throw new IllegalArgumentException("Block size " + blockSize + " is not positive"); }
+        int blocks = blockCount(a.length, blockSize);
+        // The first pass computes the offsets of the blocks for the index, and the second
+        // pass writes the deltas, so that the record is written without buffering it.
+        long offset = 0;
+        for(int i = 1; i < a.length; i++) {
+            if(a[i] < a[i-1]) { throw new IllegalArgumentException("Array is not sorted at index " + i); }
+            if(i % blockSize != 0) { offset += varLongLength((long)a[i] - a[i-1]); }
+        }
+        if(offset > Integer.MAX_VALUE) { throw new IllegalArgumentException("Deltas take more than 2^31 bytes"); }
+        out.writeInt(DELTA_MAGIC);
+        out.writeInt(a.length);
+        out.writeInt(blockSize);
+        out.writeInt((int)offset);
+        offset = 0;
+        for(int b = 0; b < blocks; b++) {
+            int start = b * blockSize, end = (int)Math.min(a.length, (long)start + blockSize);
+            out.writeInt(a[start]);
+            out.writeInt((int)offset);
+            for(int i = start + 1; i < end; i++) { offset += varLongLength((long)a[i] - a[i-1]); }
+        }
+        for(int i = 1; i < a.length; i++) {
+            if(i % blockSize != 0) { out.writeVarLong((long)a[i] - a[i-1]); }
+        }
+    }
+
+    /**
+     * Read an array record written by either {@link #writeInts(Output, int[])} or
+     * {@link #writeSorted(Output, int[], int)}, and decode it fully.
+     * @param in The input to read from.
+     * @return The array that was read.
+     * @throws IOException If reading fails, the data ends too soon, or the record is not an array.
+     */
+    public static int[] readInts(Input in) throws IOException {
+        int magic = in.readInt();
+        if(magic == INTS_MAGIC) {
+            int n = in.readLength();
+            in.checkAvailable(4L * n);
+            int[] a = new int[n];
+            in.readInts(a);
+            return a;
+        }
+        if(magic != DELTA_MAGIC) { throw new StreamCorruptedException("Record is not an array: " + Integer.toHexString(magic)); }
+        int n = in.readInt(), blockSize = in.readInt(), dataLength = in.readInt();
+        checkHeader(n, blockSize, dataLength);
+        in.checkAvailable((long)INDEX_ENTRY * blockCount(n, blockSize) + dataLength);
+        int[] a = new int[n];
+        for(int start = 0; start < n; start += blockSize) {
+            a[start] = in.readInt();
+            in.readInt(); // The offset is needed only when searching.
+        }
+        for(int i = 1; i < n; i++) {
+            if(i % blockSize != 0) { a[i] = (int)(a[i-1] + in.readVarLong()); }
+        }
+        return a;
+    }
+
+    /**
+     * Read-only view of a delta format record in a buffer, searchable without decoding it.
+     * Only the block index and one block are read for each search, so that a record in a
+     * file mapped into memory is searched without reading most of the file.
+     */
+    public static final class DeltaIndex {
+        private final ByteBuffer buffer;
+        private final int n, blockSize, blocks;
+        // Positions of the block index and the deltas in the buffer.
+        private final int indexStart, dataStart;
+
+        /**
+         * Create a view of the record that starts at the current position of the buffer,
+         * and advance the position of the buffer past the record.
+         * @param buffer The buffer that contains the record.
+         * @throws IOException If the record is not in the delta format or does not fit in the buffer.
+         */
+        public DeltaIndex(ByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            int pos = buffer.position();
+            if(buffer.remaining() < 16) { throw new EOFException("Snapshot ended in the middle of a record"); }
+            if(buffer.getInt(pos) != DELTA_MAGIC) { throw new StreamCorruptedException("Record is not in the delta format"); }
+            this.n = buffer.getInt(pos + 4);
+            this.blockSize = buffer.getInt(pos + 8);
+            int dataLength = buffer.getInt(pos + 12);
+            checkHeader(n, blockSize, dataLength);
+            this.blocks = blockCount(n, blockSize);
+            this.indexStart = pos + 16;
+            // Computed in long, since a corrupted header may claim an index too large for int.
+            long indexEnd = indexStart + (long)INDEX_ENTRY * blocks;
+            if(indexEnd + dataLength > buffer.limit()) {
+                throw new EOFException("Snapshot ended in the middle of a record");
+            }
+            this.dataStart = (int)indexEnd;
+            buffer.position(dataStart + dataLength);
+        }
+
+        /**
+         * Return the number of elements in the array.
+         * @return The length of the array.
+         */
+        public int size() { return n; }
+
+        /**
+         * Return the element in the given position, decoding only its block.
+         * @param i The position of the element.
+         * @return The element in the position.
+         */
+        public int get(int i) {
+            if(i < 0 || i >= n) { throw new IndexOutOfBoundsException("Index " + i + " out of bounds"); }
+            int b = i / blockSize;
+            ByteBuffer deltas = block(b);
+            long x = buffer.getInt(indexStart + INDEX_ENTRY * b);
+            for(int j = b * blockSize + 1; j <= i; j++) { x += readVarLong(deltas); }
+            return (int)x;
+        }
+
+        /**
+         * Find the first position whose element is at least the given element, with the
+         * same result as {@code ArraySearchDemo.binarySearch} on the decoded array.
+         * @param x The element to search for.
+         * @return The first index whose element is at least {@code x}, or the length of the
+         * array if there is none.
+         */
+        public int lowerBound(int x) {
+            // Find the last block whose first element is smaller than x.
+            int lo = 0, hi = blocks;
+            while(lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if(buffer.getInt(indexStart + INDEX_ENTRY * mid) < x) { lo = mid + 1; }
+                else { hi = mid; }
+            }
+            if(lo == 0) { return 0; }
+            // The answer is in this block, or is the first position of the next block.
+            int b = lo - 1;
+            ByteBuffer deltas = block(b);
+            long e = buffer.getInt(indexStart + INDEX_ENTRY * b);
+            int end = (int)Math.min(n, (long)(b + 1) * blockSize);
+            for(int i = b * blockSize + 1; i < end; i++) {
+                e += readVarLong(deltas);
+                if(e >= x) { return i; }
+            }
+            return end;
+        }
+
+        /**
+         * Find the first position of the given element.
+         * @param x The element to search for.
+         * @return The first index in which the element is found, or -1 if there is none.
+         */
+        public int indexOf(int x) {
+            int i = lowerBound(x);
+            return i < n && get(i) == x ? i : -1;
+        }
+
+        // A view of the deltas of the given block, with its own position so that several
+        // threads can search the same index at the same time.
+        private ByteBuffer block(int b) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(dataStart + buffer.getInt(indexStart + INDEX_ENTRY * b + 4));
+            return view;
+        }
+    }
+
+    /**
+     * Skip the record at the current position of the input without decoding it.
+     * @param in The input to read from.
+     * @param codec The codec of the keys, needed only if the record is a list.
+     * @throws IOException If reading fails, the data ends too soon, or the record is unknown.
+     */
+    public static void skipRecord(Input in, KeyCodec<?> codec) throws IOException {
+        int magic = in.readInt();
+        if(magic == LIST_MAGIC) {
+            long n = in.readVarLong();
+            if(n < 0) { throw new StreamCorruptedException("Illegal length " + n); }
+            in.checkAvailable(n);
+            for(long i = 0; i < n; i++) { codec.read(in); }
+        }
+        else if(magic == INTS_MAGIC) { in.skip(4L * in.readLength()); }
+        else if(magic == DELTA_MAGIC) {
+            int n = in.readInt(), blockSize = in.readInt(), dataLength = in.readInt();
+            checkHeader(n, blockSize, dataLength);
+            in.skip((long)INDEX_ENTRY * blockCount(n, blockSize) + dataLength);
+        }
+        else { throw new StreamCorruptedException("Unknown record: " + Integer.toHexString(magic)); }
+    }
+
+    private static void expectMagic(Input in, int magic) throws IOException {
+        int actual = in.readInt();
+        if(actual != magic) { throw new StreamCorruptedException("Expected record " + Integer.toHexString(magic) + ", found " + Integer.toHexString(actual)); }
+    }
+
+    // Check the header of a delta format record for consistency. Every element except the
+    // first one of each block is stored as a delta of at least one byte, so that the length
+    // of the deltas also bounds the length of the array that the header claims.
+    private static void checkHeader(int n, int blockSize, int dataLength) throws IOException {
+        if(n < 0 || blockSize < 1) { throw new StreamCorruptedException("Illegal length " + n + " or block size " + blockSize); }
+        if(dataLength < n - (long)blockCount(n, blockSize)) {
+            throw new StreamCorruptedException("Deltas of " + dataLength + " bytes cannot hold " + n + " elements");
+        }
+    }
+
+    // The number of blocks of the given size needed for the given number of elements.
+    private static int blockCount(int n, int blockSize) {
+        return (int)((n + (long)blockSize - 1) / blockSize);
+    }
+
+    // Read a variable length integer from the position of a buffer known to contain it.
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for(int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            result |= (long)(b & 0x7F) << shift;
+            if(b >= 0) { return result; }
+        }
+    }
+
+    // The number of bytes in the variable length encoding of the given non-negative value.
+    private static int varLongLength(long x) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(x) + 6) / 7);
+    }
+}
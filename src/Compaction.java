@@ -0,0 +1,140 @@
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Removing the elements that fail the given predicate from a list or an array by moving the
+ * surviving elements to the front in a single pass, without the temporary buffer used in
+ * {@code Shlemiel.removeShortStrings}. The relative order of the survivors is preserved.
+ */
+public class Compaction {
+
+    // Size of the blocks that the parallel version processes as separate tasks.
+    private static final int BLOCK_SIZE = 1 << 14;
+
+    /**
+     * Keep only those elements of the list for which the predicate is true. For random access
+     * lists such as {@code ArrayList}, the survivors are moved to the front with two indices
+     * and the leftover tail is removed in one operation, for a total of {@code O(n)} time.
+     * Other lists are processed with their iterator, which is {@code O(n)} for linked lists.
+     * The list must support removal unless the predicate keeps every element. A list that
+     * does not, such as the fixed size list of {@code Arrays.asList}, is left unchanged
+     * when the {@code UnsupportedOperationException} is thrown.
+     * @param list The list to process.
+     * @param keep The predicate that determines which elements are kept.
+     * @param <T> The type of elements in the list.
+     */
+    public static <T> void retainIf(List<T> list, Predicate<? super T> keep) {
+        if(list instanceof RandomAccess) {
+            int n = list.size();
+            int w = 0; // Position to write the next survivor into.
+            // Skip the survivors at the front, which are already in their final positions.
+            while(w < n && keep.test(list.get(w))) { w++; }
+            if(w == n) { return; }
+            // Remove the first element that fails the predicate on its own, so that a list
+            // that does not support removal throws before any element has been moved. This
+            // costs one more pass over the tail of the list, still for O(n) time in total.
+            list.remove(w);
+            n--;
+            // Invariant: the survivors among the elements read so far are in positions 0, ..., w-1.
+            for(int r = w; r < n; r++) {
+                T e = list.get(r);
+                if(keep.test(e)) {
+                    if(w != r) { list.set(w, e); }
+                    w++;
+                }
+            }
+            // For ArrayList, this turns into a single removeRange call that nulls out the tail.
+            list.subList(w, n).clear();
+        }
+        else {
+            Iterator<T> it = list.iterator();
+            while(it.hasNext()) {
+                if(!keep.test(it.next())) { it.remove(); }
+            }
+        }
+    }
+
+    /**
+     * Move the elements of the array for which the predicate is true to the front of the
+     * array, and return their count. The positions after the survivors are set to
+     * {@code null} so that the removed elements can be garbage collected.
+     * @param a The array to process.
+     * @param keep The predicate that determines which elements are kept.
+     * @param <T> The type of elements in the array.
+     * @return The number of survivors, the new logical length of the array.
+     */
+    public static <T> int retainIf(T[] a, Predicate<? super T> keep) {
+        int w = 0;
+        for(int r = 0; r < a.length; r++) {
+            T e = a[r];
+            if(keep.test(e)) { a[w++] = e; }
+        }
+        for(int i = w; i < a.length; i++) { a[i] = null; }
+        return w;
+    }
+
+    /**
+     * Keep only those {@code int} elements of the array for which the predicate is true,
+     * moving them to the front of the array and returning their count.
+     * @param a The array to process.
+     * @param keep The predicate that determines which elements are kept.
+     * @return The number of survivors, the new logical length of the array.
+     */
+    public static int retainIf(int[] a, IntPredicate keep) {
+        int w = 0;
+        for(int r = 0; r < a.length; r++) {
+            int e = a[r];
+            if(keep.test(e)) { a[w++] = e; }
+        }
+        return w;
+    }
+
+    /**
+     * Parallel version of {@link #retainIf(Object[], Predicate)} that returns the survivors
+     * in a new array of exactly the right length, leaving the original array unchanged.
+     * The array is divided into blocks whose survivors are counted in parallel. The prefix
+     * scan of these counts gives the position where each block writes its survivors, after
+     * which all blocks write their survivors into the result in parallel.
+     * @param a The array to process.
+     * @param keep The predicate that determines which elements are kept. Must be thread safe.
+     * @param <T> The type of elements in the array.
+     * @return The new array that contains the survivors.
+     */
+    public static <T> T[] parallelRetainIf(T[] a, Predicate<? super T> keep) {
+        return parallelRetainIf(a, keep, BLOCK_SIZE);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    @SuppressWarnings("unchecked")
+    static <T> T[] parallelRetainIf(T[] a, Predicate<? super T> keep, int blockSize) {
+        int n = a.length;
+        int blocks = (n + blockSize - 1) / blockSize;
+        // Evaluate the predicate only once per element, remembering the results.
+        boolean[] kept = new boolean[n];
+        int[] counts = new int[blocks];
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int count = 0;
+            int end = (int)Math.min(n, (long)(b + 1) * blockSize);
+            for(int i = b * blockSize; i < end; i++) {
+                if(kept[i] = keep.test(a[i])) { count++; }
+            }
+            counts[b] = count;
+        });
+        // Inclusive prefix scan: block b writes its survivors ending at position counts[b].
+        PrefixScan.scanInPlace(counts, Integer::sum);
+        T[] result = (T[])Array.newInstance(a.getClass().getComponentType(), blocks == 0 ? 0 : counts[blocks - 1]);
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int w = b == 0 ? 0 : counts[b - 1];
+            int end = (int)Math.min(n, (long)(b + 1) * blockSize);
+            for(int i = b * blockSize; i < end; i++) {
+                if(kept[i]) { result[w++] = a[i]; }
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,349 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Measure how the running time of a method grows with the problem size {@code n}. The method
+ * is timed at geometrically growing sizes, and a straight line is fitted to the points
+ * {@code (log n, log t)}. If the running time is {@code c * n^k}, the slope of this line is
+ * the exponent {@code k}, so that a linear method has slope close to 1 and a quadratic
+ * method has slope close to 2. Comparing the fitted lines of two methods also reveals the
+ * crossover size after which the asymptotically faster method is faster also in practice.
+ *
+ * Running the main method measures each Shlemiel algorithm against its linear counterpart,
+ * and exits with a nonzero status if some method measures slower than its declared growth.
+ */
+public class ComplexityScaling {
+
+    // Each timed sample repeats the method until at least this many nanoseconds have passed.
+    private static final long MIN_SAMPLE_NANOS = 2_000_000;
+
+    // Number of timed samples per size, of which the fastest is used.
+    private static final int SAMPLES = 5;
+
+    // How much the measured exponent may exceed the declared exponent before failing.
+    private static final double TOLERANCE = 0.4;
+
+    // Results of the timed methods are combined into this field, so that the JIT compiler
+    // cannot eliminate their computation as dead code.
+    private static volatile int sink;
+
+    /**
+     * The line {@code log t = exponent * log n + intercept} fitted to the measurements.
+     */
+    public static final class Fit {
+        private final double exponent, intercept, r2;
+
+        private Fit(double exponent, double intercept, double r2) {
+            this.exponent = exponent;
+            this.intercept = intercept;
+            this.r2 = r2;
+        }
+
+        /**
+         * Return the estimated exponent {@code k} of the running time {@code c * n^k}.
+         * @return The slope of the fitted line.
+         */
+        public double getExponent() { return exponent; }
+
+        /**
+         * Return the natural logarithm of the estimated constant factor {@code c}.
+         * @return The intercept of the fitted line.
+         */
+        public double getIntercept() { return intercept; }
+
+        /**
+         * Return the coefficient of determination, the closer to 1 the better the fit.
+         * @return The coefficient of determination of the fitted line.
+         */
+        public double getR2() { return r2; }
+
+        /**
+         * Predict the running time for the given problem size.
+         * @param n The problem size.
+         * @return The predicted running time in nanoseconds.
+         */
+        public double predict(double n) { return Math.exp(exponent * Math.log(n) + intercept); }
+
+        /**
+         * Compute the problem size at which the predicted running times of this and the
+         * other fit are equal.
+         * @param other The other fit.
+         * @return The crossover size, or {@code NaN} if the fitted lines are parallel.
+         */
+        public double crossover(Fit other) {
+            double slope = exponent - other.exponent;
+            if(Math.abs(slope) < 1e-9) { return Double.NaN; }
+            return Math.exp((other.intercept - intercept) / slope);
+        }
+
+        @Override public String toString() {
+            return String.format("n^%.2f (R^2 = %.3f)", exponent, r2);
+        }
+    }
+
+    /**
+     * Fit a straight line to the points {@code (log n, log t)} with least squares.
+     * @param ns The problem sizes.
+     * @param times The running times measured for these problem sizes.
+     * @return The fitted line.
+     */
+    public static Fit fit(double[] ns, double[] times) {
+        int m = ns.length;
+        if(m < 2 || times.length != m) {
+            throw new IllegalArgumentException("Need at least two measurements of equal count");
+        }
+        double sx = 0, sy = 0;
+        for(int i = 0; i < m; i++) { sx += Math.log(ns[i]); sy += Math.log(times[i]); }
+        double mx = sx / m, my = sy / m;
+        double sxx = 0, sxy = 0, syy = 0;
+        for(int i = 0; i < m; i++) {
+            double dx = Math.log(ns[i]) - mx, dy = Math.log(times[i]) - my;
+            sxx += dx * dx; sxy += dx * dy; syy += dy * dy;
+        }
+        double slope = sxy / sxx;
+        double r2 = syy == 0 ? 1 : (sxy * sxy) / (sxx * syy);
+        return new Fit(slope, my - slope * mx, r2);
+    }
+
+    /**
+     * A method to measure, with its declared growth exponent and the range of sizes.
+     */
+    public static final class Case {
+        private final String name;
+        private final double declared;
+        private final int minN, maxN;
+        private final IntFunction<Supplier<?>> workload;
+
+        /**
+         * Constructor to create a new case to measure.
+         * @param name The name of the case in the report.
+         * @param declared The declared exponent of the growth of running time.
+         * @param minN The smallest problem size to measure.
+         * @param maxN The largest problem size to measure.
+         * @param workload Function that, given the problem size, creates the input of that
+         * size and returns the computation on that input that is to be timed.
+         */
+        public Case(String name, double declared, int minN, int maxN, IntFunction<Supplier<?>> workload) {
+            this.name = name;
+            this.declared = declared;
+            this.minN = minN;
+            this.maxN = maxN;
+            this.workload = workload;
+        }
+
+        /**
+         * Return the name of this case.
+         * @return The name of this case.
+         */
+        public String getName() { return name; }
+
+        /**
+         * Return the declared exponent of the growth of running time.
+         * @return The declared exponent.
+         */
+        public double getDeclared() { return declared; }
+    }
+
+    /**
+     * The measurements of one case, and the line fitted to them.
+     */
+    public static final class Result {
+        private final Case c;
+        private final double[] ns, times;
+        private final Fit fit;
+
+        private Result(Case c, double[] ns, double[] times) {
+            this.c = c;
+            this.ns = ns;
+            this.times = times;
+            this.fit = fit(ns, times);
+        }
+
+        /**
+         * Return the case that was measured.
+         * @return The case that was measured.
+         */
+        public Case getCase() { return c; }
+
+        /**
+         * Return the line fitted to the measurements.
+         * @return The fitted line.
+         */
+        public Fit getFit() { return fit; }
+
+        /**
+         * Return the measured problem sizes.
+         * @return The array of problem sizes.
+         */
+        public double[] getSizes() { return ns.clone(); }
+
+        /**
+         * Return the measured running times in nanoseconds.
+         * @return The array of running times, parallel to the array of problem sizes.
+         */
+        public double[] getTimes() { return times.clone(); }
+
+        /**
+         * Whether the measured exponent stays within tolerance of the declared exponent.
+         * @return {@code true} if the case grows no faster than declared, {@code false} otherwise.
+         */
+        public boolean isWithinDeclared() { return fit.exponent <= c.declared + TOLERANCE; }
+
+        @Override public String toString() {
+            return String.format("%-40s declared n^%.0f, measured %s%s", c.name, c.declared, fit,
+                    isWithinDeclared() ? "" : "  SUPERLINEAR BEYOND DECLARED");
+        }
+    }
+
+    // Time one call of the computation in nanoseconds, as the fastest of the given samples.
+    private static double time(Supplier<?> computation, int samples) {
+        double best = Double.POSITIVE_INFINITY;
+        for(int s = 0; s < samples; s++) {
+            long calls = 0, start = System.nanoTime(), elapsed;
+            do {
+                sink ^= computation.get().hashCode();
+                calls++;
+                elapsed = System.nanoTime() - start;
+            } while(elapsed < MIN_SAMPLE_NANOS);
+            best = Math.min(best, (double)elapsed / calls);
+        }
+        return best;
+    }
+
+    /**
+     * Measure the given case at sizes {@code minN, 2*minN, 4*minN, ...} up to {@code maxN}.
+     * Each size is first executed for one unmeasured sample to give the JIT compiler a
+     * chance to compile the method before the measurements.
+     * @param c The case to measure.
+     * @return The result of the measurements.
+     */
+    public static Result measure(Case c) {
+        List<Integer> sizes = new ArrayList<>();
+        for(long n = c.minN; n <= c.maxN; n *= 2) { sizes.add((int)n); }
+        double[] ns = new double[sizes.size()], times = new double[sizes.size()];
+        List<Supplier<?>> computations = new ArrayList<>();
+        for(int n: sizes) { computations.add(c.workload.apply(n)); }
+        for(Supplier<?> computation: computations) { time(computation, 1); }
+        for(int i = 0; i < ns.length; i++) {
+            ns[i] = sizes.get(i);
+            times[i] = time(computations.get(i), SAMPLES);
+        }
+        return new Result(c, ns, times);
+    }
+
+    // Inputs for the cases, created from a fixed seed.
+
+    private static int[] randomArray(int n) {
+        Random rng = new Random(n);
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) { a[i] = rng.nextInt(2*n + 1) - n; }
+        return a;
+    }
+
+    private static int[] ascendingArray(int n) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) { a[i] = 2 * i; }
+        return a;
+    }
+
+    private static int[] permutation(int n) {
+        Random rng = new Random(n);
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) { a[i] = i + 1; }
+        for(int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+        }
+        return a;
+    }
+
+    private static ArrayList<String> strings(int n) {
+        Random rng = new Random(n);
+        ArrayList<String> result = new ArrayList<>();
+        for(int i = 0; i < n; i++) { result.add("x".repeat(rng.nextInt(20))); }
+        return result;
+    }
+
+    /**
+     * Create the cases for the Shlemiel algorithms that are declared quadratic.
+     * @return The list of cases, one for each Shlemiel algorithm.
+     */
+    public static List<Case> shlemielCases() {
+        int lo = 1 << 9, hi = 1 << 13;
+        List<Case> cases = new ArrayList<>();
+        cases.add(new Case("accumulateShlemiel", 2, lo, hi, n -> {
+            int[] a = randomArray(n); return () -> Shlemiel.accumulateShlemiel(a);
+        }));
+        cases.add(new Case("longestAscendingSubarrayShlemiel", 2, lo, hi, n -> {
+            int[] a = ascendingArray(n); return () -> Shlemiel.longestAscendingSubarrayShlemiel(a);
+        }));
+        cases.add(new Case("twoSummingElementsShlemiel", 2, lo, hi, n -> {
+            // An odd goal past every sum of two even elements is never found.
+            int[] a = ascendingArray(n); return () -> Shlemiel.twoSummingElementsShlemiel(a, 4*n + 1);
+        }));
+        cases.add(new Case("containsAllNumbersShlemiel", 2, lo, hi, n -> {
+            int[] a = permutation(n); return () -> Shlemiel.containsAllNumbersShlemiel(a, n);
+        }));
+        // Removing from the middle of an ArrayList moves the tail with one fast memory copy,
+        // so that the quadratic growth dominates the linear costs only in larger lists.
+        cases.add(new Case("removeShortStringsShlemiel", 2, 8 * lo, 8 * hi, n -> {
+            ArrayList<String> strings = strings(n);
+            return () -> { ArrayList<String> copy = new ArrayList<>(strings); Shlemiel.removeShortStringsShlemiel(copy, 10); return copy; };
+        }));
+        cases.add(new Case("hasMajorityShlemiel", 2, lo, hi, n -> {
+            int[] a = randomArray(n); return () -> Shlemiel.hasMajorityShlemiel(a);
+        }));
+        return cases;
+    }
+
+    /**
+     * Create the cases for the faster counterparts of the Shlemiel algorithms that are
+     * declared linear, in the same order as the cases of {@link #shlemielCases()}.
+     * @return The list of cases, one for each linear algorithm.
+     */
+    public static List<Case> linearCases() {
+        int lo = 1 << 14, hi = 1 << 20;
+        List<Case> cases = new ArrayList<>();
+        cases.add(new Case("accumulate", 1, lo, hi, n -> {
+            int[] a = randomArray(n); return () -> Shlemiel.accumulate(a);
+        }));
+        cases.add(new Case("longestAscendingSubarray", 1, lo, hi, n -> {
+            int[] a = ascendingArray(n); return () -> Shlemiel.longestAscendingSubarray(a);
+        }));
+        cases.add(new Case("twoSummingElements", 1, lo, hi, n -> {
+            int[] a = ascendingArray(n); return () -> Shlemiel.twoSummingElements(a, 4*n + 1);
+        }));
+        cases.add(new Case("containsAllNumbersLinear", 1, lo, hi, n -> {
+            int[] a = permutation(n); return () -> Shlemiel.containsAllNumbersLinear(a, n);
+        }));
+        cases.add(new Case("removeShortStrings", 1, lo, hi, n -> {
+            ArrayList<String> strings = strings(n);
+            return () -> { ArrayList<String> copy = new ArrayList<>(strings); Shlemiel.removeShortStrings(copy, 10); return copy; };
+        }));
+        cases.add(new Case("hasMajorityLinear", 1, lo, hi, n -> {
+            int[] a = randomArray(n); return () -> Shlemiel.hasMajorityLinear(a);
+        }));
+        return cases;
+    }
+
+    /**
+     * Measure each Shlemiel algorithm and its linear counterpart, and print their fitted
+     * growth rates and the crossover size where the linear algorithm becomes faster.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        List<Case> slow = shlemielCases(), fast = linearCases();
+        boolean ok = true;
+        for(int i = 0; i < slow.size(); i++) {
+            Result r1 = measure(slow.get(i)), r2 = measure(fast.get(i));
+            System.out.println(r1);
+            System.out.println(r2);
+            System.out.printf("%-40s crossover at n = %.0f%n%n", "", r1.getFit().crossover(r2.getFit()));
+            ok &= r1.isWithinDeclared() && r2.isWithinDeclared();
+        }
+        if(!ok) { System.exit(1); }
+    }
+}
@@ -55,6 +55,78 @@ public class DLList<E> {
         return HEAD.insertPredecessor(key);
     }
 
+    /**
+     * Link the given node, which must not currently be in any list, to the end of the list.
+     * @param node The node to link.
+     * @return The node that was linked.
+     */
+    public DLNode<E> linkBack(DLNode<E> node) {
+        return HEAD.linkPredecessor(node);
+    }
+
+    /**
+     * Move all nodes of the given chain to the end of this list with a constant number of
+     * link updates, leaving the chain empty for reuse.
+     * @param chain The chain whose nodes are moved.
+     */
+    public void spliceBack(Chain<E> chain) {
+        if(chain.first == null) { return; }
+        HEAD.getPrevious().chainSuccessor(chain.first);
+        chain.last.chainSuccessor(HEAD);
+        chain.first = chain.last = null;
+    }
+
+    /**
+     * Chain of new nodes that is built outside of any list and then moved to the end of a
+     * list all at once with {@link DLList#spliceBack}. Appending a key to the chain links the
+     * new node only to the previous node, instead of also updating the header and keeping
+     * the list cyclic after every single node as {@link DLList#insertBack} must do.
+     * @param <E> Type of keys stored in the chain.
+     */
+    public static class Chain<E> {
+        private DLNode<E> first, last;
+
+        /**
+         * Append a new node with the given key to the end of this chain.
+         * @param key Key of the new node to be created.
+         * @return The new node that was created.
+         */
+        public DLNode<E> add(E key) {
+            DLNode<E> node = new DLNode<>(key);
+            if(last == null) { first = node; }
+            else { last.chainSuccessor(node); }
+            return last = node;
+        }
+
+        /**
+         * Determine whether this chain has no nodes.
+         * @return Whether the chain is empty.
+         */
+        public boolean isEmpty() { return first == null; }
+    }
+
+    /**
+     * Determine whether this list has no nodes.
+     * @return Whether the list is empty.
+     */
+    public boolean isEmpty() {
+        return HEAD.getNext() == HEAD;
+    }
+
+    /**
+     * Move all nodes of this list into a new list in constant time, leaving this list empty.
+     * The nodes themselves stay the same, so that references to them remain valid.
+     * @return A new list with the nodes of this list in the same order.
+     */
+    public DLList<E> drain() {
+        DLList<E> result = new DLList<>();
+        if(!isEmpty()) {
+            HEAD.linkSuccessor(result.HEAD); // The header of the result joins the same cycle,
+            HEAD.unlinkToSelf(); // and then this header leaves the cycle to its own.
+        }
+        return result;
+    }
+
     /**
      * Remove the first node from the list.
      * @return The removed first node.
@@ -267,9 +339,20 @@ public class DLList<E> {
      * @param steps Number of steps to rotate the nodes.
      */
     public void rotateLeft(int steps) {
+        rotateLeft(steps, null);
+    }
+
+    /**
+     * Cyclically rotate the nodes the number of steps to the left, recording the operation counts.
+     * @param steps Number of steps to rotate the nodes.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     */
+    public void rotateLeft(int steps, Metrics metrics) {
         for(int i = 0; i < steps; i++) {
             this.HEAD.linkPredecessor(this.HEAD.getNext().unlink());
         }
+        // Each step moves the header node over one node.
+        if(metrics != null) { metrics.record("DLList.rotateLeft", 0, 0, 0, Math.max(steps, 0), 0); }
     }
 
     /**
@@ -277,18 +360,42 @@ public class DLList<E> {
      * @param steps Number of steps to rotate the nodes.
      */
     public void rotateRight(int steps) {
+        rotateRight(steps, null);
+    }
+
+    /**
+     * Cyclically rotate the nodes the number of steps to the right, recording the operation counts.
+     * @param steps Number of steps to rotate the nodes.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     */
+    public void rotateRight(int steps, Metrics metrics) {
         for(int i = 0; i < steps; i++) {
             this.HEAD.linkSuccessor(this.HEAD.getPrevious().unlink());
         }
+        if(metrics != null) { metrics.record("DLList.rotateRight", 0, 0, 0, Math.max(steps, 0), 0); }
     }
 
 
     public boolean contains(E o) {
+        return contains(o, null);
+    }
+
+    /**
+     * Check whether some node of this list contains the key, recording the operation counts.
+     * @param o The key to look for.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return Whether some node of this list contains the key.
+     */
+    public boolean contains(E o, Metrics metrics) {
         this.HEAD.setKey(o); // Place the sentinel key in the header node.
         DLNode<E> curr = HEAD;
+        long hops = 0;
         do {
             curr = curr.getNext();
+            hops++;
         } while(!curr.getKey().equals(o));
+        // Each hop is followed by one comparison of keys.
+        if(metrics != null) { metrics.record("DLList.contains", hops, 0, 0, hops, 0); }
         return curr != HEAD;
     }
 
@@ -297,13 +404,26 @@ public class DLList<E> {
      * @param predicate The predicate used to determine whether to remove a node.
      */
     public void removeIf(Predicate<E> predicate) {
+        removeIf(predicate, null);
+    }
+
+    /**
+     * Remove all nodes for whose keys the given predicate is true, recording the operation counts.
+     * @param predicate The predicate used to determine whether to remove a node.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     */
+    public void removeIf(Predicate<E> predicate, Metrics metrics) {
         DLNode<E> curr = HEAD.getNext();
+        long tests = 0;
         while(curr != HEAD) {
+            tests++;
             if(predicate.test(curr.getKey())) {
                 curr.unlink();
             }
             curr = curr.getNext();
         }
+        // One hop to each tested node, and one more hop back to the header.
+        if(metrics != null) { metrics.record("DLList.removeIf", tests, 0, 0, tests + 1, 0); }
     }
 
     /**
@@ -315,18 +435,37 @@ public class DLList<E> {
      * @param <E> Type of the keys stored in the lists to be merged.
      */
     public static <E extends Comparable<E>> DLList<E> merge(DLList<E> first, DLList<E> second) {
+        return merge(first, second, null);
+    }
+
+    /**
+     * Assuming that the two parameter lists are sorted, merge their nodes into a new sorted
+     * list, recording the operation counts. Both original parameter lists become empty.
+     * @param first The first list to be merged.
+     * @param second The second list to be merged.
+     * @param metrics The metrics to record the counts into, or {@code null} for none.
+     * @return A new list with the nodes of original lists in sorted order.
+     * @param <E> Type of the keys stored in the lists to be merged.
+     */
+    public static <E extends Comparable<E>> DLList<E> merge(DLList<E> first, DLList<E> second, Metrics metrics) {
         DLList<E> result = new DLList<>();
+        long comparisons = 0, hops = 0;
         while(first.HEAD.getNext() != first.HEAD && second.HEAD.getNext() != second.HEAD) {
             E key1 = first.HEAD.getNext().getKey();
             E key2 = second.HEAD.getNext().getKey();
+            comparisons++; hops++;
             result.HEAD.linkPredecessor(key1.compareTo(key2) <= 0 ? first.removeFront() : second.removeFront());
         }
         while(first.HEAD.getNext() != first.HEAD) {
+            hops++;
             result.HEAD.linkPredecessor(first.removeFront());
         }
         while(second.HEAD.getNext() != second.HEAD) {
+            hops++;
             result.HEAD.linkPredecessor(second.removeFront());
         }
+        // The new list allocates two objects, itself and its header node.
+        if(metrics != null) { metrics.record("DLList.merge", comparisons, 0, 0, hops, 2); }
         return result;
     }
 }
@@ -70,6 +70,18 @@ public class DLNode<E> {
         this.next.prev = this.prev;
         return this;
     }
+
+    /**
+     * Unlinks this node from its predecessor and successor, and makes this node its own
+     * successor and predecessor, same as a new header node.
+     * @return This node that was unlinked.
+     */
+    public DLNode<E> unlinkToSelf() {
+        this.unlink();
+        this.prev = this.next = this;
+        return this;
+    }
+
     /**
      * Links the given node to become the new successor of this node.
      * @param newSuccessor The node to be made the successor of this mode.
@@ -81,6 +93,13 @@ public class DLNode<E> {
         return this.next = this.next.prev = newSuccessor;
     }
 
+    // Link the given node to follow this node, without touching any other node. Only for
+    // building a chain of new nodes outside any list, as in DLList.Chain.
+    void chainSuccessor(DLNode<E> successor) {
+        this.next = successor;
+        successor.prev = this;
+    }
+
     /**
      * Create a new node with the given key and link it to become successor of this node.
      * @param key The key of the new node.
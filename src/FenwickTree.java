@@ -0,0 +1,210 @@
+import java.util.Arrays;
+
+/**
+ * Fenwick tree (also known as binary indexed tree) maintains the prefix sums of an array
+ * under point updates. Where the static accumulation array of {@code Shlemiel.accumulate}
+ * must be rebuilt in {@code O(n)} time after every change, here both updates and prefix
+ * queries take {@code O(log n)} time.
+ */
+public class FenwickTree {
+
+    // Position i (one-based) stores the sum of the elements in (i - lowbit(i), i].
+    private final long[] tree;
+
+    /**
+     * Constructor to create a Fenwick tree of {@code n} zero elements.
+     * @param n The number of elements.
+     */
+    public FenwickTree(int n) {
+        this.tree = new long[n + 1];
+    }
+
+    /**
+     * Constructor to create a Fenwick tree from the given array in {@code O(n)} time.
+     * @param a The array of initial elements.
+     */
+    public FenwickTree(int[] a) {
+        this(a.length);
+        for(int i = 1; i <= a.length; i++) {
+            tree[i] += a[i-1];
+            // Push the finished partial sum up to its parent, instead of adding
+            // each element separately to all O(log n) nodes that cover it.
+            int parent = i + (i & -i);
+            if(parent < tree.length) { tree[parent] += tree[i]; }
+        }
+    }
+
+    /**
+     * Constructor to create a Fenwick tree from the given array in {@code O(n)} time.
+     * @param a The array of initial elements.
+     */
+    public FenwickTree(long[] a) {
+        this(a.length);
+        for(int i = 1; i <= a.length; i++) {
+            tree[i] += a[i-1];
+            int parent = i + (i & -i);
+            if(parent < tree.length) { tree[parent] += tree[i]; }
+        }
+    }
+
+    /**
+     * Create a Fenwick tree in {@code O(n)} time from an existing accumulation array, such as
+     * the one produced by {@code Shlemiel.accumulate}.
+     * @param prefix The accumulation array of the initial elements.
+     * @return The new Fenwick tree.
+     */
+    public static FenwickTree fromPrefixSums(int[] prefix) {
+        FenwickTree result = new FenwickTree(prefix.length);
+        long[] tree = result.tree;
+        for(int i = 1; i <= prefix.length; i++) {
+            // The accumulation may have wrapped around in int, but the difference of two
+            // adjacent prefix sums is still exact in int arithmetic, since it is modulo 2^32.
+            tree[i] += prefix[i-1] - (i > 1 ? prefix[i-2] : 0);
+            int parent = i + (i & -i);
+            if(parent < tree.length) { tree[parent] += tree[i]; }
+        }
+        return result;
+    }
+
+    /**
+     * Return the number of elements in this tree.
+     * @return The number of elements.
+     */
+    public int size() { return tree.length - 1; }
+
+    /**
+     * Add the given amount to the element in the given position.
+     * @param i The position of the element to update.
+     * @param delta The amount to add to the element.
+     */
+    public void add(int i, long delta) {
+        if(i < 0 || i >= size()) { throw new IndexOutOfBoundsException("Index " + i + " out of bounds"); }
+        for(i++; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Compute the sum of elements from the beginning up to the given position, inclusive.
+     * @param i The last position of the prefix, or -1 for the empty prefix.
+     * @return The sum of the elements in positions 0, ..., i.
+     */
+    public long prefixSum(int i) {
+        if(i < -1 || i >= size()) { throw new IndexOutOfBoundsException("Index " + i + " out of bounds"); }
+        long sum = 0;
+        for(i++; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Compute the sum of elements in positions {@code from, ..., to-1}.
+     * @param from The first position of the range, inclusive.
+     * @param to The last position of the range, exclusive.
+     * @return The sum of the elements in the range.
+     */
+    public long rangeSum(int from, int to) {
+        if(from > to) { throw new IllegalArgumentException("Illegal range [" + from + ", " + to + ")"); }
+        return prefixSum(to - 1) - prefixSum(from - 1);
+    }
+
+    /**
+     * Return the current value of the element in the given position.
+     * @param i The position of the element.
+     * @return The current value of the element.
+     */
+    public long get(int i) {
+        return rangeSum(i, i + 1);
+    }
+
+    /**
+     * Set the element in the given position to the given value.
+     * @param i The position of the element.
+     * @param value The new value of the element.
+     */
+    public void set(int i, long value) {
+        add(i, value - get(i));
+    }
+
+    /**
+     * Variation of the Fenwick tree that supports adding the same amount to all elements in a
+     * range and computing range sums, both in {@code O(log n)} time. Adding {@code d} to range
+     * {@code [from, to)} changes each prefix sum by a linear function of its end position, so
+     * two ordinary Fenwick trees suffice to store the coefficients of these linear functions.
+     */
+    public static class RangeUpdate {
+        private final FenwickTree slope, offset;
+
+        /**
+         * Constructor to create a range update Fenwick tree of {@code n} zero elements.
+         * @param n The number of elements.
+         */
+        public RangeUpdate(int n) {
+            // One extra position so that the update at position to is always legal.
+            this.slope = new FenwickTree(n + 1);
+            this.offset = new FenwickTree(n + 1);
+        }
+
+        /**
+         * Constructor to create a range update Fenwick tree from the given array.
+         * @param a The array of initial elements.
+         */
+        public RangeUpdate(int[] a) {
+            this.slope = new FenwickTree(a.length + 1);
+            this.offset = new FenwickTree(Arrays.copyOf(a, a.length + 1));
+        }
+
+        /**
+         * Return the number of elements in this tree.
+         * @return The number of elements.
+         */
+        public int size() { return slope.size() - 1; }
+
+        /**
+         * Add the given amount to every element in positions {@code from, ..., to-1}.
+         * @param from The first position of the range, inclusive.
+         * @param to The last position of the range, exclusive.
+         * @param delta The amount to add to each element.
+         */
+        public void add(int from, int to, long delta) {
+            if(from < 0 || to > size() || from > to) {
+                throw new IndexOutOfBoundsException("Illegal range [" + from + ", " + to + ")");
+            }
+            slope.add(from, delta);
+            slope.add(to, -delta);
+            offset.add(from, -delta * from);
+            offset.add(to, delta * to);
+        }
+
+        /**
+         * Compute the sum of elements from the beginning up to the given position, inclusive.
+         * @param i The last position of the prefix, or -1 for the empty prefix.
+         * @return The sum of the elements in positions 0, ..., i.
+         */
+        public long prefixSum(int i) {
+            if(i < -1 || i >= size()) { throw new IndexOutOfBoundsException("Index " + i + " out of bounds"); }
+            return slope.prefixSum(i) * (i + 1) + offset.prefixSum(i);
+        }
+
+        /**
+         * Compute the sum of elements in positions {@code from, ..., to-1}.
+         * @param from The first position of the range, inclusive.
+         * @param to The last position of the range, exclusive.
+         * @return The sum of the elements in the range.
+         */
+        public long rangeSum(int from, int to) {
+            if(from > to) { throw new IllegalArgumentException("Illegal range [" + from + ", " + to + ")"); }
+            return prefixSum(to - 1) - prefixSum(from - 1);
+        }
+
+        /**
+         * Return the current value of the element in the given position.
+         * @param i The position of the element.
+         * @return The current value of the element.
+         */
+        public long get(int i) {
+            return rangeSum(i, i + 1);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Misra-Gries summary generalizes the Boyer-Moore majority vote of
+ * {@code Shlemiel.hasMajorityLinear} from one candidate to {@code k} candidates. In a single
+ * pass over a stream of {@code n} elements using only {@code k} counters, it guarantees
+ * to keep every element that occurs more than {@code n/(k+1)} times, with each estimated
+ * count at most {@code n/(k+1)} below the true count. Summaries of separate partitions of
+ * the stream can be merged into a summary of the whole stream with the same guarantees.
+ */
+public class HeavyHitters {
+
+    /**
+     * A candidate heavy hitter, with bounds for the number of its occurrences.
+     */
+    public static final class Candidate {
+        private final int item;
+        private final long lowerBound, upperBound;
+
+        private Candidate(int item, long lowerBound, long upperBound) {
+            this.item = item;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        /**
+         * Return the candidate element.
+         * @return The candidate element.
+         */
+        public int getItem() { return item; }
+
+        /**
+         * Return the guaranteed lower bound for the number of occurrences of the element.
+         * @return The lower bound for the number of occurrences.
+         */
+        public long getLowerBound() { return lowerBound; }
+
+        /**
+         * Return the guaranteed upper bound for the number of occurrences of the element.
+         * @return The upper bound for the number of occurrences.
+         */
+        public long getUpperBound() { return upperBound; }
+
+        @Override public String toString() {
+            return item + ":" + (lowerBound == upperBound ? "" + lowerBound : "[" + lowerBound + ", " + upperBound + "]");
+        }
+    }
+
+    // Maximum number of counters kept at any time.
+    private final int k;
+
+    // The current candidates and their counters.
+    private final HashMap<Integer, Long> counters = new HashMap<>();
+
+    // Total number of elements seen so far.
+    private long count;
+
+    // How much any single counter may have been decremented, the maximum underestimate.
+    private long error;
+
+    /**
+     * Constructor to create an empty summary that uses at most {@code k} counters.
+     * @param k The maximum number of counters.
+     */
+    public HeavyHitters(int k) {
+        if(k < 1) { throw new IllegalArgumentException("Number of counters must be positive, was " + k); }
+        this.k = k;
+    }
+
+    /**
+     * Add one element of the stream into this summary, in amortized {@code O(1)} time.
+     * @param x The element to add.
+     */
+    public void add(int x) {
+        count++;
+        Long c = counters.get(x);
+        if(c != null) {
+            counters.put(x, c + 1);
+        }
+        else if(counters.size() < k) {
+            counters.put(x, 1L);
+        }
+        else {
+            // Same as Boyer-Moore: the new element cancels out one occurrence of every current
+            // candidate. Since each cancellation removes k+1 elements of the stream, this can
+            // happen at most n/(k+1) times, paying for the O(k) work done here.
+            error++;
+            Iterator<Map.Entry<Integer, Long>> it = counters.entrySet().iterator();
+            while(it.hasNext()) {
+                Map.Entry<Integer, Long> e = it.next();
+                if(e.getValue() == 1) { it.remove(); }
+                else { e.setValue(e.getValue() - 1); }
+            }
+        }
+    }
+
+    /**
+     * Add all elements of the given array into this summary.
+     * @param items The elements to add.
+     */
+    public void addAll(int[] items) {
+        for(int e: items) { add(e); }
+    }
+
+    /**
+     * Merge the summary of another partition of the stream into this summary. The other
+     * summary is left unchanged. Both summaries must use the same number of counters.
+     * @param other The summary to merge into this summary.
+     */
+    public void merge(HeavyHitters other) {
+        if(other.k != k) { throw new IllegalArgumentException("Cannot merge summaries of " + k + " and " + other.k + " counters"); }
+        for(Map.Entry<Integer, Long> e: other.counters.entrySet()) {
+            counters.merge(e.getKey(), e.getValue(), Long::sum);
+        }
+        count += other.count;
+        error += other.error;
+        if(counters.size() > k) {
+            // Subtract the (k+1)-th largest counter from all, leaving at most k positive.
+            long[] values = new long[counters.size()];
+            int i = 0;
+            for(long c: counters.values()) { values[i++] = c; }
+            Arrays.sort(values);
+            long cut = values[values.length - k - 1];
+            error += cut;
+            Iterator<Map.Entry<Integer, Long>> it = counters.entrySet().iterator();
+            while(it.hasNext()) {
+                Map.Entry<Integer, Long> e = it.next();
+                if(e.getValue() <= cut) { it.remove(); }
+                else { e.setValue(e.getValue() - cut); }
+            }
+        }
+    }
+
+    /**
+     * Return the number of elements added to this summary.
+     * @return The number of elements added.
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Return the maximum amount by which any estimated count can fall below the true count.
+     * This is never more than {@code n/(k+1)}.
+     * @return The maximum underestimate of any count.
+     */
+    public long getError() { return error; }
+
+    /**
+     * Return the current candidates in descending order of their estimated counts. Every
+     * element that occurs more than {@code n/(k+1)} times is guaranteed to be included, but
+     * the list may also contain elements that occur less often.
+     * @return The list of candidates with bounds on their occurrence counts.
+     */
+    public List<Candidate> candidates() {
+        List<Candidate> result = new ArrayList<>();
+        for(Map.Entry<Integer, Long> e: counters.entrySet()) {
+            result.add(new Candidate(e.getKey(), e.getValue(), e.getValue() + error));
+        }
+        result.sort((c1, c2) -> Long.compare(c2.lowerBound, c1.lowerBound));
+        return result;
+    }
+
+    /**
+     * Make a second pass over the same elements to count the candidates exactly, and keep
+     * only those that occur more than {@code threshold} times.
+     * @param items The same elements that were added to this summary.
+     * @param threshold The number of occurrences that a candidate must exceed.
+     * @return The list of verified elements, each with its exact count as both bounds.
+     */
+    public List<Candidate> verify(int[] items, long threshold) {
+        HashMap<Integer, Long> exact = new HashMap<>();
+        for(int e: counters.keySet()) { exact.put(e, 0L); }
+        for(int e: items) {
+            Long c = exact.get(e);
+            if(c != null) { exact.put(e, c + 1); }
+        }
+        List<Candidate> result = new ArrayList<>();
+        for(Map.Entry<Integer, Long> e: exact.entrySet()) {
+            if(e.getValue() > threshold) {
+                result.add(new Candidate(e.getKey(), e.getValue(), e.getValue()));
+            }
+        }
+        result.sort((c1, c2) -> Long.compare(c2.lowerBound, c1.lowerBound));
+        return result;
+    }
+
+    /**
+     * Find all elements that occur more than {@code n/(k+1)} times in the given array, using
+     * one pass to find the candidates and another pass to verify them.
+     * @param items The array to search the frequent elements in.
+     * @param k The number of counters to use.
+     * @return The list of frequent elements with their exact counts.
+     */
+    public static List<Candidate> frequentElements(int[] items, int k) {
+        HeavyHitters summary = new HeavyHitters(k);
+        summary.addAll(items);
+        return summary.verify(items, items.length / (k + 1));
+    }
+
+    /**
+     * Determine whether the array {@code items} contains a strict majority element. With a
+     * single counter, the Misra-Gries summary becomes the Boyer-Moore majority vote.
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean hasMajority(int[] items) {
+        return !frequentElements(items, 1).isEmpty();
+    }
+}
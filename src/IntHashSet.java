@@ -0,0 +1,164 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of {@code int} values stored in a primitive array with open addressing and linear
+ * probing, the sibling of {@link IntIntHashMap} without the values.
+ */
+public class IntHashSet {
+
+    // Zero marks an empty slot, so the actual element zero is stored separately.
+    private static final int FREE = 0;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int mask, size, limit;
+    private boolean hasZero;
+
+    /**
+     * Default constructor of {@code IntHashSet}.
+     */
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * Constructor of {@code IntHashSet} with room for the given number of elements before
+     * the table needs to grow.
+     * @param expectedSize The expected number of elements.
+     */
+    public IntHashSet(int expectedSize) {
+        if(expectedSize < 0) { throw new IllegalArgumentException("Expected size must be nonnegative, was " + expectedSize); }
+        allocate(IntIntHashMap.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        limit = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private int slot(int key) {
+        int i = IntIntHashMap.hash(key) & mask;
+        while(keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Return the number of elements in this set.
+     * @return The number of elements in this set.
+     */
+    public int size() { return size + (hasZero ? 1 : 0); }
+
+    /**
+     * Determine whether this set is empty.
+     * @return Whether this set is empty.
+     */
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Determine whether this set contains the given element.
+     * @param key The element to look for.
+     * @return Whether this set contains the element.
+     */
+    public boolean contains(int key) {
+        if(key == FREE) { return hasZero; }
+        return keys[slot(key)] == key;
+    }
+
+    /**
+     * Add the given element to this set.
+     * @param key The element to add.
+     * @return {@code true} if the element was added, {@code false} if it already existed.
+     */
+    public boolean add(int key) {
+        if(key == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int i = slot(key);
+        if(keys[i] == key) { return false; }
+        if(size == limit) {
+            rehash(IntIntHashMap.grow(keys.length));
+            i = slot(key);
+        }
+        keys[i] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove the given element from this set.
+     * @param key The element to remove.
+     * @return Whether the element existed in the set.
+     */
+    public boolean remove(int key) {
+        if(key == FREE) {
+            boolean existed = hasZero;
+            hasZero = false;
+            return existed;
+        }
+        int i = slot(key);
+        if(keys[i] != key) { return false; }
+        // Backward shift deletion, the same as in IntIntHashMap.
+        int j = i;
+        while(true) {
+            j = (j + 1) & mask;
+            if(keys[j] == FREE) { break; }
+            int home = IntIntHashMap.hash(keys[j]) & mask;
+            if(((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove all elements from this set, keeping the current table size.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasZero = false;
+    }
+
+    /**
+     * Perform the given operation on every element of this set, in no particular order.
+     * @param action The operation to perform.
+     */
+    public void forEach(IntConsumer action) {
+        if(hasZero) { action.accept(FREE); }
+        for(int key: keys) {
+            if(key != FREE) { action.accept(key); }
+        }
+    }
+
+    /**
+     * Return the elements of this set as a new array, in no particular order.
+     * @return The array of elements.
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int j = 0;
+        if(hasZero) { result[j++] = FREE; }
+        for(int key: keys) {
+            if(key != FREE) { result[j++] = key; }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for(int key: oldKeys) {
+            if(key != FREE) { keys[slot(key)] = key; }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code int} keys to {@code int} values that stores its keys and values in
+ * two parallel primitive arrays with open addressing and linear probing. Unlike
+ * {@code HashMap<Integer, Integer>}, no key, value or entry is ever boxed into a separate
+ * object, so that the entire map consists of only three objects regardless of its size.
+ */
+public class IntIntHashMap {
+
+    /**
+     * Operation that accepts one key and its value, without boxing either.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        /**
+         * Performs this operation on the given key and value.
+         * @param key The key.
+         * @param value The value of the key.
+         */
+        void accept(int key, int value);
+    }
+
+    // Key zero marks an empty slot, so the actual key zero is stored separately.
+    private static final int FREE = 0;
+
+    // The table is grown when more than this fraction of its slots are in use.
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // The largest power of two that is a legal array length.
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys, values;
+
+    // The table size minus one, for masking hash codes into slot indices.
+    private int mask;
+
+    // The number of keys stored in the table, not counting the key zero.
+    private int size;
+
+    // The table is grown when size exceeds this limit.
+    private int limit;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Default constructor of {@code IntIntHashMap}.
+     */
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Constructor of {@code IntIntHashMap} with room for the given number of keys before
+     * the table needs to grow.
+     * @param expectedSize The expected number of keys.
+     */
+    public IntIntHashMap(int expectedSize) {
+        if(expectedSize < 0) { throw new IllegalArgumentException("Expected size must be nonnegative, was " + expectedSize); }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    // The smallest power of two table that holds the given number of keys under load factor.
+    // Since the table grows only when one more key would exceed the limit, a table whose
+    // limit equals the expected size already holds all of the expected keys.
+    static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(4, (long)Math.ceil(expectedSize / (double)LOAD_FACTOR));
+        if(needed > MAX_CAPACITY) { throw new IllegalArgumentException("Too many keys: " + expectedSize); }
+        return Integer.highestOneBit((int)(needed - 1)) << 1;
+    }
+
+    // Scramble the bits of the key so that keys with regular patterns do not collide.
+    static int hash(int key) {
+        int h = key * 0x9E3779B9; // Multiplicative hashing with the golden ratio.
+        return h ^ (h >>> 16);
+    }
+
+    // The table size after doubling the given table size that has run out of room.
+    static int grow(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        return capacity * 2;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        limit = (int)(capacity * LOAD_FACTOR);
+    }
+
+    // Find the slot that contains the key, or the empty slot that ends its probe sequence.
+    private int slot(int key) {
+        int i = hash(key) & mask;
+        while(keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Return the number of keys in this map.
+     * @return The number of keys in this map.
+     */
+    public int size() { return size + (hasZeroKey ? 1 : 0); }
+
+    /**
+     * Determine whether this map is empty.
+     * @return Whether this map is empty.
+     */
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Determine whether this map contains the given key.
+     * @param key The key to look for.
+     * @return Whether this map contains the key.
+     */
+    public boolean containsKey(int key) {
+        if(key == FREE) { return hasZeroKey; }
+        return keys[slot(key)] == key;
+    }
+
+    /**
+     * Return the value of the given key, or the given default value if there is no such key.
+     * @param key The key to look for.
+     * @param defaultValue The value to return if the key does not exist.
+     * @return The value of the key, or the default value.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if(key == FREE) { return hasZeroKey ? zeroValue : defaultValue; }
+        int i = slot(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Set the value of the given key, adding the key if it does not already exist.
+     * @param key The key.
+     * @param value The new value of the key.
+     */
+    public void put(int key, int value) {
+        if(key == FREE) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key);
+        if(keys[i] == key) {
+            values[i] = value;
+            return;
+        }
+        // Grow the table before the new key is stored, so that a table that cannot
+        // grow any more is left unchanged when the key is refused.
+        if(size == limit) {
+            rehash(grow(keys.length));
+            i = slot(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Add the given increment to the value of the given key, treating a key that does not
+     * exist as having the value zero. This replaces the usual idiom of counting with
+     * {@code getOrDefault} followed by {@code put}, which would probe the table twice.
+     * @param key The key.
+     * @param increment The amount to add to the value of the key.
+     * @return The new value of the key.
+     */
+    public int addTo(int key, int increment) {
+        if(key == FREE) {
+            if(!hasZeroKey) { hasZeroKey = true; zeroValue = 0; }
+            return zeroValue += increment;
+        }
+        int i = slot(key);
+        if(keys[i] == key) {
+            return values[i] += increment;
+        }
+        if(size == limit) {
+            rehash(grow(keys.length));
+            i = slot(key);
+        }
+        keys[i] = key;
+        values[i] = increment;
+        size++;
+        return increment;
+    }
+
+    /**
+     * Remove the given key from this map.
+     * @param key The key to remove.
+     * @return Whether the key existed in the map.
+     */
+    public boolean remove(int key) {
+        if(key == FREE) {
+            boolean existed = hasZeroKey;
+            hasZeroKey = false;
+            return existed;
+        }
+        int i = slot(key);
+        if(keys[i] != key) { return false; }
+        // Backward shift deletion: move later keys of the same probe cluster into the hole,
+        // so that no tombstones are needed and lookups never get slower over time.
+        int j = i;
+        while(true) {
+            j = (j + 1) & mask;
+            if(keys[j] == FREE) { break; }
+            int home = hash(keys[j]) & mask;
+            // The key in j may move into the hole at i only if its home slot is not
+            // cyclically between the hole and its current position.
+            if(((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove all keys from this map, keeping the current table size.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Perform the given operation on every key and value of this map, in no particular order.
+     * @param action The operation to perform.
+     */
+    public void forEach(IntIntConsumer action) {
+        if(hasZeroKey) { action.accept(FREE, zeroValue); }
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != FREE) { action.accept(keys[i], values[i]); }
+        }
+    }
+
+    /**
+     * Return the keys of this map as a new array, in no particular order.
+     * @return The array of keys.
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int j = 0;
+        if(hasZeroKey) { result[j++] = FREE; }
+        for(int key: keys) {
+            if(key != FREE) { result[j++] = key; }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys, oldValues = values;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
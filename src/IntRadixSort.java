@@ -0,0 +1,167 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Least significant digit radix sort of {@code int} arrays, a linear time replacement of the
+ * comparison based {@code Arrays.sort} for the algorithms that sort their input first, such
+ * as {@code Shlemiel.containsAllNumbersSorting} and the preprocessing for binary search.
+ * Each pass counts the occurrences of each digit value, turns these counts into the starting
+ * positions of the digit values, and then scatters the elements to these positions in a
+ * second array, so that {@code ceil(32/d)} passes of {@code d}-bit digits sort the array.
+ * Since each pass is stable, the order of the earlier, less significant digits is preserved
+ * between the elements that share the current digit.
+ *
+ * Negative numbers are handled by flipping the sign bit of each key when its digits are
+ * extracted, which maps the signed order to the unsigned order. Passes whose digit is the same
+ * in every element are skipped, so that arrays of small values need fewer passes.
+ *
+ * The parallel version splits the array into chunks that count their digits independently.
+ * The starting position of each digit value in each chunk is then the number of smaller
+ * digit values in all chunks plus the number of the same digit value in the earlier chunks,
+ * so that the chunks can scatter their elements in parallel without any synchronization and
+ * still produce the same stable order as the sequential version.
+ */
+public class IntRadixSort {
+
+    /**
+     * The default width of one digit, which keeps the counts of one chunk in the L1 cache.
+     */
+    public static final int DIGIT_BITS = 8;
+
+    // Arrays at most this long are sorted sequentially, as are the chunks of longer arrays.
+    private static final int THRESHOLD = 1 << 16;
+
+    /**
+     * Sort the given array in ascending order using digits of {@link #DIGIT_BITS} bits.
+     * @param a The array to sort.
+     */
+    public static void sort(int[] a) {
+        sort(a, null, DIGIT_BITS, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sort the given array in ascending order using digits of the given width. Wider digits
+     * need fewer passes but more memory for the counts, so that 8 or 11 bits are the usual
+     * choices for four or three passes.
+     * @param a The array to sort.
+     * @param digitBits The width of one digit in bits, from 1 to 16.
+     */
+    public static void sort(int[] a, int digitBits) {
+        sort(a, null, digitBits, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parallel version of {@link #sort(int[])} that counts and scatters the digits of the
+     * chunks of the array in parallel.
+     * @param a The array to sort.
+     */
+    public static void parallelSort(int[] a) {
+        sort(a, null, DIGIT_BITS, THRESHOLD);
+    }
+
+    /**
+     * Parallel version of {@link #sort(int[], int)}.
+     * @param a The array to sort.
+     * @param digitBits The width of one digit in bits, from 1 to 16.
+     */
+    public static void parallelSort(int[] a, int digitBits) {
+        sort(a, null, digitBits, THRESHOLD);
+    }
+
+    /**
+     * Sort the given array in ascending order, and return the permutation that tells where
+     * each element came from. Equal elements keep their original order. This permutation
+     * can be used to sort other arrays of the same length by these keys.
+     * @param a The array to sort.
+     * @return The array whose element in each position is the original index of the element
+     * that is now in that position of {@code a}.
+     */
+    public static int[] sortWithPermutation(int[] a) {
+        int[] perm = new int[a.length];
+        for(int i = 0; i < perm.length; i++) { perm[i] = i; }
+        sort(a, perm, DIGIT_BITS, Integer.MAX_VALUE);
+        return perm;
+    }
+
+    /**
+     * Parallel version of {@link #sortWithPermutation(int[])}.
+     * @param a The array to sort.
+     * @return The array whose element in each position is the original index of the element
+     * that is now in that position of {@code a}.
+     */
+    public static int[] parallelSortWithPermutation(int[] a) {
+        int[] perm = new int[a.length];
+        Arrays.parallelSetAll(perm, i -> i);
+        sort(a, perm, DIGIT_BITS, THRESHOLD);
+        return perm;
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    // The permutation perm is carried along with the keys, unless it is null.
+    static void sort(int[] a, int[] perm, int digitBits, int threshold) {
+        if(digitBits < 1 || digitBits > 16) { throw new IllegalArgumentException("Digit width " + digitBits + " is not between 1 and 16"); }
+        int n = a.length;
+        if(n < 2) { return; }
+        int radix = 1 << digitBits, mask = radix - 1;
+        // Split the array into chunks of at least threshold elements, but not many more
+        // chunks than there are threads, since each chunk needs its own counts.
+        int chunks = (int)Math.min(4L * ForkJoinPool.getCommonPoolParallelism(), (n + (long)threshold - 1) / threshold);
+        chunks = Math.max(1, chunks);
+        int[] bounds = new int[chunks + 1];
+        for(int c = 0; c <= chunks; c++) { bounds[c] = (int)((long)n * c / chunks); }
+        int[][] counts = new int[chunks][radix];
+        int[] src = a, dst = new int[n];
+        int[] srcPerm = perm, dstPerm = perm == null ? null : new int[n];
+        for(int shift = 0; shift < 32; shift += digitBits) {
+            final int s = shift;
+            final int[] from = src, to = dst, fromPerm = srcPerm, toPerm = dstPerm;
+            forEachChunk(chunks, c -> {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                for(int i = bounds[c]; i < bounds[c+1]; i++) { count[digit(from[i], s, mask)]++; }
+            });
+            // Turn the counts into starting positions, in the order of digit and then chunk.
+            int pos = 0;
+            boolean trivial = false;
+            for(int d = 0; d < radix; d++) {
+                int total = 0;
+                for(int c = 0; c < chunks; c++) {
+                    int count = counts[c][d];
+                    counts[c][d] = pos + total;
+                    total += count;
+                }
+                // When every element has the same digit, this pass would not move anything.
+                if(total == n) { trivial = true; break; }
+                pos += total;
+            }
+            if(trivial) { continue; }
+            forEachChunk(chunks, c -> {
+                int[] next = counts[c];
+                for(int i = bounds[c]; i < bounds[c+1]; i++) {
+                    int j = next[digit(from[i], s, mask)]++;
+                    to[j] = from[i];
+                    if(toPerm != null) { toPerm[j] = fromPerm[i]; }
+                }
+            });
+            src = to; dst = from;
+            srcPerm = toPerm; dstPerm = fromPerm;
+        }
+        // After an odd number of passes, the sorted elements are in the scratch array.
+        if(src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            if(perm != null) { System.arraycopy(srcPerm, 0, perm, 0, n); }
+        }
+    }
+
+    // The digit of x at the given shift, with the sign bit flipped to order negative keys first.
+    private static int digit(int x, int shift, int mask) {
+        return ((x ^ Integer.MIN_VALUE) >>> shift) & mask;
+    }
+
+    private static void forEachChunk(int chunks, IntConsumer action) {
+        if(chunks == 1) { action.accept(0); }
+        else { IntStream.range(0, chunks).parallel().forEach(action); }
+    }
+}
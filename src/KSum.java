@@ -0,0 +1,247 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Generalizations of {@code Shlemiel.twoSummingElements} and
+ * {@code Shlemiel.threeSummingElements} to any number of summing elements, and to counting
+ * and listing all solutions instead of merely deciding whether one exists. All arrays are
+ * assumed to be sorted in ascending order, and all sums are computed in {@code long} so that
+ * they cannot overflow the way {@code a[i] + a[j]} can overflow in {@code int}.
+ */
+public class KSum {
+
+    // Arrays at least this long have their outer loop executed in parallel.
+    private static final int PARALLEL_THRESHOLD = 1 << 11;
+
+    /**
+     * Determine whether the sorted array {@code a} contains {@code k} elements in separate
+     * positions whose sum equals the goal value {@code x}, by trying out all combinations.
+     * @param a The array to search the elements in.
+     * @param k The number of elements to sum.
+     * @param x The goal value for the sum.
+     * @return Whether such {@code k} elements exist.
+     */
+    public static boolean kSumShlemiel(int[] a, int k, long x) {
+        return kSumShlemiel(a, 0, k, x);
+    }
+
+    private static boolean kSumShlemiel(int[] a, int from, int k, long x) {
+        if(k == 0) { return x == 0; }
+        for(int i = from; i < a.length; i++) {
+            if(kSumShlemiel(a, i + 1, k - 1, x - a[i])) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * Determine whether the sorted array {@code a} contains {@code k} elements in separate
+     * positions whose sum equals the goal value {@code x}. Each level of recursion fixes
+     * the smallest remaining element, until the two pointer algorithm finishes the search
+     * in {@code O(n)} time, for a total of {@code O(n^(k-1))} time. Branches whose smallest
+     * or largest possible sum cannot reach the goal are pruned away.
+     * @param a The array to search the elements in.
+     * @param k The number of elements to sum.
+     * @param x The goal value for the sum.
+     * @return Whether such {@code k} elements exist.
+     */
+    public static boolean kSum(int[] a, int k, long x) {
+        if(k < 0) { throw new IllegalArgumentException("Number of elements must be nonnegative, was " + k); }
+        return kSum(a, 0, k, x);
+    }
+
+    private static boolean kSum(int[] a, int from, int k, long x) {
+        int n = a.length;
+        if(k == 0) { return x == 0; }
+        if(n - from < k) { return false; }
+        if(k == 1) {
+            return x >= Integer.MIN_VALUE && x <= Integer.MAX_VALUE
+                    && Arrays.binarySearch(a, from, n, (int)x) >= 0;
+        }
+        if(k == 2) { return countPairs(a, from, n - 1, x, true) > 0; }
+        // The largest k elements must be able to reach the goal.
+        if(sum(a, n - k, n) < x) { return false; }
+        for(int i = from; i <= n - k; i++) {
+            if(i > from && a[i] == a[i-1]) { continue; } // Same subproblem as previous round.
+            // Once the smallest k elements from here on exceed the goal, so will all later.
+            if(sum(a, i, i + k) > x) { return false; }
+            // The largest k-1 elements with a[i] still too small, so a larger a[i] is needed.
+            if(a[i] + sum(a, n - k + 1, n) < x) { continue; }
+            if(kSum(a, i + 1, k - 1, x - a[i])) { return true; }
+        }
+        return false;
+    }
+
+    private static long sum(int[] a, int from, int to) {
+        long result = 0;
+        for(int i = from; i < to; i++) { result += a[i]; }
+        return result;
+    }
+
+    // Count the pairs of positions lo <= i < j <= hi for which a[i] + a[j] == x, or just
+    // determine whether at least one such pair exists, with two pointers in O(hi - lo) time.
+    private static long countPairs(int[] a, int lo, int hi, long x, boolean stopAtFirst) {
+        long count = 0;
+        while(lo < hi) {
+            long sum = (long)a[lo] + a[hi];
+            if(sum < x) { lo++; }
+            else if(sum > x) { hi--; }
+            else if(stopAtFirst) { return 1; }
+            else if(a[lo] == a[hi]) {
+                // Every element in between is the same, so every pair of them works.
+                long m = hi - lo + 1;
+                return count + m * (m - 1) / 2;
+            }
+            else {
+                // Each copy of a[lo] pairs with each copy of a[hi].
+                int cl = 1, ch = 1;
+                while(a[lo + cl] == a[lo]) { cl++; }
+                while(a[hi - ch] == a[hi]) { ch++; }
+                count += (long)cl * ch;
+                lo += cl;
+                hi -= ch;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the pairs of positions {@code i < j} of the sorted array {@code a} for which
+     * {@code a[i] + a[j] == x}, by trying out all pairs.
+     * @param a The array to search the pairs in.
+     * @param x The goal value for the sum.
+     * @return The number of such pairs of positions.
+     */
+    public static long countPairsShlemiel(int[] a, long x) {
+        long count = 0;
+        for(int i = 0; i < a.length; i++) {
+            for(int j = i + 1; j < a.length; j++) {
+                if((long)a[i] + a[j] == x) { count++; }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the pairs of positions {@code i < j} of the sorted array {@code a} for which
+     * {@code a[i] + a[j] == x}, in {@code O(n)} time.
+     * @param a The array to search the pairs in.
+     * @param x The goal value for the sum.
+     * @return The number of such pairs of positions.
+     */
+    public static long countPairs(int[] a, long x) {
+        return countPairs(a, 0, a.length - 1, x, false);
+    }
+
+    /**
+     * Count the triples of positions {@code i < j < k} of the sorted array {@code a} for
+     * which {@code a[i] + a[j] + a[k] == x}, by trying out all triples.
+     * @param a The array to search the triples in.
+     * @param x The goal value for the sum.
+     * @return The number of such triples of positions.
+     */
+    public static long countTriplesShlemiel(int[] a, long x) {
+        long count = 0;
+        for(int i = 0; i < a.length; i++) {
+            for(int j = i + 1; j < a.length; j++) {
+                for(int k = j + 1; k < a.length; k++) {
+                    if((long)a[i] + a[j] + a[k] == x) { count++; }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the triples of positions {@code i < j < k} of the sorted array {@code a} for
+     * which {@code a[i] + a[j] + a[k] == x}, in {@code O(n^2)} time.
+     * @param a The array to search the triples in.
+     * @param x The goal value for the sum.
+     * @return The number of such triples of positions.
+     */
+    public static long countTriples(int[] a, long x) {
+        long count = 0;
+        for(int i = 0; i < a.length - 2; i++) {
+            count += countPairs(a, i + 1, a.length - 1, x - a[i], false);
+        }
+        return count;
+    }
+
+    /**
+     * Parallel version of {@link #countTriples(int[], long)} that distributes the rounds of
+     * the outer loop to separate threads, each round being an independent pair count.
+     * @param a The array to search the triples in.
+     * @param x The goal value for the sum.
+     * @return The number of such triples of positions.
+     */
+    public static long parallelCountTriples(int[] a, long x) {
+        if(a.length < PARALLEL_THRESHOLD) { return countTriples(a, x); }
+        return IntStream.range(0, a.length - 2).parallel()
+                .mapToLong(i -> countPairs(a, i + 1, a.length - 1, x - a[i], false))
+                .sum();
+    }
+
+    /**
+     * Parallel version of {@code Shlemiel.threeSummingElements} that stops all threads as
+     * soon as one of them finds a solution.
+     * @param a The array to search the three elements in.
+     * @param x The goal value for the sum.
+     * @return Whether three such elements exist.
+     */
+    public static boolean parallelThreeSummingElements(int[] a, long x) {
+        if(a.length < PARALLEL_THRESHOLD) { return Shlemiel.threeSummingElements(a, x); }
+        return IntStream.range(0, a.length - 2).parallel()
+                .anyMatch(i -> countPairs(a, i + 1, a.length - 1, x - a[i], true) > 0);
+    }
+
+    // Append the distinct value pairs in a[lo..hi] that add up to x, each prefixed with prefix.
+    private static void listPairs(int[] a, int lo, int hi, long x, int[] prefix, List<int[]> result) {
+        while(lo < hi) {
+            long sum = (long)a[lo] + a[hi];
+            if(sum < x) { lo++; }
+            else if(sum > x) { hi--; }
+            else {
+                int[] solution = Arrays.copyOf(prefix, prefix.length + 2);
+                solution[prefix.length] = a[lo];
+                solution[prefix.length + 1] = a[hi];
+                result.add(solution);
+                // Skip over the copies of both values to avoid listing the same pair again.
+                int v = a[lo];
+                while(lo < hi && a[lo] == v) { lo++; }
+                v = a[hi];
+                while(lo < hi && a[hi] == v) { hi--; }
+            }
+        }
+    }
+
+    /**
+     * List all distinct pairs of values {@code a[i] <= a[j]} at positions {@code i < j} of
+     * the sorted array {@code a} whose sum equals {@code x}, in ascending order.
+     * @param a The array to search the pairs in.
+     * @param x The goal value for the sum.
+     * @return The list of pairs, each given as a two-element array.
+     */
+    public static List<int[]> listPairs(int[] a, long x) {
+        List<int[]> result = new ArrayList<>();
+        listPairs(a, 0, a.length - 1, x, new int[0], result);
+        return result;
+    }
+
+    /**
+     * List all distinct triples of values {@code a[i] <= a[j] <= a[k]} at positions
+     * {@code i < j < k} of the sorted array {@code a} whose sum equals {@code x}, in
+     * ascending order.
+     * @param a The array to search the triples in.
+     * @param x The goal value for the sum.
+     * @return The list of triples, each given as a three-element array.
+     */
+    public static List<int[]> listTriples(int[] a, long x) {
+        List<int[]> result = new ArrayList<>();
+        for(int i = 0; i < a.length - 2; i++) {
+            if(i > 0 && a[i] == a[i-1]) { continue; }
+            listPairs(a, i + 1, a.length - 1, x - a[i], new int[] {a[i]}, result);
+        }
+        return result;
+    }
+}
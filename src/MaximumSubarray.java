@@ -0,0 +1,291 @@
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Problems about finding the best contiguous subarray, each solved both with the Shlemiel
+ * approach of trying out all {@code O(n^2)} subarrays, and with a single pass that remembers
+ * just enough about the prefix seen so far. All sums are accumulated in {@code long}.
+ */
+public class MaximumSubarray {
+
+    // Arrays at most this long are summarized sequentially in the parallel version.
+    private static final int THRESHOLD = 1 << 14;
+
+    /**
+     * Subarray of positions {@code from, ..., to-1} and the value computed for it.
+     */
+    public static final class Subarray {
+        private final long value;
+        private final int from, to;
+
+        private Subarray(long value, int from, int to) {
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Return the value of this subarray.
+         * @return The value of this subarray.
+         */
+        public long getValue() { return value; }
+
+        /**
+         * Return the first position of this subarray, inclusive.
+         * @return The first position of this subarray.
+         */
+        public int getFrom() { return from; }
+
+        /**
+         * Return the last position of this subarray, exclusive.
+         * @return The last position of this subarray.
+         */
+        public int getTo() { return to; }
+
+        @Override public String toString() { return value + " @ [" + from + ", " + to + ")"; }
+    }
+
+    private static void checkNonEmpty(int[] a) {
+        if(a.length == 0) { throw new IllegalArgumentException("Array must be nonempty"); }
+    }
+
+    /**
+     * Given a nonempty integer array {@code a}, find its nonempty subarray with the largest sum.
+     * @param a The array to search the subarray in.
+     * @return The earliest subarray with the largest sum.
+     */
+    public static Subarray maxSumSubarrayShlemiel(int[] a) {
+        checkNonEmpty(a);
+        long best = a[0];
+        int bestFrom = 0, bestTo = 1;
+        for(int i = 0; i < a.length; i++) {
+            long sum = 0;
+            for(int j = i; j < a.length; j++) {
+                sum += a[j];
+                if(sum > best) { best = sum; bestFrom = i; bestTo = j + 1; }
+            }
+        }
+        return new Subarray(best, bestFrom, bestTo);
+    }
+
+    /**
+     * Given a nonempty integer array {@code a}, find its nonempty subarray with the largest
+     * sum, using Kadane's algorithm. The best subarray that ends at the current position
+     * either extends the best subarray that ended at the previous position, or starts anew
+     * at the current position, whichever is better.
+     * @param a The array to search the subarray in.
+     * @return A subarray with the largest sum.
+     */
+    public static Subarray maxSumSubarray(int[] a) {
+        checkNonEmpty(a);
+        long curr = 0, best = Long.MIN_VALUE;
+        int currFrom = 0, bestFrom = 0, bestTo = 0;
+        for(int i = 0; i < a.length; i++) {
+            if(curr <= 0) { curr = a[i]; currFrom = i; } // Nothing is better than the past.
+            else { curr += a[i]; }
+            if(curr > best) { best = curr; bestFrom = currFrom; bestTo = i + 1; }
+        }
+        return new Subarray(best, bestFrom, bestTo);
+    }
+
+    /**
+     * Given a nonempty integer array {@code a}, find its nonempty subarray with the largest
+     * product, assuming that all such products fit in {@code long}.
+     * @param a The array to search the subarray in.
+     * @return The earliest subarray with the largest product.
+     */
+    public static Subarray maxProductSubarrayShlemiel(int[] a) {
+        checkNonEmpty(a);
+        long best = a[0];
+        int bestFrom = 0, bestTo = 1;
+        for(int i = 0; i < a.length; i++) {
+            long prod = 1;
+            for(int j = i; j < a.length; j++) {
+                prod *= a[j];
+                if(prod > best) { best = prod; bestFrom = i; bestTo = j + 1; }
+            }
+        }
+        return new Subarray(best, bestFrom, bestTo);
+    }
+
+    /**
+     * Given a nonempty integer array {@code a}, find its nonempty subarray with the largest
+     * product, assuming that all such products fit in {@code long}. Since multiplying with a
+     * negative number turns the smallest product into the largest, the largest and the
+     * smallest products of subarrays that end at the current position are both maintained.
+     * @param a The array to search the subarray in.
+     * @return A subarray with the largest product.
+     */
+    public static Subarray maxProductSubarray(int[] a) {
+        checkNonEmpty(a);
+        long max = a[0], min = a[0], best = a[0];
+        int maxFrom = 0, minFrom = 0, bestFrom = 0, bestTo = 1;
+        for(int i = 1; i < a.length; i++) {
+            long x = a[i];
+            long extendMax = max * x, extendMin = min * x;
+            long newMax = x, newMin = x;
+            int newMaxFrom = i, newMinFrom = i;
+            // Each extreme is the current element alone, or extends one of the previous extremes.
+            if(extendMax > newMax) { newMax = extendMax; newMaxFrom = maxFrom; }
+            if(extendMin > newMax) { newMax = extendMin; newMaxFrom = minFrom; }
+            if(extendMax < newMin) { newMin = extendMax; newMinFrom = maxFrom; }
+            if(extendMin < newMin) { newMin = extendMin; newMinFrom = minFrom; }
+            max = newMax; maxFrom = newMaxFrom;
+            min = newMin; minFrom = newMinFrom;
+            if(max > best) { best = max; bestFrom = maxFrom; bestTo = i + 1; }
+        }
+        return new Subarray(best, bestFrom, bestTo);
+    }
+
+    /**
+     * Given an integer array {@code a}, find its longest subarray whose sum is
+     * at most {@code k}. If no nonempty subarray qualifies, the result is the empty subarray.
+     * @param a The array to search the subarray in.
+     * @param k The upper limit for the sum.
+     * @return The earliest longest subarray whose sum is at most {@code k}, with its sum.
+     */
+    public static Subarray longestSubarrayWithSumAtMostShlemiel(int[] a, long k) {
+        long bestSum = 0;
+        int bestFrom = 0, bestTo = 0;
+        for(int i = 0; i < a.length; i++) {
+            long sum = 0;
+            for(int j = i; j < a.length; j++) {
+                sum += a[j];
+                if(sum <= k && j + 1 - i > bestTo - bestFrom) { bestSum = sum; bestFrom = i; bestTo = j + 1; }
+            }
+        }
+        return new Subarray(bestSum, bestFrom, bestTo);
+    }
+
+    /**
+     * Given an integer array {@code a}, find its longest subarray whose sum is
+     * at most {@code k}, in {@code O(n)} time even when the array contains negative elements.
+     * In terms of the prefix sums {@code P}, the task is to find {@code i <= j} with
+     * {@code P[j] - P[i] <= k} that maximize {@code j - i}. Only a start {@code i} whose
+     * prefix sum is larger than all earlier prefix sums, and only an end {@code j} whose
+     * prefix sum is smaller than all later prefix sums can be part of the answer, so these
+     * two monotonic sequences can be scanned with two pointers. If no nonempty subarray
+     * qualifies, the result is the empty subarray.
+     * @param a The array to search the subarray in.
+     * @param k The upper limit for the sum.
+     * @return The earliest longest subarray whose sum is at most {@code k}, with its sum.
+     */
+    public static Subarray longestSubarrayWithSumAtMost(int[] a, long k) {
+        int n = a.length;
+        long[] prefix = new long[n + 1];
+        for(int i = 0; i < n; i++) { prefix[i+1] = prefix[i] + a[i]; }
+        // Running maximum of prefix sums from the left, running minimum from the right.
+        long[] leftMax = new long[n + 1], rightMin = new long[n + 1];
+        leftMax[0] = prefix[0];
+        for(int i = 1; i <= n; i++) { leftMax[i] = Math.max(leftMax[i-1], prefix[i]); }
+        rightMin[n] = prefix[n];
+        for(int i = n - 1; i >= 0; i--) { rightMin[i] = Math.min(rightMin[i+1], prefix[i]); }
+        int bestFrom = 0, bestTo = 0;
+        int i = 0, j = 0;
+        while(i <= n && j <= n) {
+            if(rightMin[j] - leftMax[i] <= k) {
+                // Some end at or after j works with some start at or before i.
+                if(j - i > bestTo - bestFrom) { bestFrom = i; bestTo = j; }
+                j++;
+            }
+            else { i++; }
+        }
+        // The monotone sequences give the length, so find the earliest position of that length.
+        int len = bestTo - bestFrom;
+        for(int from = 0; len > 0 && from + len <= n; from++) {
+            if(prefix[from + len] - prefix[from] <= k) {
+                return new Subarray(prefix[from + len] - prefix[from], from, from + len);
+            }
+        }
+        return new Subarray(0, 0, 0);
+    }
+
+    // Summary of a chunk for the parallel maximum sum subarray.
+    private static final class Summary {
+        long total;
+        long prefix; int prefixTo;               // Best sum of a nonempty prefix, a[from..prefixTo-1].
+        long suffix; int suffixFrom;             // Best sum of a nonempty suffix, a[suffixFrom..to-1].
+        long best; int bestFrom, bestTo;         // Best sum of any nonempty subarray.
+    }
+
+    private static Summary summarize(int[] a, int from, int to) {
+        Summary s = new Summary();
+        s.prefix = Long.MIN_VALUE;
+        long sum = 0;
+        for(int i = from; i < to; i++) {
+            sum += a[i];
+            if(sum > s.prefix) { s.prefix = sum; s.prefixTo = i + 1; }
+        }
+        s.total = sum;
+        s.suffix = Long.MIN_VALUE;
+        sum = 0;
+        for(int i = to - 1; i >= from; i--) {
+            sum += a[i];
+            if(sum > s.suffix) { s.suffix = sum; s.suffixFrom = i; }
+        }
+        long curr = 0;
+        int currFrom = from;
+        s.best = Long.MIN_VALUE;
+        for(int i = from; i < to; i++) {
+            if(curr <= 0) { curr = a[i]; currFrom = i; }
+            else { curr += a[i]; }
+            if(curr > s.best) { s.best = curr; s.bestFrom = currFrom; s.bestTo = i + 1; }
+        }
+        return s;
+    }
+
+    // Combine the summaries of two adjacent chunks, left one ending where right one begins.
+    private static Summary combine(Summary left, Summary right) {
+        Summary s = new Summary();
+        s.total = left.total + right.total;
+        // The best prefix either stays inside the left chunk, or covers it entirely.
+        if(left.total + right.prefix > left.prefix) { s.prefix = left.total + right.prefix; s.prefixTo = right.prefixTo; }
+        else { s.prefix = left.prefix; s.prefixTo = left.prefixTo; }
+        // Symmetrically for the best suffix.
+        if(right.total + left.suffix > right.suffix) { s.suffix = right.total + left.suffix; s.suffixFrom = left.suffixFrom; }
+        else { s.suffix = right.suffix; s.suffixFrom = right.suffixFrom; }
+        // The best subarray is inside either chunk, or crosses the boundary between them.
+        s.best = left.best; s.bestFrom = left.bestFrom; s.bestTo = left.bestTo;
+        if(left.suffix + right.prefix > s.best) {
+            s.best = left.suffix + right.prefix; s.bestFrom = left.suffixFrom; s.bestTo = right.prefixTo;
+        }
+        if(right.best > s.best) { s.best = right.best; s.bestFrom = right.bestFrom; s.bestTo = right.bestTo; }
+        return s;
+    }
+
+    @SuppressWarnings("serial")
+    private static class SummaryTask extends RecursiveTask<Summary> {
+        private final int[] a;
+        private final int from, to, threshold;
+
+        public SummaryTask(int[] a, int from, int to, int threshold) {
+            this.a = a; this.from = from; this.to = to; this.threshold = threshold;
+        }
+
+        @Override protected Summary compute() {
+            if(to - from <= threshold) { return summarize(a, from, to); }
+            int mid = (from + to) >>> 1;
+            SummaryTask left = new SummaryTask(a, from, mid, threshold);
+            left.fork();
+            Summary right = new SummaryTask(a, mid, to, threshold).compute();
+            return combine(left.join(), right);
+        }
+    }
+
+    /**
+     * Parallel version of {@link #maxSumSubarray(int[])}. Each chunk of the array is
+     * summarized by its total, its best prefix, its best suffix and its best subarray, and
+     * these four quantities of two adjacent chunks combine into those of the union.
+     * @param a The array to search the subarray in.
+     * @return A subarray with the largest sum.
+     */
+    public static Subarray parallelMaxSumSubarray(int[] a) {
+        return parallelMaxSumSubarray(a, THRESHOLD);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    static Subarray parallelMaxSumSubarray(int[] a, int threshold) {
+        checkNonEmpty(a);
+        Summary s = new SummaryTask(a, 0, a.length, Math.max(1, threshold)).invoke();
+        return new Subarray(s.best, s.bestFrom, s.bestTo);
+    }
+}
@@ -0,0 +1,385 @@
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Measurements of the memory used by {@code DLList} compared to the list structures of
+ * the standard library. The retained size of a structure is estimated by walking the graph
+ * of objects reachable from it by reflection, and adding up the size of each object from
+ * the object layout of the running HotSpot virtual machine: the object header, the fields
+ * of the class and its superclasses packed together, and the padding to the object alignment.
+ * The allocation of a workload is measured with the per thread allocation counter of
+ * {@code com.sun.management.ThreadMXBean}.
+ *
+ * The private fields of the standard library can be read only when its package is opened
+ * for reflection, for example by running with {@code --add-opens java.base/java.util=ALL-UNNAMED}.
+ * Otherwise the objects behind such fields are not reached, and the measured footprint is
+ * marked incomplete.
+ */
+public class MemoryFootprint {
+
+    /**
+     * The sizes of the parts of objects in the running virtual machine.
+     */
+    private static final class Layout {
+        static final int REFERENCE, HEADER, ARRAY_HEADER, ALIGNMENT;
+
+        static {
+            boolean oops = true, klass = true;
+            int alignment = 8;
+            try {
+                HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+                oops = Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+                klass = Boolean.parseBoolean(bean.getVMOption("UseCompressedClassPointers").getValue());
+                alignment = Integer.parseInt(bean.getVMOption("ObjectAlignmentInBytes").getValue());
+            }
+            catch(RuntimeException e) {
+                // Not a HotSpot virtual machine, so assume the defaults of a heap under 32 GB.
+            }
+            REFERENCE = oops ? 4 : 8;
+            // The mark word is followed by the class pointer, and in arrays, the length.
+            HEADER = 8 + (klass ? 4 : 8);
+            ARRAY_HEADER = klass ? 16 : 24;
+            ALIGNMENT = alignment;
+        }
+    }
+
+    /**
+     * The estimated memory used by a graph of objects.
+     */
+    public static final class Footprint {
+        private final long bytes, objects;
+        private final boolean complete;
+
+        private Footprint(long bytes, long objects, boolean complete) {
+            this.bytes = bytes;
+            this.objects = objects;
+            this.complete = complete;
+        }
+
+        /**
+         * Return the total size of the objects in bytes.
+         * @return The total size.
+         */
+        public long getBytes() { return bytes; }
+
+        /**
+         * Return the number of objects, arrays included.
+         * @return The number of objects.
+         */
+        public long getObjects() { return objects; }
+
+        /**
+         * Determine whether every field on the way could be read, so that no reachable
+         * object was missed.
+         * @return Whether the footprint is complete.
+         */
+        public boolean isComplete() { return complete; }
+
+        @Override public String toString() {
+            return bytes + " bytes in " + objects + " objects" + (complete ? "" : " (incomplete)");
+        }
+    }
+
+    // The shallow size and the readable reference fields of a class, computed once per class.
+    private static final class ClassInfo {
+        final long size;
+        final Field[] references;
+        final boolean complete;
+
+        ClassInfo(Class<?> c) {
+            long fieldBytes = 0;
+            boolean complete = true;
+            List<Field> references = new ArrayList<>();
+            for(Class<?> k = c; k != null; k = k.getSuperclass()) {
+                for(Field f: k.getDeclaredFields()) {
+                    if(Modifier.isStatic(f.getModifiers())) { continue; }
+                    fieldBytes += fieldSize(f.getType());
+                    if(!f.getType().isPrimitive()) {
+                        boolean accessible;
+                        try { accessible = f.trySetAccessible(); }
+                        catch(SecurityException e) { accessible = false; }
+                        if(accessible) { references.add(f); } else { complete = false; }
+                    }
+                }
+            }
+            // The virtual machine packs the fields of all classes together, filling the gaps
+            // left by the alignment of the wide fields with the narrower fields, so that only
+            // the padding at the end of the object is wasted, except in rare cases.
+            this.size = align(Layout.HEADER + fieldBytes);
+            this.references = references.toArray(new Field[0]);
+            this.complete = complete;
+        }
+    }
+
+    private static final Map<Class<?>, ClassInfo> CLASSES = new ConcurrentHashMap<>();
+
+    /**
+     * Estimate the size of the given object alone, without the objects it refers to.
+     * @param o The object to measure.
+     * @return The size of the object in bytes.
+     */
+    public static long shallowSize(Object o) {
+        Class<?> c = o.getClass();
+        if(c.isArray()) {
+            return align(Layout.ARRAY_HEADER + (long)Array.getLength(o) * fieldSize(c.getComponentType()));
+        }
+        return CLASSES.computeIfAbsent(c, ClassInfo::new).size;
+    }
+
+    /**
+     * Estimate the total size of all objects reachable from the given root, counting each
+     * object once. The shared {@code Class} objects are not counted.
+     * @param root The object to measure.
+     * @return The footprint of the object graph.
+     */
+    public static Footprint measure(Object root) {
+        return measure(root, o -> false);
+    }
+
+    /**
+     * Estimate the total size of all objects reachable from the given root without going
+     * through an object on the boundary, for example to measure a collection without its
+     * elements. The objects on the boundary are not counted either, except for the root.
+     * @param root The object to measure.
+     * @param boundary The predicate that tells which objects are outside the measured graph.
+     * @return The footprint of the object graph.
+     */
+    public static Footprint measure(Object root, Predicate<Object> boundary) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        // An explicit stack, since the graph of a long linked list is deeper than the call stack.
+        ArrayDeque<Object> stack = new ArrayDeque<>();
+        long bytes = 0, objects = 0;
+        boolean complete = true;
+        seen.add(root);
+        stack.push(root);
+        while(!stack.isEmpty()) {
+            Object o = stack.pop();
+            bytes += shallowSize(o);
+            objects++;
+            List<Object> next = new ArrayList<>();
+            Class<?> c = o.getClass();
+            if(c.isArray()) {
+                if(!c.getComponentType().isPrimitive()) {
+                    for(int i = 0; i < Array.getLength(o); i++) { next.add(Array.get(o, i)); }
+                }
+            }
+            else if(c == String.class && !CLASSES.computeIfAbsent(c, ClassInfo::new).complete) {
+                // Strings are too common to leave out, so estimate their hidden byte array
+                // from their characters, one byte each when they all fit in Latin-1.
+                String str = (String)o;
+                boolean latin1 = str.chars().allMatch(ch -> ch < 256);
+                bytes += align(Layout.ARRAY_HEADER + (long)str.length() * (latin1 ? 1 : 2));
+                objects++;
+            }
+            else {
+                ClassInfo info = CLASSES.computeIfAbsent(c, ClassInfo::new);
+                complete &= info.complete;
+                for(Field f: info.references) {
+                    try { next.add(f.get(o)); }
+                    catch(IllegalAccessException e) { complete = false; }
+                }
+            }
+            for(Object e: next) {
+                if(e != null && !(e instanceof Class) && !boundary.test(e) && seen.add(e)) { stack.push(e); }
+            }
+        }
+        return new Footprint(bytes, objects, complete);
+    }
+
+    /**
+     * Measure the number of bytes that the current thread allocates while running the
+     * given action.
+     * @param action The action to run.
+     * @return The number of bytes allocated, or -1 if the virtual machine cannot measure it.
+     */
+    public static long allocatedBytes(Runnable action) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean)) { action.run(); return -1; }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+        if(!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) { action.run(); return -1; }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * The list structures that are compared, each adapted to the operations of a queue.
+     */
+    private abstract static class Structure {
+        abstract Object root();
+        abstract void insertBack(Object key);
+        abstract void removeFront();
+        abstract void removeBack();
+    }
+
+    // The compared structures in the order of the reports, created by their names.
+    private static final Map<String, Supplier<Structure>> STRUCTURES = new LinkedHashMap<>();
+
+    static {
+        STRUCTURES.put("DLList", () -> new Structure() {
+            final DLList<Object> list = new DLList<>();
+            Object root() { return list; }
+            void insertBack(Object key) { list.insertBack(key); }
+            void removeFront() { list.removeFront(); }
+            void removeBack() { list.removeBack(); }
+        });
+        STRUCTURES.put("ArrayList", () -> new Structure() {
+            final ArrayList<Object> list = new ArrayList<>();
+            Object root() { return list; }
+            void insertBack(Object key) { list.add(key); }
+            void removeFront() { list.remove(0); }
+            void removeBack() { list.remove(list.size() - 1); }
+        });
+        STRUCTURES.put("ArrayDeque", () -> new Structure() {
+            final ArrayDeque<Object> deque = new ArrayDeque<>();
+            Object root() { return deque; }
+            void insertBack(Object key) { deque.addLast(key); }
+            void removeFront() { deque.removeFirst(); }
+            void removeBack() { deque.removeLast(); }
+        });
+        STRUCTURES.put("LinkedList", () -> new Structure() {
+            final LinkedList<Object> list = new LinkedList<>();
+            Object root() { return list; }
+            void insertBack(Object key) { list.addLast(key); }
+            void removeFront() { list.removeFirst(); }
+            void removeBack() { list.removeLast(); }
+        });
+    }
+
+    // The key types of the footprint table, each creating its i:th key. The Integer keys
+    // start past the cache of Integer.valueOf, so that each key is a separate object.
+    private static final Map<String, IntFunction<Object>> KEYS = new LinkedHashMap<>();
+
+    static {
+        KEYS.put("Integer", i -> Integer.valueOf(1000 + i));
+        KEYS.put("Long", i -> Long.valueOf(1000L + i));
+        KEYS.put("String", i -> "key" + i);
+    }
+
+    /**
+     * Create a table of the footprints of each structure filled with the given number of
+     * keys of each type, one element at a time. The table shows the total size and the size
+     * per element, both with the keys and for the structure alone. The last column shows
+     * the bytes allocated per element while filling the structure, which does not need any
+     * reflection, and which also includes the arrays that were discarded when growing.
+     * @param sizes The numbers of elements.
+     * @return The table as text.
+     */
+    public static String footprintTable(int[] sizes) {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%-12s %-8s %10s %14s %12s %12s %12s%n",
+                "structure", "keys", "n", "bytes", "per element", "without key", "allocated"));
+        for(Map.Entry<String, Supplier<Structure>> s: STRUCTURES.entrySet()) {
+            for(Map.Entry<String, IntFunction<Object>> k: KEYS.entrySet()) {
+                for(int n: sizes) {
+                    Object[] keys = new Object[n];
+                    for(int i = 0; i < n; i++) { keys[i] = k.getValue().apply(i); }
+                    // A first fill that is not measured initializes the classes that it needs.
+                    Structure warmup = s.getValue().get();
+                    for(Object key: keys) { warmup.insertBack(key); }
+                    Structure structure = s.getValue().get();
+                    long allocated = allocatedBytes(() -> { for(Object key: keys) { structure.insertBack(key); } });
+                    Class<?> keyClass = n > 0 ? keys[0].getClass() : Void.class;
+                    Footprint all = measure(structure.root());
+                    Footprint alone = measure(structure.root(), o -> o.getClass() == keyClass);
+                    double per = Math.max(1, n);
+                    result.append(String.format("%-12s %-8s %10d %14d %12.2f %12.2f %12.2f%s%n", s.getKey(), k.getKey(), n,
+                            all.getBytes(), all.getBytes() / per, alone.getBytes() / per, allocated / per,
+                            all.isComplete() ? "" : "  incomplete"));
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    // A workload that performs the given number of operations on a structure with the
+    // given keys, keeping the size of the structure unchanged.
+    private interface Workload {
+        void run(Structure s, int operations, Object[] keys);
+    }
+
+    private static final Map<String, Workload> WORKLOADS = new LinkedHashMap<>();
+
+    static {
+        WORKLOADS.put("queue", (s, operations, keys) -> {
+            for(int i = 0; i < operations; i++) { s.insertBack(keys[i % keys.length]); s.removeFront(); }
+        });
+        WORKLOADS.put("stack", (s, operations, keys) -> {
+            for(int i = 0; i < operations; i++) { s.insertBack(keys[i % keys.length]); s.removeBack(); }
+        });
+    }
+
+    /**
+     * Create a table of the allocation of each structure in each workload, where each
+     * operation inserts one element to the end of a structure of the given size and then
+     * removes one element from its front or from its end. The keys exist before the workload
+     * starts, so that only the allocations of the structure itself are counted.
+     * @param sizes The numbers of elements in the structure during the workload.
+     * @param operations The number of operations in each workload.
+     * @return The table as text.
+     */
+    public static String allocationTable(int[] sizes, int operations) {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%-12s %-8s %10s %14s %12s %12s%n", "structure", "workload", "n", "bytes", "per op", "MB/s"));
+        for(Map.Entry<String, Supplier<Structure>> s: STRUCTURES.entrySet()) {
+            for(Map.Entry<String, Workload> w: WORKLOADS.entrySet()) {
+                for(int n: sizes) {
+                    Object[] keys = new Object[Math.max(1, n)];
+                    for(int i = 0; i < keys.length; i++) { keys[i] = Integer.valueOf(1000 + i); }
+                    Structure structure = s.getValue().get();
+                    for(int i = 0; i < n; i++) { structure.insertBack(keys[i]); }
+                    Workload workload = w.getValue();
+                    workload.run(structure, operations, keys); // Warm up the JIT compiler first.
+                    long start = System.nanoTime();
+                    long bytes = allocatedBytes(() -> workload.run(structure, operations, keys));
+                    double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+                    result.append(String.format("%-12s %-8s %10d %14d %12.2f %12.2f%n", s.getKey(), w.getKey(), n,
+                            bytes, (double)bytes / operations, bytes / seconds / 1e6));
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Print the footprint and allocation tables. Run with
+     * {@code --add-opens java.base/java.util=ALL-UNNAMED} to measure the standard library
+     * structures completely.
+     * @param args The command line arguments, not used.
+     */
+    public static void main(String[] args) {
+        System.out.print(footprintTable(new int[] {10, 1000, 100_000}));
+        System.out.println();
+        System.out.print(allocationTable(new int[] {100, 10_000}, 100_000));
+    }
+
+    // The size of a field or an array element of the given type.
+    private static int fieldSize(Class<?> type) {
+        if(type == long.class || type == double.class) { return 8; }
+        if(type == int.class || type == float.class) { return 4; }
+        if(type == short.class || type == char.class) { return 2; }
+        if(type == byte.class || type == boolean.class) { return 1; }
+        return Layout.REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + Layout.ALIGNMENT - 1) / Layout.ALIGNMENT * Layout.ALIGNMENT;
+    }
+}
@@ -0,0 +1,215 @@
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sink for the operation counts of the instrumented versions of the searches in
+ * {@code ArraySearchDemo} and the operations of {@code DLList}. Each instrumented call counts
+ * its work in local variables, and records these counts here once when it returns. For each
+ * operation and each counter, the sink keeps the total, the maximum and a histogram of the
+ * counts per call with power of two buckets. All of these are striped {@code LongAdder} and
+ * {@code LongAccumulator} cells, so that threads recording into the same sink do not contend
+ * for the same memory location.
+ *
+ * Instrumentation is opt-in. Each instrumented operation has only one implementation, which
+ * takes the sink as its last argument and records into it only if the sink is not
+ * {@code null}. The original overload without the sink passes {@code null}, so that it only
+ * pays for the null checks of the counting. {@code MetricsBenchmark} compares both against
+ * the uninstrumented code.
+ */
+public class Metrics {
+
+    /**
+     * The kinds of work that are counted.
+     */
+    public enum Counter {
+        /** Comparisons of keys, including the evaluations of a predicate. */
+        COMPARISONS,
+        /** Comparisons of an index against the array bounds or another index. */
+        BOUNDS_CHECKS,
+        /** Reads and writes of array elements. */
+        PROBES,
+        /** Moves from a list node to its neighbour. */
+        NODE_HOPS,
+        /** Objects allocated. */
+        ALLOCATIONS
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+
+    // Bucket b of the histogram counts the calls whose count c has 64 - nlz(c) == b,
+    // that is, bucket 0 holds c == 0 and bucket b > 0 holds 2^(b-1) <= c < 2^b.
+    private static final int BUCKETS = 65;
+
+    // The statistics of one operation.
+    private static final class Stats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder[] totals = new LongAdder[COUNTERS.length];
+        final LongAccumulator[] maxima = new LongAccumulator[COUNTERS.length];
+        final LongAdder[][] histograms = new LongAdder[COUNTERS.length][BUCKETS];
+
+        Stats() {
+            for(int c = 0; c < COUNTERS.length; c++) {
+                totals[c] = new LongAdder();
+                maxima[c] = new LongAccumulator(Math::max, 0);
+                for(int b = 0; b < BUCKETS; b++) { histograms[c][b] = new LongAdder(); }
+            }
+        }
+
+        // The calls whose count is zero change neither the total nor the maximum, and are
+        // left out of bucket 0 of the histogram, which is recovered from the number of calls.
+        void add(int c, long count) {
+            if(count == 0) { return; }
+            totals[c].add(count);
+            maxima[c].accumulate(count);
+            histograms[c][64 - Long.numberOfLeadingZeros(count)].increment();
+        }
+    }
+
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Record the counts of one call of the given operation. The operation name should be a
+     * constant, since building a new string for every call would cost more than recording.
+     * @param operation The name of the operation.
+     * @param comparisons The number of key comparisons.
+     * @param boundsChecks The number of index comparisons.
+     * @param probes The number of array element reads and writes.
+     * @param nodeHops The number of moves between list nodes.
+     * @param allocations The number of objects allocated.
+     */
+    public void record(String operation, long comparisons, long boundsChecks, long probes, long nodeHops, long allocations) {
+        // A plain get finds the operation without locking in every call but the first.
+        Stats s = stats.get(operation);
+        if(s == null) { s = stats.computeIfAbsent(operation, k -> new Stats()); }
+        s.calls.increment();
+        s.add(Counter.COMPARISONS.ordinal(), comparisons);
+        s.add(Counter.BOUNDS_CHECKS.ordinal(), boundsChecks);
+        s.add(Counter.PROBES.ordinal(), probes);
+        s.add(Counter.NODE_HOPS.ordinal(), nodeHops);
+        s.add(Counter.ALLOCATIONS.ordinal(), allocations);
+    }
+
+    /**
+     * Return the names of the operations recorded so far, in alphabetical order.
+     * @return The names of the recorded operations.
+     */
+    public Iterable<String> operations() { return new TreeMap<>(stats).keySet(); }
+
+    /**
+     * Return the number of recorded calls of the given operation.
+     * @param operation The name of the operation.
+     * @return The number of calls.
+     */
+    public long getCalls(String operation) {
+        Stats s = stats.get(operation);
+        return s == null ? 0 : s.calls.sum();
+    }
+
+    /**
+     * Return the total count of the given counter over all calls of the given operation.
+     * @param operation The name of the operation.
+     * @param counter The counter.
+     * @return The total count.
+     */
+    public long getTotal(String operation, Counter counter) {
+        Stats s = stats.get(operation);
+        return s == null ? 0 : s.totals[counter.ordinal()].sum();
+    }
+
+    /**
+     * Return the largest count of the given counter in one call of the given operation.
+     * @param operation The name of the operation.
+     * @param counter The counter.
+     * @return The largest count in one call.
+     */
+    public long getMax(String operation, Counter counter) {
+        Stats s = stats.get(operation);
+        return s == null ? 0 : s.maxima[counter.ordinal()].get();
+    }
+
+    /**
+     * Return an upper bound for the given percentile of the counts per call, accurate to
+     * the power of two bucket of the histogram that contains the percentile.
+     * @param operation The name of the operation.
+     * @param counter The counter.
+     * @param p The percentile as a fraction between 0 and 1.
+     * @return The upper bound of the bucket of the percentile, 0 if there are no calls.
+     */
+    public long getPercentile(String operation, Counter counter, double p) {
+        Stats s = stats.get(operation);
+        if(s == null) { return 0; }
+        LongAdder[] histogram = s.histograms[counter.ordinal()];
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for(int b = 1; b < BUCKETS; b++) { counts[b] = histogram[b].sum(); total += counts[b]; }
+        counts[0] = Math.max(0, s.calls.sum() - total);
+        total += counts[0];
+        long seen = 0;
+        for(int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if(seen > 0 && seen >= p * total) {
+                // The largest count in bucket b, which is also never more than the maximum.
+                long bound = b == 0 ? 0 : b == 64 ? Long.MAX_VALUE : (1L << b) - 1;
+                return Math.min(bound, s.maxima[counter.ordinal()].get());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forget everything recorded so far.
+     */
+    public void reset() { stats.clear(); }
+
+    /**
+     * Create a report of the recorded counts as a text table with one line per operation
+     * and counter, leaving out the counters that were zero in every call.
+     * @return The report as text.
+     */
+    public String toText() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%-32s %-14s %10s %14s %12s %10s %10s %10s%n",
+                "operation", "counter", "calls", "total", "mean", "p50", "p99", "max"));
+        forEachRow((operation, counter, calls, total) -> result.append(String.format("%-32s %-14s %10d %14d %12.2f %10d %10d %10d%n",
+                operation, counter, calls, total, (double)total / calls, getPercentile(operation, counter, 0.5),
+                getPercentile(operation, counter, 0.99), getMax(operation, counter))));
+        return result.toString();
+    }
+
+    /**
+     * Create a report of the recorded counts in CSV format with a header line, one line per
+     * operation and counter.
+     * @return The report in CSV format.
+     */
+    public String toCsv() {
+        StringBuilder result = new StringBuilder("operation,counter,calls,total,mean,p50,p90,p99,max\n");
+        forEachRow((operation, counter, calls, total) -> result.append(operation).append(',').append(counter)
+                .append(',').append(calls).append(',').append(total).append(',').append((double)total / calls)
+                .append(',').append(getPercentile(operation, counter, 0.5))
+                .append(',').append(getPercentile(operation, counter, 0.9))
+                .append(',').append(getPercentile(operation, counter, 0.99))
+                .append(',').append(getMax(operation, counter)).append('\n'));
+        return result.toString();
+    }
+
+    // Consumer of one row of the report.
+    private interface RowConsumer {
+        void accept(String operation, Counter counter, long calls, long total);
+    }
+
+    private void forEachRow(RowConsumer action) {
+        for(Map.Entry<String, Stats> entry: new TreeMap<>(stats).entrySet()) {
+            long calls = entry.getValue().calls.sum();
+            for(Counter counter: COUNTERS) {
+                if(calls > 0 && getMax(entry.getKey(), counter) > 0) {
+                    action.accept(entry.getKey(), counter, calls, getTotal(entry.getKey(), counter));
+                }
+            }
+        }
+    }
+
+    @Override public String toString() { return toText(); }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel version of the Boyer-Moore majority vote of {@code Shlemiel.hasMajorityLinear}.
+ * The state of the vote after any subarray is a pair (candidate, weight), and two such pairs
+ * of adjacent subarrays can be merged as if the second subarray consisted of weight copies
+ * of its candidate. The array can therefore be split into partitions that vote in parallel.
+ */
+public class ParallelMajority {
+
+    // Subarrays at most this long vote sequentially.
+    private static final int THRESHOLD = 1 << 14;
+
+    // The state of the Boyer-Moore vote after some subarray.
+    private static final class Vote {
+        private final int candidate;
+        private final long weight;
+
+        public Vote(int candidate, long weight) {
+            this.candidate = candidate;
+            this.weight = weight;
+        }
+
+        // The survivors of each side cancel each other out pairwise, same as in the sequential vote.
+        public Vote merge(Vote other) {
+            if(candidate == other.candidate) { return new Vote(candidate, weight + other.weight); }
+            if(weight >= other.weight) { return new Vote(candidate, weight - other.weight); }
+            return new Vote(other.candidate, other.weight - weight);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class VoteTask extends RecursiveTask<Vote> {
+        private final int[] items;
+        private final int lo, hi, threshold;
+
+        public VoteTask(int[] items, int lo, int hi, int threshold) {
+            this.items = items; this.lo = lo; this.hi = hi; this.threshold = threshold;
+        }
+
+        @Override protected Vote compute() {
+            if(hi - lo <= threshold) {
+                int candidate = 0;
+                long edge = 0;
+                for(int i = lo; i < hi; i++) {
+                    int e = items[i];
+                    if(edge == 0) { candidate = e; edge = 1; }
+                    else { edge += (candidate == e ? +1 : -1); }
+                }
+                return new Vote(candidate, edge);
+            }
+            int mid = (lo + hi) >>> 1;
+            VoteTask left = new VoteTask(items, lo, mid, threshold);
+            left.fork();
+            Vote right = new VoteTask(items, mid, hi, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Find the strict majority element of the array {@code items}, if one exists.
+     * @param items The array from which the look for the majority element.
+     * @return The majority element, or an empty result if there is no majority element.
+     */
+    public static OptionalInt findMajority(int[] items) {
+        return findMajority(items, THRESHOLD);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    static OptionalInt findMajority(int[] items, int threshold) {
+        if(items.length == 0) { return OptionalInt.empty(); }
+        Vote vote = new VoteTask(items, 0, items.length, threshold).invoke();
+        if(vote.weight == 0) { return OptionalInt.empty(); } // Everybody cancelled out.
+        // As in the sequential version, verify the candidate, this time in parallel.
+        int candidate = vote.candidate;
+        long count = Arrays.stream(items).parallel().filter(e -> e == candidate).count();
+        return count * 2 > items.length ? OptionalInt.of(candidate) : OptionalInt.empty();
+    }
+
+    /**
+     * Determine whether the array {@code items} contains a strict majority element.
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean parallelHasMajority(int[] items) {
+        return findMajority(items).isPresent();
+    }
+}
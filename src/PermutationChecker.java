@@ -0,0 +1,109 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * More economical versions of {@code Shlemiel.containsAllNumbersLinear} that determine
+ * whether an {@code n}-element array contains each number from 1 to {@code n} exactly once.
+ * Instance of this class keeps its bitset between calls so that repeated checks do not need
+ * to allocate new memory. Instances are not safe to use from several threads at once.
+ */
+public class PermutationChecker {
+
+    // Arrays at least this long are checked in parallel by the parallel version.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // Scratch bitset reused between calls, all zeros between calls.
+    private long[] seen = new long[0];
+
+    /**
+     * Given an {@code n}-element integer array, determine whether it contains each number
+     * from 1 to {@code n} exactly once. The bitset of already seen values uses one bit per
+     * value, instead of one byte per value as in a {@code boolean[]} array.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersBitset(int[] a, int n) {
+        if(a.length != n) { return false; }
+        long[] seen = new long[(n >> 6) + 1];
+        return markAll(a, n, seen);
+    }
+
+    // Mark the values of a in the bitset, stopping at the first illegal or repeated value.
+    private static boolean markAll(int[] a, int n, long[] seen) {
+        for(int e: a) {
+            if(e < 1 || e > n) { return false; }
+            long mask = 1L << e; // Shift distance is taken modulo 64 automatically.
+            if((seen[e >> 6] & mask) != 0) { return false; }
+            seen[e >> 6] |= mask;
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #containsAllNumbersBitset(int[], int)}, but reuses the bitset of this
+     * checker so that a series of checks allocates memory only when {@code n} grows.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public boolean containsAllNumbers(int[] a, int n) {
+        if(a.length != n) { return false; }
+        int words = (n >> 6) + 1;
+        if(seen.length < words) { seen = new long[words]; }
+        boolean result = markAll(a, n, seen);
+        // Clean up only the part of the bitset that this call could have touched.
+        for(int i = 0; i < words; i++) { seen[i] = 0; }
+        return result;
+    }
+
+    /**
+     * Given an {@code n}-element integer array, determine whether it contains each number
+     * from 1 to {@code n} exactly once, using only {@code O(1)} extra memory. The sign bits
+     * of the array elements themselves are used as the bitset of already seen values, which
+     * is possible after verifying that all elements are positive. The array is temporarily
+     * modified, but its original contents are restored before returning.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersInPlace(int[] a, int n) {
+        if(a.length != n) { return false; }
+        // First pass verifies that all values are within range, and thus positive.
+        for(int e: a) {
+            if(e < 1 || e > n) { return false; }
+        }
+        // Second pass marks value v as seen by flipping the sign of the element a[v-1].
+        boolean result = true;
+        for(int i = 0; i < n; i++) {
+            int v = Math.abs(a[i]); // The element itself may have already been marked.
+            if(a[v-1] < 0) { result = false; break; }
+            a[v-1] = -a[v-1];
+        }
+        // Third pass restores the original elements.
+        for(int i = 0; i < n; i++) {
+            a[i] = Math.abs(a[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Parallel version of {@link #containsAllNumbersBitset(int[], int)} for large arrays. The
+     * threads share one bitset whose words are updated with atomic operations.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersParallel(int[] a, int n) {
+        if(a.length < PARALLEL_THRESHOLD) { return containsAllNumbersBitset(a, n); }
+        if(a.length != n) { return false; }
+        AtomicLongArray seen = new AtomicLongArray((n >> 6) + 1);
+        // The allMatch operation stops all threads once any one of them finds a bad element.
+        return IntStream.range(0, a.length).parallel().allMatch(i -> {
+            int e = a[i];
+            if(e < 1 || e > n) { return false; }
+            long mask = 1L << e;
+            return (seen.getAndAccumulate(e >> 6, mask, (x, y) -> x | y) & mask) == 0;
+        });
+    }
+}
@@ -0,0 +1,232 @@
+import java.util.Arrays;
+
+/**
+ * Immutable polynomial with {@code double} coefficients, built once so that the evaluation
+ * methods of {@code Shlemiel} do not need to be given the raw coefficient array each time.
+ * Coefficient {@code i} is the coefficient of the term {@code x^i}, same as in {@code Shlemiel}.
+ */
+public final class Polynomial {
+
+    /**
+     * Function that evaluates the polynomial given as its coefficient array at a point.
+     */
+    @FunctionalInterface
+    public interface Evaluator {
+        /**
+         * Evaluate the polynomial at the given point x.
+         * @param coefficients The coefficients of the polynomial.
+         * @param x The point in which to evaluate the polynomial.
+         * @return The value of the polynomial at point {@code x}.
+         */
+        double evaluate(double[] coefficients, double x);
+    }
+
+    /**
+     * The alternative algorithms to evaluate a polynomial, for comparing them to each other.
+     */
+    public enum Strategy {
+        SHLEMIEL(Shlemiel::evaluatePolynomialShlemiel),
+        LINEAR(Shlemiel::evaluatePolynomialLinear),
+        HORNER(Shlemiel::evaluatePolynomialHorner),
+        FMA(PolynomialBatch::evaluatePolynomialFma),
+        ESTRIN(PolynomialBatch::evaluatePolynomialEstrin);
+
+        private final Evaluator evaluator;
+
+        Strategy(Evaluator evaluator) { this.evaluator = evaluator; }
+
+        /**
+         * Return the function that implements this strategy.
+         * @return The function that implements this strategy.
+         */
+        public Evaluator getEvaluator() { return evaluator; }
+    }
+
+    // Polynomials of at least this many coefficients are multiplied with FFT.
+    private static final int FFT_THRESHOLD = 64;
+
+    // Never contains trailing zeros, so the zero polynomial has an empty array.
+    private final double[] coefficients;
+
+    /**
+     * Constructor to create a polynomial with the given coefficients. Trailing zero
+     * coefficients are removed so that the degree of the polynomial is well defined.
+     * @param coefficients The coefficients of the polynomial.
+     */
+    public Polynomial(double... coefficients) {
+        int n = coefficients.length;
+        while(n > 0 && coefficients[n-1] == 0) { n--; }
+        this.coefficients = Arrays.copyOf(coefficients, n);
+    }
+
+    /**
+     * Return the degree of this polynomial, or -1 for the zero polynomial.
+     * @return The degree of this polynomial.
+     */
+    public int degree() { return coefficients.length - 1; }
+
+    /**
+     * Return the coefficient of the term {@code x^i}.
+     * @param i The exponent of the term.
+     * @return The coefficient of the term, zero if {@code i} exceeds the degree.
+     */
+    public double coefficient(int i) {
+        if(i < 0) { throw new IllegalArgumentException("Exponent must be nonnegative, was " + i); }
+        return i < coefficients.length ? coefficients[i] : 0;
+    }
+
+    /**
+     * Return a copy of the coefficients of this polynomial.
+     * @return The array of coefficients.
+     */
+    public double[] coefficients() { return coefficients.clone(); }
+
+    /**
+     * Evaluate this polynomial at the given point x with Horner's rule.
+     * @param x The point in which to evaluate the polynomial.
+     * @return The value of the polynomial at point {@code x}.
+     */
+    public double evaluate(double x) {
+        return PolynomialBatch.evaluatePolynomialFma(coefficients, x);
+    }
+
+    /**
+     * Evaluate this polynomial at the given point x with the given strategy.
+     * @param x The point in which to evaluate the polynomial.
+     * @param strategy The evaluation algorithm to use.
+     * @return The value of the polynomial at point {@code x}.
+     */
+    public double evaluate(double x, Strategy strategy) {
+        return strategy.getEvaluator().evaluate(coefficients, x);
+    }
+
+    /**
+     * Evaluate both this polynomial and its derivative at the given point x in one pass of
+     * Horner's rule. Each step of the derivative chain uses the previous value of the main
+     * chain, as follows from the product rule applied to {@code p = p * x + c}.
+     * @param x The point in which to evaluate the polynomial.
+     * @return The two-element array of the value and the derivative at point {@code x}.
+     */
+    public double[] evaluateWithDerivative(double x) {
+        double p = 0, d = 0;
+        for(int i = coefficients.length - 1; i >= 0; i--) {
+            d = Math.fma(d, x, p);
+            p = Math.fma(p, x, coefficients[i]);
+        }
+        return new double[] {p, d};
+    }
+
+    /**
+     * Evaluate this polynomial at each of the given points, using the interleaved batch
+     * evaluation for large point sets.
+     * @param xs The points in which to evaluate the polynomial.
+     * @return The array of values of the polynomial at the given points.
+     */
+    public double[] evaluate(double[] xs) {
+        double[] out = new double[xs.length];
+        PolynomialBatch.parallelEvaluatePolynomialBatch(coefficients, xs, out);
+        return out;
+    }
+
+    /**
+     * Compute the derivative of this polynomial.
+     * @return The derivative polynomial.
+     */
+    public Polynomial derivative() {
+        if(coefficients.length <= 1) { return new Polynomial(); }
+        double[] result = new double[coefficients.length - 1];
+        for(int i = 1; i < coefficients.length; i++) {
+            result[i-1] = i * coefficients[i];
+        }
+        return new Polynomial(result);
+    }
+
+    /**
+     * Compute the product of this polynomial and the other polynomial. Small polynomials are
+     * multiplied with the schoolbook algorithm in {@code O(nm)} time, large polynomials with
+     * the fast Fourier transform in {@code O((n+m) log (n+m))} time.
+     * @param other The other polynomial.
+     * @return The product polynomial.
+     */
+    public Polynomial multiply(Polynomial other) {
+        double[] a = this.coefficients, b = other.coefficients;
+        if(a.length == 0 || b.length == 0) { return new Polynomial(); }
+        if(Math.min(a.length, b.length) < FFT_THRESHOLD) { return new Polynomial(multiplySchoolbook(a, b)); }
+        return new Polynomial(multiplyFFT(a, b));
+    }
+
+    static double[] multiplySchoolbook(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        for(int i = 0; i < a.length; i++) {
+            for(int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return result;
+    }
+
+    static double[] multiplyFFT(double[] a, double[] b) {
+        int len = a.length + b.length - 1;
+        int n = Integer.highestOneBit(len);
+        if(n < len) { n <<= 1; }
+        // Pack a into the real parts and b into the imaginary parts. Squaring the transform
+        // of a + ib gives the transform of (a + ib)^2, whose imaginary part is 2ab, so that
+        // one forward and one inverse transform suffice for the entire product.
+        double[] re = Arrays.copyOf(a, n), im = Arrays.copyOf(b, n);
+        fft(re, im, false);
+        for(int i = 0; i < n; i++) {
+            double r = re[i], s = im[i];
+            re[i] = r * r - s * s;
+            im[i] = 2 * r * s;
+        }
+        fft(re, im, true);
+        double[] result = new double[len];
+        for(int i = 0; i < len; i++) {
+            result[i] = im[i] / (2 * n); // Imaginary part of (a + ib)^2 is 2ab.
+        }
+        return result;
+    }
+
+    // Iterative in-place radix-2 fast Fourier transform, unnormalized in both directions.
+    private static void fft(double[] re, double[] im, boolean inverse) {
+        int n = re.length;
+        // Reorder the elements into bit-reversed order of their indices.
+        for(int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for(; (j & bit) != 0; bit >>= 1) { j ^= bit; }
+            j ^= bit;
+            if(i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        // Combine the transforms of halves into transforms of twice the length.
+        for(int len = 2; len <= n; len <<= 1) {
+            double angle = 2 * Math.PI / len * (inverse ? 1 : -1);
+            for(int k = 0; k < len / 2; k++) {
+                // Computing each twiddle factor directly avoids accumulating rounding errors,
+                // and the same factor is used in every block of this length.
+                double wr = Math.cos(angle * k), wi = Math.sin(angle * k);
+                for(int i = 0; i < n; i += len) {
+                    int u = i + k, v = i + k + len / 2;
+                    double xr = re[v] * wr - im[v] * wi, xi = re[v] * wi + im[v] * wr;
+                    re[v] = re[u] - xr; im[v] = im[u] - xi;
+                    re[u] += xr; im[u] += xi;
+                }
+            }
+        }
+    }
+
+    @Override public boolean equals(Object other) {
+        return other instanceof Polynomial && Arrays.equals(coefficients, ((Polynomial)other).coefficients);
+    }
+
+    @Override public int hashCode() { return Arrays.hashCode(coefficients); }
+
+    /**
+     * Compute the String representation of this polynomial, its coefficients from the
+     * constant term up.
+     * @return The String representation of this polynomial.
+     */
+    @Override public String toString() { return "Polynomial" + Arrays.toString(coefficients); }
+}
@@ -0,0 +1,114 @@
+import java.util.stream.IntStream;
+
+/**
+ * Evaluating the same polynomial at many points. Horner's rule of
+ * {@code Shlemiel.evaluatePolynomialHorner} is a single chain of operations where each step
+ * must wait for the result of the previous step, so that the processor spends most of its
+ * time waiting for the floating point pipeline. Evaluating several independent chains side
+ * by side lets the processor overlap their operations in its pipeline.
+ */
+public class PolynomialBatch {
+
+    // Batches at least this long are evaluated in parallel by the parallel version.
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Evaluate the polynomial at each point {@code xs[i]} into {@code out[i]}. Four Horner
+     * chains proceed in lockstep, and each step uses a fused multiply-add that rounds only
+     * once, which is both faster and more accurate on processors that support it. (On
+     * processors without hardware support for fused multiply-add, {@code Math.fma} falls
+     * back to a much slower software emulation.)
+     * @param coefficients The coefficients of the polynomial.
+     * @param xs The points in which to evaluate the polynomial.
+     * @param out The array to write the values of the polynomial into.
+     */
+    public static void evaluatePolynomialBatch(double[] coefficients, double[] xs, double[] out) {
+        evaluatePolynomialBatch(coefficients, xs, out, 0, xs.length);
+    }
+
+    private static void evaluatePolynomialBatch(double[] coefficients, double[] xs, double[] out, int from, int to) {
+        if(out.length < xs.length) {
+            throw new IllegalArgumentException("Output array of length " + out.length + " too short for " + xs.length + " points");
+        }
+        int m = coefficients.length - 1;
+        int i = from;
+        for(; i + 3 < to; i += 4) {
+            double x0 = xs[i], x1 = xs[i+1], x2 = xs[i+2], x3 = xs[i+3];
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            // The four chains are independent, so their operations can overlap in the pipeline.
+            for(int j = m; j >= 0; j--) {
+                double c = coefficients[j];
+                s0 = Math.fma(s0, x0, c);
+                s1 = Math.fma(s1, x1, c);
+                s2 = Math.fma(s2, x2, c);
+                s3 = Math.fma(s3, x3, c);
+            }
+            out[i] = s0; out[i+1] = s1; out[i+2] = s2; out[i+3] = s3;
+        }
+        // Handle the leftover points one at a time.
+        for(; i < to; i++) {
+            out[i] = evaluatePolynomialFma(coefficients, xs[i]);
+        }
+    }
+
+    /**
+     * Evaluate the polynomial at the given point with Horner's rule, using a fused
+     * multiply-add in each step.
+     * @param coefficients The coefficients of the polynomial.
+     * @param x The point in which to evaluate the polynomial.
+     * @return The value of the polynomial at point {@code x}.
+     */
+    public static double evaluatePolynomialFma(double[] coefficients, double x) {
+        double sum = 0;
+        for(int i = coefficients.length - 1; i >= 0; i--) {
+            sum = Math.fma(sum, x, coefficients[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Evaluate the polynomial at the given point with Estrin's scheme, which finds
+     * parallelism inside a single evaluation. The coefficients are first combined pairwise
+     * into {@code c[i] + c[i+1] * x}, turning a polynomial of {@code n} coefficients in
+     * {@code x} into a polynomial of {@code n/2} coefficients in {@code x^2}. Repeating this
+     * makes the dependency chain {@code O(log n)} long instead of {@code O(n)}, since the
+     * combinations within one round are all independent of each other.
+     * @param coefficients The coefficients of the polynomial.
+     * @param x The point in which to evaluate the polynomial.
+     * @return The value of the polynomial at point {@code x}.
+     */
+    public static double evaluatePolynomialEstrin(double[] coefficients, double x) {
+        int n = coefficients.length;
+        if(n == 0) { return 0; }
+        double[] c = coefficients.clone();
+        double pow = x;
+        while(n > 1) {
+            int half = (n + 1) / 2;
+            for(int i = 0; i < n / 2; i++) {
+                c[i] = Math.fma(c[2*i + 1], pow, c[2*i]);
+            }
+            if(n % 2 == 1) { c[half - 1] = c[n - 1]; } // Odd man out carries over as is.
+            n = half;
+            pow = pow * pow;
+        }
+        return c[0];
+    }
+
+    /**
+     * Parallel version of {@link #evaluatePolynomialBatch(double[], double[], double[])}
+     * for huge batches of points, each thread evaluating its own slice of the points.
+     * @param coefficients The coefficients of the polynomial.
+     * @param xs The points in which to evaluate the polynomial.
+     * @param out The array to write the values of the polynomial into.
+     */
+    public static void parallelEvaluatePolynomialBatch(double[] coefficients, double[] xs, double[] out) {
+        if(xs.length < PARALLEL_THRESHOLD) {
+            evaluatePolynomialBatch(coefficients, xs, out);
+            return;
+        }
+        int slices = (xs.length + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        IntStream.range(0, slices).parallel().forEach(s ->
+                evaluatePolynomialBatch(coefficients, xs, out, s * PARALLEL_THRESHOLD,
+                        Math.min(xs.length, (s + 1) * PARALLEL_THRESHOLD)));
+    }
+}
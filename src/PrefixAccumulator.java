@@ -0,0 +1,199 @@
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Incremental version of {@code Shlemiel.accumulate} for input that arrives in chunks and
+ * is too large to materialize as one array. The accumulator carries the running total from
+ * one chunk to the next, so it never needs to hold more than the current chunk in memory.
+ */
+public class PrefixAccumulator {
+
+    /**
+     * Immutable snapshot of the state of the accumulator, to be restored later.
+     */
+    public static final class Checkpoint {
+        private final long total, count;
+
+        private Checkpoint(long total, long count) {
+            this.total = total;
+            this.count = count;
+        }
+
+        /**
+         * Create a checkpoint from a running total and element count that were saved earlier,
+         * for example from the getters of a checkpoint that was written to a file.
+         * @param total The running total.
+         * @param count The number of elements consumed.
+         * @return The checkpoint with the given total and count.
+         */
+        public static Checkpoint of(long total, long count) {
+            if(count < 0) { throw new IllegalArgumentException("Count must be nonnegative, was " + count); }
+            return new Checkpoint(total, count);
+        }
+
+        /**
+         * Return the running total at the time of this checkpoint.
+         * @return The running total at the time of this checkpoint.
+         */
+        public long getTotal() { return total; }
+
+        /**
+         * Return the number of elements consumed before this checkpoint.
+         * @return The number of elements consumed before this checkpoint.
+         */
+        public long getCount() { return count; }
+
+        @Override public String toString() { return "Checkpoint(" + total + " @ " + count + ")"; }
+    }
+
+    // The sum of all elements consumed so far, carried over to the next chunk.
+    private long total;
+
+    // The number of elements consumed so far.
+    private long count;
+
+    /**
+     * Default constructor of {@code PrefixAccumulator} that starts from zero.
+     */
+    public PrefixAccumulator() {}
+
+    /**
+     * Constructor of {@code PrefixAccumulator} that resumes from the given checkpoint.
+     * @param checkpoint The checkpoint to resume from.
+     */
+    public PrefixAccumulator(Checkpoint checkpoint) {
+        restore(checkpoint);
+    }
+
+    /**
+     * Add a single element to the running total.
+     * @param x The element to add.
+     * @return The running total including the element {@code x}.
+     */
+    public long add(int x) {
+        count++;
+        return total += x;
+    }
+
+    /**
+     * Accumulate the next chunk of input into a new array of running totals.
+     * @param chunk The next chunk of input.
+     * @return The array of running totals for the elements of the chunk.
+     */
+    public long[] accept(int[] chunk) {
+        return accept(chunk, 0, chunk.length, new long[chunk.length]);
+    }
+
+    /**
+     * Accumulate the elements {@code chunk[from..to-1]} into the given output array, so that
+     * the caller can reuse the same input and output buffers for every chunk.
+     * @param chunk The buffer containing the next chunk of input.
+     * @param from The first index of the chunk, inclusive.
+     * @param to The last index of the chunk, exclusive.
+     * @param out The array into whose beginning the running totals are written.
+     * @return The output array {@code out}, for convenience.
+     */
+    public long[] accept(int[] chunk, int from, int to, long[] out) {
+        if(from < 0 || to > chunk.length || from > to) {
+            throw new IndexOutOfBoundsException("Illegal chunk range [" + from + ", " + to + ")");
+        }
+        if(out.length < to - from) {
+            throw new IllegalArgumentException("Output array of length " + out.length + " too short for chunk");
+        }
+        long sum = total; // Local variable keeps the running total in a register.
+        for(int i = from; i < to; i++) {
+            sum += chunk[i];
+            out[i - from] = sum;
+        }
+        total = sum;
+        count += to - from;
+        return out;
+    }
+
+    /**
+     * Accumulate all remaining elements of the input buffer into the output buffer. Both
+     * buffers are advanced by the number of elements processed. If the output buffer has
+     * less room than the input buffer has elements, only that many elements are consumed.
+     * @param in The buffer to read the next chunk of input from.
+     * @param out The buffer to write the running totals into.
+     */
+    public void accept(IntBuffer in, LongBuffer out) {
+        long sum = total;
+        int n = Math.min(in.remaining(), out.remaining());
+        for(int i = 0; i < n; i++) {
+            sum += in.get();
+            out.put(sum);
+        }
+        total = sum;
+        count += n;
+    }
+
+    /**
+     * Lazily accumulate the given stream of integers. The elements are consumed one at a time
+     * as the resulting stream is traversed, so the stream may be arbitrarily long. The stream
+     * is made sequential, since running totals depend on the encounter order.
+     * <p>
+     * Since each element updates this accumulator only when the resulting stream actually
+     * visits it, that stream must be traversed with a terminal operation that visits every
+     * element, such as {@code forEach} or {@code toArray}. A terminal operation such as
+     * {@code count} is allowed to skip the mapping of a sized stream, or a short-circuiting
+     * one such as {@code findFirst} stops early, leaving the running total wrong. When the
+     * running totals are only consumed, {@link #accumulate(IntStream, LongConsumer)} is safer.
+     * @param values The stream of integers to accumulate.
+     * @return The stream of running totals.
+     */
+    public LongStream accumulate(IntStream values) {
+        return values.sequential().mapToLong(this::add);
+    }
+
+    /**
+     * Accumulate every element of the given stream of integers, passing each running total
+     * to the given action in the encounter order of the stream. Unlike the lazy version,
+     * this method traverses the entire stream itself before it returns.
+     * @param values The stream of integers to accumulate.
+     * @param action The action that receives the running totals.
+     */
+    public void accumulate(IntStream values, LongConsumer action) {
+        values.sequential().forEachOrdered(x -> action.accept(add(x)));
+    }
+
+    /**
+     * Return the running total of all elements consumed so far.
+     * @return The running total of all elements consumed so far.
+     */
+    public long getTotal() { return total; }
+
+    /**
+     * Return the number of elements consumed so far.
+     * @return The number of elements consumed so far.
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Take a snapshot of the current state of this accumulator.
+     * @return The checkpoint that can later be restored.
+     */
+    public Checkpoint checkpoint() {
+        return new Checkpoint(total, count);
+    }
+
+    /**
+     * Restore the state of this accumulator to the given checkpoint.
+     * @param checkpoint The checkpoint to restore.
+     */
+    public void restore(Checkpoint checkpoint) {
+        this.total = checkpoint.total;
+        this.count = checkpoint.count;
+    }
+
+    /**
+     * Reset this accumulator back to zero.
+     */
+    public void reset() {
+        this.total = 0;
+        this.count = 0;
+    }
+}
@@ -0,0 +1,292 @@
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Prefix scans that generalize {@code Shlemiel.accumulate} to wider accumulators, arbitrary
+ * associative operators, and a parallel two-pass algorithm that uses all available cores.
+ */
+public class PrefixScan {
+
+    // Subarrays at most this long are scanned sequentially in the parallel algorithm.
+    private static final int THRESHOLD = 1 << 13;
+
+    /**
+     * Given an integer array {@code a}, create the accumulation array {@code b} where each
+     * element equals the sum of elements in a up to that position. Unlike the {@code int}
+     * version in {@code Shlemiel}, the sums are accumulated in {@code long} and cannot overflow
+     * for any array that fits in memory.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static long[] accumulateLong(int[] a) {
+        long[] b = new long[a.length];
+        long sum = 0;
+        for(int i = 0; i < a.length; i++) {
+            sum += a[i];
+            b[i] = sum;
+        }
+        return b;
+    }
+
+    /**
+     * Given a {@code long} array {@code a}, create its accumulation array.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static long[] accumulate(long[] a) {
+        return scan(a, Long::sum);
+    }
+
+    /**
+     * Given a {@code double} array {@code a}, create its accumulation array.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static double[] accumulate(double[] a) {
+        double[] b = new double[a.length];
+        double sum = 0;
+        for(int i = 0; i < a.length; i++) {
+            sum += a[i];
+            b[i] = sum;
+        }
+        return b;
+    }
+
+    /**
+     * Compute the inclusive prefix scan of {@code a} with the given associative operator
+     * into a new array, leaving the original array unchanged.
+     * @param a The original array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The new array whose each element combines the elements of a up to that position.
+     */
+    public static int[] scan(int[] a, IntBinaryOperator op) {
+        return scanInPlace(a.clone(), op);
+    }
+
+    /**
+     * Compute the inclusive prefix scan of {@code a} with the given associative operator
+     * in place, overwriting each element with the combination of elements up to it.
+     * @param a The array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The same array {@code a}, for convenience.
+     */
+    public static int[] scanInPlace(int[] a, IntBinaryOperator op) {
+        for(int i = 1; i < a.length; i++) {
+            a[i] = op.applyAsInt(a[i-1], a[i]);
+        }
+        return a;
+    }
+
+    /**
+     * Compute the inclusive prefix scan of {@code a} with the given associative operator
+     * into a new array, leaving the original array unchanged.
+     * @param a The original array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The new array whose each element combines the elements of a up to that position.
+     */
+    public static long[] scan(long[] a, LongBinaryOperator op) {
+        return scanInPlace(a.clone(), op);
+    }
+
+    /**
+     * Compute the inclusive prefix scan of {@code a} with the given associative operator
+     * in place, overwriting each element with the combination of elements up to it.
+     * @param a The array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The same array {@code a}, for convenience.
+     */
+    public static long[] scanInPlace(long[] a, LongBinaryOperator op) {
+        for(int i = 1; i < a.length; i++) {
+            a[i] = op.applyAsLong(a[i-1], a[i]);
+        }
+        return a;
+    }
+
+    /**
+     * Parallel version of {@link #scanInPlace(int[], IntBinaryOperator)} that produces the
+     * same result as {@code Arrays.parallelPrefix}. The operator must be associative and
+     * free of side effects, since the order of its applications is not specified.
+     * @param a The array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The same array {@code a}, for convenience.
+     */
+    public static int[] parallelScanInPlace(int[] a, IntBinaryOperator op) {
+        return parallelScanInPlace(a, op, THRESHOLD);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    static int[] parallelScanInPlace(int[] a, IntBinaryOperator op, int threshold) {
+        if(a.length <= threshold) { return scanInPlace(a, op); }
+        // First pass up the tree computes the total of each subarray...
+        IntUpSweep root = new IntUpSweep(a, op, 0, a.length, threshold);
+        root.invoke();
+        // ... and the second pass down the tree feeds each subarray the total to its left.
+        new IntDownSweep(root, false, 0).invoke();
+        return a;
+    }
+
+    /**
+     * Parallel version of {@link #scan(int[], IntBinaryOperator)}.
+     * @param a The original array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The new array whose each element combines the elements of a up to that position.
+     */
+    public static int[] parallelScan(int[] a, IntBinaryOperator op) {
+        return parallelScanInPlace(a.clone(), op);
+    }
+
+    /**
+     * Parallel version of {@link #scanInPlace(long[], LongBinaryOperator)} that produces the
+     * same result as {@code Arrays.parallelPrefix}. The operator must be associative and
+     * free of side effects, since the order of its applications is not specified.
+     * @param a The array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The same array {@code a}, for convenience.
+     */
+    public static long[] parallelScanInPlace(long[] a, LongBinaryOperator op) {
+        return parallelScanInPlace(a, op, THRESHOLD);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    static long[] parallelScanInPlace(long[] a, LongBinaryOperator op, int threshold) {
+        if(a.length <= threshold) { return scanInPlace(a, op); }
+        LongUpSweep root = new LongUpSweep(a, op, 0, a.length, threshold);
+        root.invoke();
+        new LongDownSweep(root, false, 0).invoke();
+        return a;
+    }
+
+    /**
+     * Parallel version of {@link #scan(long[], LongBinaryOperator)}.
+     * @param a The original array to scan.
+     * @param op The associative operator used to combine the elements.
+     * @return The new array whose each element combines the elements of a up to that position.
+     */
+    public static long[] parallelScan(long[] a, LongBinaryOperator op) {
+        return parallelScanInPlace(a.clone(), op);
+    }
+
+    /**
+     * Parallel accumulation of an integer array into {@code long} sums.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static long[] parallelAccumulateLong(int[] a) {
+        long[] b = new long[a.length];
+        for(int i = 0; i < a.length; i++) { b[i] = a[i]; }
+        return parallelScanInPlace(b, Long::sum);
+    }
+
+    // The up-sweep builds the recursion tree, storing the total of each subarray in its node.
+    @SuppressWarnings("serial")
+    private static class IntUpSweep extends RecursiveAction {
+        private final int[] a;
+        private final IntBinaryOperator op;
+        private final int lo, hi, threshold;
+        private IntUpSweep left, right;
+        private int total;
+
+        public IntUpSweep(int[] a, IntBinaryOperator op, int lo, int hi, int threshold) {
+            this.a = a; this.op = op; this.lo = lo; this.hi = hi; this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if(hi - lo <= threshold) {
+                int sum = a[lo];
+                for(int i = lo + 1; i < hi; i++) { sum = op.applyAsInt(sum, a[i]); }
+                total = sum;
+            }
+            else {
+                int mid = (lo + hi) >>> 1;
+                left = new IntUpSweep(a, op, lo, mid, threshold);
+                right = new IntUpSweep(a, op, mid, hi, threshold);
+                invokeAll(left, right);
+                total = op.applyAsInt(left.total, right.total);
+            }
+        }
+    }
+
+    // The down-sweep walks the same tree, carrying the total of everything to the left.
+    @SuppressWarnings("serial")
+    private static class IntDownSweep extends RecursiveAction {
+        private final IntUpSweep node;
+        private final boolean hasCarry; // The leftmost subarray has nothing to its left.
+        private final int carry;
+
+        public IntDownSweep(IntUpSweep node, boolean hasCarry, int carry) {
+            this.node = node; this.hasCarry = hasCarry; this.carry = carry;
+        }
+
+        @Override protected void compute() {
+            int[] a = node.a;
+            IntBinaryOperator op = node.op;
+            if(node.left == null) { // Leaf subarray, scan it sequentially.
+                if(hasCarry) { a[node.lo] = op.applyAsInt(carry, a[node.lo]); }
+                for(int i = node.lo + 1; i < node.hi; i++) {
+                    a[i] = op.applyAsInt(a[i-1], a[i]);
+                }
+            }
+            else {
+                int rightCarry = hasCarry ? op.applyAsInt(carry, node.left.total) : node.left.total;
+                invokeAll(new IntDownSweep(node.left, hasCarry, carry),
+                        new IntDownSweep(node.right, true, rightCarry));
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class LongUpSweep extends RecursiveAction {
+        private final long[] a;
+        private final LongBinaryOperator op;
+        private final int lo, hi, threshold;
+        private LongUpSweep left, right;
+        private long total;
+
+        public LongUpSweep(long[] a, LongBinaryOperator op, int lo, int hi, int threshold) {
+            this.a = a; this.op = op; this.lo = lo; this.hi = hi; this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if(hi - lo <= threshold) {
+                long sum = a[lo];
+                for(int i = lo + 1; i < hi; i++) { sum = op.applyAsLong(sum, a[i]); }
+                total = sum;
+            }
+            else {
+                int mid = (lo + hi) >>> 1;
+                left = new LongUpSweep(a, op, lo, mid, threshold);
+                right = new LongUpSweep(a, op, mid, hi, threshold);
+                invokeAll(left, right);
+                total = op.applyAsLong(left.total, right.total);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class LongDownSweep extends RecursiveAction {
+        private final LongUpSweep node;
+        private final boolean hasCarry;
+        private final long carry;
+
+        public LongDownSweep(LongUpSweep node, boolean hasCarry, long carry) {
+            this.node = node; this.hasCarry = hasCarry; this.carry = carry;
+        }
+
+        @Override protected void compute() {
+            long[] a = node.a;
+            LongBinaryOperator op = node.op;
+            if(node.left == null) {
+                if(hasCarry) { a[node.lo] = op.applyAsLong(carry, a[node.lo]); }
+                for(int i = node.lo + 1; i < node.hi; i++) {
+                    a[i] = op.applyAsLong(a[i-1], a[i]);
+                }
+            }
+            else {
+                long rightCarry = hasCarry ? op.applyAsLong(carry, node.left.total) : node.left.total;
+                invokeAll(new LongDownSweep(node.left, hasCarry, carry),
+                        new LongDownSweep(node.right, true, rightCarry));
+            }
+        }
+    }
+}
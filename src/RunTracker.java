@@ -0,0 +1,314 @@
+import java.util.Comparator;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Single pass tracker of the longest runs of consecutive values, generalizing
+ * {@code Shlemiel.longestAscendingSubarray} to values that arrive one at a time, to five
+ * different kinds of runs, and to reporting where each longest run starts. Since every kind
+ * of run depends only on the comparisons of consecutive values, the same logic serves
+ * {@code long}, {@code double} and {@code Comparator} ordered values in the subclasses.
+ *
+ * Trackers of two adjacent chunks of the same sequence can be merged in {@code O(1)} time,
+ * which allows summarizing a huge array in parallel with divide and conquer.
+ */
+public abstract class RunTracker {
+
+    /**
+     * The kinds of runs that are tracked simultaneously.
+     */
+    public enum Kind {
+        STRICTLY_ASCENDING, ASCENDING, STRICTLY_DESCENDING, DESCENDING, CONSTANT;
+
+        // Whether two consecutive values whose comparison has the given sign continue this run.
+        boolean continues(int cmp) {
+            switch(this) {
+                case STRICTLY_ASCENDING: return cmp < 0;
+                case ASCENDING: return cmp <= 0;
+                case STRICTLY_DESCENDING: return cmp > 0;
+                case DESCENDING: return cmp >= 0;
+                default: return cmp == 0;
+            }
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    // Arrays at most this long are summarized sequentially in the parallel versions.
+    private static final int THRESHOLD = 1 << 14;
+
+    // Number of values seen so far.
+    private long count;
+
+    // For each kind of run, the length of the run at the beginning of the values...
+    private final long[] prefix = new long[KINDS.length];
+    // ... the length of the run that ends at the latest value...
+    private final long[] suffix = new long[KINDS.length];
+    // ... and the length and the start index of the earliest longest run.
+    private final long[] best = new long[KINDS.length];
+    private final long[] bestStart = new long[KINDS.length];
+
+    /**
+     * Return the number of values seen so far.
+     * @return The number of values seen so far.
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Return the length of the longest run of the given kind, zero if no values were seen.
+     * @param kind The kind of run.
+     * @return The length of the longest run of that kind.
+     */
+    public long getLongest(Kind kind) { return best[kind.ordinal()]; }
+
+    /**
+     * Return the start index of the earliest longest run of the given kind.
+     * @param kind The kind of run.
+     * @return The start index of the earliest longest run of that kind.
+     */
+    public long getLongestStart(Kind kind) { return bestStart[kind.ordinal()]; }
+
+    // Update the runs with the next value, given the sign of the comparison of the previous
+    // value with the next value. For the very first value, the sign is ignored.
+    protected void advance(int cmp) {
+        for(int k = 0; k < KINDS.length; k++) {
+            if(count > 0 && KINDS[k].continues(cmp)) {
+                suffix[k]++;
+                if(prefix[k] == count) { prefix[k]++; }
+            }
+            else {
+                suffix[k] = 1;
+                if(count == 0) { prefix[k] = 1; }
+            }
+            if(suffix[k] > best[k]) { // Strict inequality keeps the earliest longest run.
+                best[k] = suffix[k];
+                bestStart[k] = count + 1 - suffix[k];
+            }
+        }
+        count++;
+    }
+
+    // Compare the last value of this tracker to the first value of the given tracker.
+    protected abstract int compareBoundary(RunTracker right);
+
+    // Update the first and last values after the given tracker has been merged into this.
+    protected abstract void mergeBoundary(RunTracker right);
+
+    /**
+     * Merge the tracker of the chunk of values that immediately follows the chunk of this
+     * tracker into this tracker, in {@code O(1)} time. Afterwards this tracker is the same
+     * as if it had seen all values of both chunks. The other tracker is left unchanged.
+     * @param right The tracker of the following chunk, of the same type as this tracker.
+     */
+    public void merge(RunTracker right) {
+        if(right.getClass() != getClass()) {
+            throw new IllegalArgumentException("Cannot merge " + getClass().getName() + " with " + right.getClass().getName());
+        }
+        if(right.count == 0) { return; }
+        if(count == 0) {
+            System.arraycopy(right.prefix, 0, prefix, 0, KINDS.length);
+            System.arraycopy(right.suffix, 0, suffix, 0, KINDS.length);
+            System.arraycopy(right.best, 0, best, 0, KINDS.length);
+            System.arraycopy(right.bestStart, 0, bestStart, 0, KINDS.length);
+            count = right.count;
+            mergeBoundary(right);
+            return;
+        }
+        int cmp = compareBoundary(right);
+        for(int k = 0; k < KINDS.length; k++) {
+            boolean joins = KINDS[k].continues(cmp);
+            // Candidates in the order of their start indices, so that ties keep the earliest.
+            if(joins && suffix[k] + right.prefix[k] > best[k]) {
+                best[k] = suffix[k] + right.prefix[k];
+                bestStart[k] = count - suffix[k];
+            }
+            if(right.best[k] > best[k]) {
+                best[k] = right.best[k];
+                bestStart[k] = count + right.bestStart[k];
+            }
+            if(joins && prefix[k] == count) { prefix[k] = count + right.prefix[k]; }
+            suffix[k] = joins && right.suffix[k] == right.count ? suffix[k] + right.count : right.suffix[k];
+        }
+        count += right.count;
+        mergeBoundary(right);
+    }
+
+    /**
+     * Run tracker for {@code long} values, also used for {@code int} values.
+     */
+    public static class OfLong extends RunTracker {
+        private long first, last;
+
+        /**
+         * Add the next value to this tracker.
+         * @param x The next value.
+         */
+        public void add(long x) {
+            if(getCount() == 0) { first = x; advance(0); }
+            else { advance(Long.compare(last, x)); }
+            last = x;
+        }
+
+        @Override protected int compareBoundary(RunTracker right) {
+            return Long.compare(last, ((OfLong)right).first);
+        }
+
+        @Override protected void mergeBoundary(RunTracker right) {
+            if(getCount() == right.getCount()) { first = ((OfLong)right).first; }
+            last = ((OfLong)right).last;
+        }
+    }
+
+    /**
+     * Run tracker for {@code double} values, ordered as by {@code Double.compare}.
+     */
+    public static class OfDouble extends RunTracker {
+        private double first, last;
+
+        /**
+         * Add the next value to this tracker.
+         * @param x The next value.
+         */
+        public void add(double x) {
+            if(getCount() == 0) { first = x; advance(0); }
+            else { advance(Double.compare(last, x)); }
+            last = x;
+        }
+
+        @Override protected int compareBoundary(RunTracker right) {
+            return Double.compare(last, ((OfDouble)right).first);
+        }
+
+        @Override protected void mergeBoundary(RunTracker right) {
+            if(getCount() == right.getCount()) { first = ((OfDouble)right).first; }
+            last = ((OfDouble)right).last;
+        }
+    }
+
+    /**
+     * Run tracker for values ordered by the given comparator.
+     * @param <T> The type of values.
+     */
+    public static class Of<T> extends RunTracker {
+        private final Comparator<? super T> comparator;
+        private T first, last;
+
+        /**
+         * Constructor to create a run tracker for values ordered by the given comparator.
+         * @param comparator The comparator that defines the order of values.
+         */
+        public Of(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+        }
+
+        /**
+         * Add the next value to this tracker.
+         * @param x The next value.
+         */
+        public void add(T x) {
+            if(getCount() == 0) { first = x; advance(0); }
+            else { advance(Integer.signum(comparator.compare(last, x))); }
+            last = x;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override protected int compareBoundary(RunTracker right) {
+            return Integer.signum(comparator.compare(last, ((Of<T>)right).first));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override protected void mergeBoundary(RunTracker right) {
+            if(getCount() == right.getCount()) { first = ((Of<T>)right).first; }
+            last = ((Of<T>)right).last;
+        }
+    }
+
+    // Summarize the subarray in positions lo, ..., hi-1 into a new tracker.
+    private interface Summarizer {
+        RunTracker summarize(int lo, int hi);
+    }
+
+    @SuppressWarnings("serial")
+    private static class SummarizeTask extends RecursiveTask<RunTracker> {
+        private final Summarizer summarizer;
+        private final int lo, hi, threshold;
+
+        public SummarizeTask(Summarizer summarizer, int lo, int hi, int threshold) {
+            this.summarizer = summarizer; this.lo = lo; this.hi = hi; this.threshold = threshold;
+        }
+
+        @Override protected RunTracker compute() {
+            if(hi - lo <= threshold) { return summarizer.summarize(lo, hi); }
+            int mid = (lo + hi) >>> 1;
+            SummarizeTask left = new SummarizeTask(summarizer, lo, mid, threshold);
+            left.fork();
+            RunTracker right = new SummarizeTask(summarizer, mid, hi, threshold).compute();
+            RunTracker result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+
+    private static RunTracker summarize(Summarizer summarizer, int n, int threshold) {
+        return new SummarizeTask(summarizer, 0, n, threshold).invoke();
+    }
+
+    /**
+     * Summarize the runs of the given array, dividing the work to all available cores.
+     * @param a The array to summarize.
+     * @return The tracker that has seen all elements of the array.
+     */
+    public static OfLong parallelSummarize(int[] a) {
+        return parallelSummarize(a, THRESHOLD);
+    }
+
+    // Package-private so that the tests can exercise the parallel path with small arrays.
+    static OfLong parallelSummarize(int[] a, int threshold) {
+        return (OfLong)summarize((lo, hi) -> {
+            OfLong result = new OfLong();
+            for(int i = lo; i < hi; i++) { result.add(a[i]); }
+            return result;
+        }, a.length, threshold);
+    }
+
+    /**
+     * Summarize the runs of the given array, dividing the work to all available cores.
+     * @param a The array to summarize.
+     * @return The tracker that has seen all elements of the array.
+     */
+    public static OfLong parallelSummarize(long[] a) {
+        return (OfLong)summarize((lo, hi) -> {
+            OfLong result = new OfLong();
+            for(int i = lo; i < hi; i++) { result.add(a[i]); }
+            return result;
+        }, a.length, THRESHOLD);
+    }
+
+    /**
+     * Summarize the runs of the given array, dividing the work to all available cores.
+     * @param a The array to summarize.
+     * @return The tracker that has seen all elements of the array.
+     */
+    public static OfDouble parallelSummarize(double[] a) {
+        return (OfDouble)summarize((lo, hi) -> {
+            OfDouble result = new OfDouble();
+            for(int i = lo; i < hi; i++) { result.add(a[i]); }
+            return result;
+        }, a.length, THRESHOLD);
+    }
+
+    /**
+     * Summarize the runs of the given array, dividing the work to all available cores.
+     * @param a The array to summarize.
+     * @param comparator The comparator that defines the order of elements.
+     * @param <T> The type of elements in the array.
+     * @return The tracker that has seen all elements of the array.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Of<T> parallelSummarize(T[] a, Comparator<? super T> comparator) {
+        return (Of<T>)summarize((lo, hi) -> {
+            Of<T> result = new Of<>(comparator);
+            for(int i = lo; i < hi; i++) { result.add(a[i]); }
+            return result;
+        }, a.length, THRESHOLD);
+    }
+}
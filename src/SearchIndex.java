@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Facade that chooses the searching algorithm of {@code ArraySearchDemo} for the given array,
+ * so that its callers do not need to choose by hand. Sorted arrays are searched with linear
+ * search when they are short enough for its sequential memory access to win, and with binary
+ * search otherwise. Unsorted arrays are searched with linear search until enough searches
+ * have been made to pay for building a hash index of the first position of each element,
+ * after which the index answers each search in {@code O(1)} expected time.
+ *
+ * The thresholds of these decisions are calibrated once per virtual machine with a short
+ * micro-benchmark. The index of each array is cached, so that the sortedness check and the
+ * auxiliary structures are computed only once per array. The array must therefore not be
+ * modified while it is being searched through its index. Looking up the cache takes a brief
+ * global lock, so callers that search the same array many times should keep its index.
+ */
+public class SearchIndex {
+
+    /**
+     * The algorithms that the index can use to search its array.
+     */
+    public enum Strategy {
+        /** Linear search, used for small sorted arrays and for unsorted arrays at first. */
+        LINEAR,
+        /** Binary search, used for large sorted arrays. */
+        BINARY,
+        /** Lookup from a hash index, used for unsorted arrays searched many times. */
+        HASH_INDEX
+    }
+
+    // Decisions for the arrays that have been searched, forgotten when their arrays are.
+    // Arrays use identity for equals and hashCode, exactly what this cache needs. Since the
+    // values of a weak hash map are strongly reachable, they must not refer to their keys.
+    private static final Map<int[], Decision> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Thresholds measured on this machine by a short micro-benchmark when first needed.
+     */
+    private static final class Calibration {
+        // Sorted arrays up to this length are searched linearly.
+        static final int LINEAR_LIMIT;
+        // Unsorted arrays up to this length are always searched linearly, since scanning
+        // them is no slower than a lookup from a hash index would be.
+        static final int HASH_LIMIT;
+        // How many linear searches of an array cost as much as building its hash index.
+        static final int SCANS_PER_BUILD;
+
+        // Results of the timed searches, so that their computation cannot be eliminated.
+        private static volatile int sink;
+
+        static {
+            int n = 1 << 12;
+            int[] a = new int[n];
+            for(int i = 0; i < n; i++) { a[i] = 2 * i; }
+            int linear = 0, hash = 0;
+            long scan = 1, build = 0;
+            // The first rounds let the JIT compiler compile the code, the last round counts.
+            for(int round = 0; round < 4; round++) {
+                linear = 0;
+                for(int m = 8; m <= 512; m *= 2) {
+                    long t0 = System.nanoTime();
+                    for(int x = 0; x < 2 * m; x++) { sink += linearLowerBound(a, 0, m, x); }
+                    long t1 = System.nanoTime();
+                    for(int x = 0; x < 2 * m; x++) { sink += lowerBound(a, 0, m, x); }
+                    long t2 = System.nanoTime();
+                    // Remember the largest length where linear search was still faster.
+                    if(t1 - t0 <= t2 - t1) { linear = m; }
+                }
+                hash = 0;
+                for(int m = 8; m <= 512; m *= 2) {
+                    int[] b = Arrays.copyOf(a, m);
+                    IntIntHashMap index = buildIndex(b);
+                    long t0 = System.nanoTime();
+                    for(int x = 0; x < 2 * m; x++) { sink += ArraySearchDemo.unrolledSearch(b, x); }
+                    long t1 = System.nanoTime();
+                    for(int x = 0; x < 2 * m; x++) { sink += index.getOrDefault(x, -1); }
+                    long t2 = System.nanoTime();
+                    if(t1 - t0 <= t2 - t1) { hash = m; }
+                }
+                long t0 = System.nanoTime();
+                for(int i = 0; i < 16; i++) { sink += ArraySearchDemo.unrolledSearch(a, -1); }
+                long t1 = System.nanoTime();
+                sink += buildIndex(a).size();
+                long t2 = System.nanoTime();
+                scan = Math.max(1, (t1 - t0) / 16);
+                build = t2 - t1;
+            }
+            LINEAR_LIMIT = Math.max(8, linear);
+            HASH_LIMIT = Math.max(8, hash);
+            SCANS_PER_BUILD = (int)Math.max(1, Math.min(64, build / scan));
+        }
+    }
+
+    // Everything known about one array, without a reference to the array itself.
+    private static final class Decision {
+        final boolean sorted;
+        final int linearLimit, hashLimit, scansPerBuild;
+        // Number of linear searches made in an unsorted array, only approximate under races.
+        int scans;
+        // Built when the array has been searched linearly enough times to pay for it.
+        volatile IntIntHashMap index;
+
+        Decision(int[] a, int linearLimit, int hashLimit, int scansPerBuild) {
+            this.linearLimit = linearLimit;
+            this.hashLimit = hashLimit;
+            this.scansPerBuild = scansPerBuild;
+            boolean s = true;
+            for(int i = 1; i < a.length && s; i++) { s = a[i-1] <= a[i]; }
+            this.sorted = s;
+        }
+    }
+
+    private final int[] a;
+    private final Decision d;
+
+    private SearchIndex(int[] a, Decision d) {
+        this.a = a;
+        this.d = d;
+    }
+
+    // Package-private so that the tests can choose the thresholds. Not cached.
+    SearchIndex(int[] a, int linearLimit, int hashLimit, int scansPerBuild) {
+        this(a, new Decision(a, linearLimit, hashLimit, scansPerBuild));
+    }
+
+    /**
+     * Return the index of the given array. The sortedness of the array and the auxiliary
+     * structures built for it are cached, so that they are computed only the first time.
+     * @param a The array to search.
+     * @return The index of the array.
+     */
+    public static SearchIndex of(int[] a) {
+        Decision d = CACHE.get(a);
+        if(d == null) {
+            // The sortedness check and the calibration run outside the lock of the cache, so
+            // that they do not hold up the lookups of other threads. Two threads that race
+            // to create the decision of the same array both compute it, but only one is kept.
+            d = new Decision(a, Calibration.LINEAR_LIMIT, Calibration.HASH_LIMIT, Calibration.SCANS_PER_BUILD);
+            Decision previous = CACHE.putIfAbsent(a, d);
+            if(previous != null) { d = previous; }
+        }
+        return new SearchIndex(a, d);
+    }
+
+    /**
+     * Forget the cached decisions and structures of the given array, which must be done after
+     * the array has been modified.
+     * @param a The array whose cached information is forgotten.
+     */
+    public static void invalidate(int[] a) { CACHE.remove(a); }
+
+    /**
+     * Determine whether the array of this index is sorted in ascending order.
+     * @return Whether the array is sorted.
+     */
+    public boolean isSorted() { return d.sorted; }
+
+    /**
+     * Return the strategy that the next search will use.
+     * @return The current strategy.
+     */
+    public Strategy getStrategy() {
+        if(d.sorted) { return a.length <= d.linearLimit ? Strategy.LINEAR : Strategy.BINARY; }
+        return d.index != null ? Strategy.HASH_INDEX : Strategy.LINEAR;
+    }
+
+    /**
+     * Find the first position of the given element, as in {@code ArraySearchDemo.linearSearch}.
+     * @param x The element to search for.
+     * @return The first index in which the element is found, or -1 if there is none.
+     */
+    public int indexOf(int x) {
+        if(d.sorted) {
+            int i = lowerBound(x);
+            return i < a.length && a[i] == x ? i : -1;
+        }
+        IntIntHashMap index = d.index;
+        if(index != null) { return index.getOrDefault(x, -1); }
+        if(a.length > d.hashLimit && ++d.scans >= d.scansPerBuild) {
+            synchronized(d) {
+                if(d.index == null) { d.index = buildIndex(a); }
+            }
+        }
+        return ArraySearchDemo.unrolledSearch(a, x);
+    }
+
+    /**
+     * Find the first position whose element is at least the given element, which is the
+     * position where the element would be inserted to keep the array sorted. This is the
+     * same as {@code ArraySearchDemo.binarySearch}, which also returns the array length when
+     * all elements are smaller.
+     * @param x The element to search for.
+     * @return The first index whose element is at least {@code x}.
+     * @throws IllegalStateException If the array is not sorted.
+     */
+    public int lowerBound(int x) {
+        if(!d.sorted) { throw new IllegalStateException("Lower bound is defined only for sorted arrays"); }
+        return a.length <= d.linearLimit ? linearLowerBound(a, 0, a.length, x) : lowerBound(a, 0, a.length, x);
+    }
+
+    // First position in a[from..to-1] whose element is at least x, searched linearly.
+    private static int linearLowerBound(int[] a, int from, int to, int x) {
+        int i = from;
+        while(i < to && a[i] < x) { i++; }
+        return i;
+    }
+
+    // First position in a[from..to-1] whose element is at least x, searched with halving.
+    private static int lowerBound(int[] a, int from, int to, int x) {
+        int lo = from, hi = to;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(a[mid] < x) { lo = mid + 1; }
+            else { hi = mid; }
+        }
+        return lo;
+    }
+
+    // Map each element to its first position, by going through the positions backwards.
+    private static IntIntHashMap buildIndex(int[] a) {
+        IntIntHashMap result = new IntIntHashMap(a.length);
+        for(int i = a.length - 1; i >= 0; i--) { result.put(a[i], i); }
+        return result;
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Segment tree with lazy propagation that supports adding a value to every element in a
+ * range, assigning a single element, and querying the sum, minimum or maximum of a range,
+ * all in {@code O(log n)} time per operation.
+ */
+public class SegmentTree {
+
+    /**
+     * The aggregate operation computed over ranges of elements.
+     */
+    public enum Operation {
+        SUM(0) {
+            public long combine(long x, long y) { return x + y; }
+            long applyAdd(long value, long delta, int len) { return value + delta * len; }
+        },
+        MIN(Long.MAX_VALUE) {
+            public long combine(long x, long y) { return Math.min(x, y); }
+            long applyAdd(long value, long delta, int len) { return value + delta; }
+        },
+        MAX(Long.MIN_VALUE) {
+            public long combine(long x, long y) { return Math.max(x, y); }
+            long applyAdd(long value, long delta, int len) { return value + delta; }
+        };
+
+        private final long identity;
+
+        Operation(long identity) { this.identity = identity; }
+
+        /**
+         * Return the identity element of this operation, the result of an empty range.
+         * @return The identity element of this operation.
+         */
+        public long identity() { return identity; }
+
+        /**
+         * Combine the aggregates of two adjacent ranges.
+         * @param x The aggregate of the left range.
+         * @param y The aggregate of the right range.
+         * @return The aggregate of the combined range.
+         */
+        public abstract long combine(long x, long y);
+
+        // Update the aggregate of a range of len elements after delta is added to each one.
+        abstract long applyAdd(long value, long delta, int len);
+    }
+
+    private final Operation op;
+    private final int n;
+
+    // Node 1 is the root, and the children of node k are nodes 2k and 2k+1.
+    private final long[] value;
+
+    // Pending additions that have not yet been pushed down to the children of the node.
+    private final long[] lazy;
+
+    /**
+     * Constructor to create a segment tree from the given array in {@code O(n)} time.
+     * @param a The array of initial elements.
+     * @param op The aggregate operation to compute over ranges.
+     */
+    public SegmentTree(long[] a, Operation op) {
+        this.op = op;
+        this.n = a.length;
+        this.value = new long[treeSize(n)];
+        this.lazy = new long[value.length];
+        if(n > 0) { build(a, 1, 0, n); }
+    }
+
+    /**
+     * Constructor to create a segment tree from the given array in {@code O(n)} time.
+     * @param a The array of initial elements.
+     * @param op The aggregate operation to compute over ranges.
+     */
+    public SegmentTree(int[] a, Operation op) {
+        this(widen(a), op);
+    }
+
+    /**
+     * Create a segment tree in {@code O(n)} time from an existing accumulation array, such as
+     * the one produced by {@code Shlemiel.accumulate}.
+     * @param prefix The accumulation array of the initial elements.
+     * @param op The aggregate operation to compute over ranges.
+     * @return The new segment tree.
+     */
+    public static SegmentTree fromPrefixSums(int[] prefix, Operation op) {
+        long[] a = new long[prefix.length];
+        for(int i = 0; i < a.length; i++) {
+            // Subtract in int, exact modulo 2^32 even if the accumulation wrapped around.
+            a[i] = prefix[i] - (i > 0 ? prefix[i-1] : 0);
+        }
+        return new SegmentTree(a, op);
+    }
+
+    private static long[] widen(int[] a) {
+        long[] result = new long[a.length];
+        for(int i = 0; i < a.length; i++) { result[i] = a[i]; }
+        return result;
+    }
+
+    // Halving the ranges at their midpoints gives the tree the height ceil(log2 n), so the
+    // node indices stay below twice the smallest power of two that is at least n.
+    static int treeSize(int n) {
+        long size = n <= 1 ? 2 : 2 * Long.highestOneBit(2L * n - 1);
+        if(size > Integer.MAX_VALUE - 8) { throw new IllegalArgumentException("Too many elements for a segment tree: " + n); }
+        return (int)size;
+    }
+
+    private void build(long[] a, int node, int lo, int hi) {
+        if(hi - lo == 1) {
+            value[node] = a[lo];
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        build(a, 2*node, lo, mid);
+        build(a, 2*node + 1, mid, hi);
+        value[node] = op.combine(value[2*node], value[2*node + 1]);
+    }
+
+    /**
+     * Return the number of elements in this tree.
+     * @return The number of elements.
+     */
+    public int size() { return n; }
+
+    /**
+     * Return the aggregate operation of this tree.
+     * @return The aggregate operation of this tree.
+     */
+    public Operation getOperation() { return op; }
+
+    /**
+     * Compute the aggregate of the elements in positions {@code from, ..., to-1}.
+     * @param from The first position of the range, inclusive.
+     * @param to The last position of the range, exclusive.
+     * @return The aggregate of the range, or the identity of the operation for an empty range.
+     */
+    public long query(int from, int to) {
+        checkRange(from, to);
+        if(from == to) { return op.identity(); }
+        return query(1, 0, n, from, to);
+    }
+
+    /**
+     * Return the current value of the element in the given position.
+     * @param i The position of the element.
+     * @return The current value of the element.
+     */
+    public long get(int i) {
+        checkRange(i, i + 1);
+        int node = 1, lo = 0, hi = n;
+        while(hi - lo > 1) {
+            push(node, lo, hi);
+            int mid = (lo + hi) >>> 1;
+            if(i < mid) { node = 2*node; hi = mid; }
+            else { node = 2*node + 1; lo = mid; }
+        }
+        return value[node];
+    }
+
+    /**
+     * Add the given amount to every element in positions {@code from, ..., to-1}.
+     * @param from The first position of the range, inclusive.
+     * @param to The last position of the range, exclusive.
+     * @param delta The amount to add to each element.
+     */
+    public void add(int from, int to, long delta) {
+        checkRange(from, to);
+        if(from < to) { add(1, 0, n, from, to, delta); }
+    }
+
+    /**
+     * Set the element in the given position to the given value.
+     * @param i The position of the element.
+     * @param x The new value of the element.
+     */
+    public void set(int i, long x) {
+        checkRange(i, i + 1);
+        set(1, 0, n, i, x);
+    }
+
+    private void checkRange(int from, int to) {
+        if(from < 0 || to > n || from > to) {
+            throw new IndexOutOfBoundsException("Illegal range [" + from + ", " + to + ")");
+        }
+    }
+
+    // Push the pending addition of the given node down to its two children.
+    private void push(int node, int lo, int hi) {
+        long delta = lazy[node];
+        if(delta != 0) {
+            int mid = (lo + hi) >>> 1;
+            apply(2*node, mid - lo, delta);
+            apply(2*node + 1, hi - mid, delta);
+            lazy[node] = 0;
+        }
+    }
+
+    private void apply(int node, int len, long delta) {
+        value[node] = op.applyAdd(value[node], delta, len);
+        lazy[node] += delta;
+    }
+
+    private long query(int node, int lo, int hi, int from, int to) {
+        if(from <= lo && hi <= to) { return value[node]; }
+        push(node, lo, hi);
+        int mid = (lo + hi) >>> 1;
+        if(to <= mid) { return query(2*node, lo, mid, from, to); }
+        if(from >= mid) { return query(2*node + 1, mid, hi, from, to); }
+        return op.combine(query(2*node, lo, mid, from, to), query(2*node + 1, mid, hi, from, to));
+    }
+
+    private void add(int node, int lo, int hi, int from, int to, long delta) {
+        if(from <= lo && hi <= to) {
+            apply(node, hi - lo, delta); // Entire subtree is covered, so postpone the work.
+            return;
+        }
+        push(node, lo, hi);
+        int mid = (lo + hi) >>> 1;
+        if(from < mid) { add(2*node, lo, mid, from, to, delta); }
+        if(to > mid) { add(2*node + 1, mid, hi, from, to, delta); }
+        value[node] = op.combine(value[2*node], value[2*node + 1]);
+    }
+
+    private void set(int node, int lo, int hi, int i, long x) {
+        if(hi - lo == 1) {
+            value[node] = x;
+            return;
+        }
+        push(node, lo, hi);
+        int mid = (lo + hi) >>> 1;
+        if(i < mid) { set(2*node, lo, mid, i, x); }
+        else { set(2*node + 1, mid, hi, i, x); }
+        value[node] = op.combine(value[2*node], value[2*node + 1]);
+    }
+}
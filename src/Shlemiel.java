@@ -1,6 +1,8 @@
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 /**
  * Many array problems are easy to solve in {@code O(n^2)} time with the "Shlemiel"
@@ -27,10 +29,29 @@ public class Shlemiel {
         }
         return b;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static long[] accumulateShlemiel(long[] a) {
+        long[] b = new long[a.length];
+        for(int i = 0; i < b.length; i++) {
+            long sum = 0;
+            for(int j = 0; j <= i; j++) {
+                sum += a[j];
+            }
+            b[i] = sum;
+        }
+        return b;
+    }
     
     /**
      * Given an integer array {@code a}, create the accumulation array {@code b}
      * where each element equals the sum of elements in a up to that position.
+     * The sums wrap around silently if they overflow, see
+     * {@code PrefixScan.accumulateLong} for sums that cannot overflow.
      * @param a The original array to accumulate.
      * @return The accumulation array of the original array.
      */
@@ -43,6 +64,35 @@ public class Shlemiel {
         }
         return b;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     */
+    public static long[] accumulate(long[] a) {
+        return PrefixScan.accumulate(a);
+    }
+
+    /**
+     * Given a {@code long} array {@code a}, create its accumulation array. These sums have no
+     * wider primitive type to go to, so instead of silently wrapping around as in
+     * {@code accumulate}, an overflow of any sum is reported by throwing an exception.
+     * @param a The original array to accumulate.
+     * @return The accumulation array of the original array.
+     * @throws ArithmeticException If some element of the accumulation array does not fit in {@code long}.
+     */
+    public static long[] accumulateExact(long[] a) {
+        long[] b = new long[a.length];
+        if(b.length == 0) { return b; }
+        b[0] = a[0];
+        for(int i = 1; i < a.length; i++) {
+            // The JIT compiler turns this into an ordinary add followed by a check of the
+            // overflow flag of the processor, so the check costs next to nothing.
+            b[i] = Math.addExact(b[i-1], a[i]);
+        }
+        return b;
+    }
     
     /**
      * Given an integer array {@code a}, find and return the length of its
@@ -60,6 +110,22 @@ public class Shlemiel {
         }
         return max;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The array to search the ascending subarray in.
+     * @return The length of the longest ascending subarray.
+     */
+    public static int longestAscendingSubarrayShlemiel(long[] a) {
+        if(a.length == 0) { return 0; }
+        int max = 1;
+        for(int i = 0; i < a.length - 1; i++) {
+            int j = i + 1;
+            while(j < a.length && a[j] > a[j-1]) { j++; }
+            if(j-i > max) { max = j-i; }
+        }
+        return max;
+    }
     
     /**
      * Given an integer array {@code a}, find and return the length of its
@@ -81,6 +147,25 @@ public class Shlemiel {
         }
         return max;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The array to search the ascending subarray in.
+     * @return The length of the longest ascending subarray.
+     */
+    public static int longestAscendingSubarray(long[] a) {
+        if(a.length == 0) { return 0; }
+        int curr = 1, max = 1;
+        for(int i = 1; i < a.length; i++) {
+            if(a[i] > a[i-1]) {
+                if(++curr > max) { max = curr; }
+            }
+            else {
+                curr = 1;
+            }
+        }
+        return max;
+    }
         
     /**
      * Given an integer array {@code a} guaranteed to be sorted in ascending order,
@@ -96,6 +181,24 @@ public class Shlemiel {
         }
         return false;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements, with the sums compared
+     * to the goal value exactly the same way as in {@link #twoSummingElements(long[], long)}.
+     * @param a The array to search the two elements in.
+     * @param x The goal value for the sum.
+     * @return Whether two such elements exist.
+     */
+    public static boolean twoSummingElementsShlemiel(long[] a, long x) {
+        for(int i = 0; i < a.length; i++) {
+            for(int j = i + 1; j < a.length; j++) {
+                int cmp = compareSum(a[i], a[j], x);
+                if(cmp == 0) { return true; }
+                if(cmp > 0) { break; }
+            }
+        }
+        return false;
+    }
     
     /**
      * Given an integer array {@code a} guaranteed to be sorted in ascending order,
@@ -114,10 +217,150 @@ public class Shlemiel {
         }
         return false;        
     }
+
+    /**
+     * Same as previous, but the sums of two elements are computed in {@code long}, so that
+     * unlike {@code a[i] + a[j]} in the previous method, they cannot overflow. Widening each
+     * sum on the fly costs nothing compared to making a widened copy of the entire array.
+     * @param a The array to search the two elements in.
+     * @param x The goal value for the sum.
+     * @return Whether two such elements exist.
+     */
+    public static boolean twoSummingElementsExact(int[] a, long x) {
+        int i = 0, j = a.length - 1;
+        while(i < j) {
+            long sum = (long)a[i] + a[j];
+            if(sum == x) { return true; }
+            else if(sum < x) { i++; }
+            else { j--; }
+        }
+        return false;
+    }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements. The sum of two elements
+     * can overflow even in {@code long}, but then its true value is known to lie beyond the
+     * range of {@code long} on the side given by the sign of either element, and thus also
+     * beyond the goal value.
+     * @param a The array to search the two elements in.
+     * @param x The goal value for the sum.
+     * @return Whether two such elements exist.
+     */
+    public static boolean twoSummingElements(long[] a, long x) {
+        int i = 0, j = a.length - 1;
+        while(i < j) {
+            int cmp = compareSum(a[i], a[j], x);
+            if(cmp == 0) { return true; }
+            else if(cmp < 0) { i++; }
+            else { j--; }
+        }
+        return false;
+    }
+
+    // Compare the exact sum a + b to x, without ever computing a wrong sum.
+    private static int compareSum(long a, long b, long x) {
+        long sum = a + b;
+        // Overflow happened if and only if both operands have a different sign than the sum.
+        if(((a ^ sum) & (b ^ sum)) < 0) { return a < 0 ? -1 : +1; }
+        return Long.compare(sum, x);
+    }
+
+    // Compare the exact sum a + b + c to x. Unlike a sum of two, a sum of three can come
+    // back into the range of long after the first addition overflows, so in the rare case
+    // of any overflow, the sum is computed exactly in BigInteger instead.
+    private static int compareSum(long a, long b, long c, long x) {
+        long ab = a + b, abc = ab + c;
+        if((((a ^ ab) & (b ^ ab)) | ((ab ^ abc) & (c ^ abc))) >= 0) { return Long.compare(abc, x); }
+        BigInteger sum = BigInteger.valueOf(a).add(BigInteger.valueOf(b)).add(BigInteger.valueOf(c));
+        return sum.compareTo(BigInteger.valueOf(x));
+    }
     
-    // Puzzle for thought: suppose the previous task was to find three summing elements
-    // that add up to x. Shlemiel would solve this in O(n^3) time. Can you solve this in
-    // O(n^2) time? How about O(n) time?
+    // The same task for three summing elements that add up to x. Shlemiel solves this in
+    // O(n^3) time, but the two pointers of the previous method bring it down to O(n^2).
+    // For any number of summing elements, and for counting and listing all solutions
+    // instead of finding just one, see the class KSum.
+
+    /**
+     * Given an integer array {@code a} guaranteed to be sorted in ascending order, determine
+     * whether it contains three elements in separate positions whose sum equals goal value
+     * {@code x}. The sums are computed in {@code long} so that they cannot overflow.
+     * @param a The array to search the three elements in.
+     * @param x The goal value for the sum.
+     * @return Whether three such elements exist.
+     */
+    public static boolean threeSummingElementsShlemiel(int[] a, long x) {
+        for(int i = 0; i < a.length; i++) {
+            for(int j = i + 1; j < a.length; j++) {
+                for(int k = j + 1; k < a.length; k++) {
+                    if((long)a[i] + a[j] + a[k] == x) { return true; }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements, whose sums are compared
+     * to the goal value exactly even when they do not fit in {@code long}.
+     * @param a The array to search the three elements in.
+     * @param x The goal value for the sum.
+     * @return Whether three such elements exist.
+     */
+    public static boolean threeSummingElementsShlemiel(long[] a, long x) {
+        for(int i = 0; i < a.length; i++) {
+            for(int j = i + 1; j < a.length; j++) {
+                for(int k = j + 1; k < a.length; k++) {
+                    if(compareSum(a[i], a[j], a[k], x) == 0) { return true; }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Given an integer array {@code a} guaranteed to be sorted in ascending order, determine
+     * whether it contains three elements in separate positions whose sum equals goal value
+     * {@code x}. The sums are computed in {@code long} so that they cannot overflow.
+     * @param a The array to search the three elements in.
+     * @param x The goal value for the sum.
+     * @return Whether three such elements exist.
+     */
+    public static boolean threeSummingElements(int[] a, long x) {
+        // For each choice of the smallest element, the rest is the two summing elements
+        // problem in the remaining subarray, solved with the same two pointers in O(n).
+        for(int i = 0; i < a.length - 2; i++) {
+            long goal = x - a[i];
+            int lo = i + 1, hi = a.length - 1;
+            while(lo < hi) {
+                long sum = (long)a[lo] + a[hi];
+                if(sum == goal) { return true; }
+                else if(sum < goal) { lo++; }
+                else { hi--; }
+            }
+        }
+        return false;
+        // Total running time is n * O(n) = O(n^2).
+    }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements, whose sums are compared
+     * to the goal value exactly even when they do not fit in {@code long}.
+     * @param a The array to search the three elements in.
+     * @param x The goal value for the sum.
+     * @return Whether three such elements exist.
+     */
+    public static boolean threeSummingElements(long[] a, long x) {
+        for(int i = 0; i < a.length - 2; i++) {
+            int lo = i + 1, hi = a.length - 1;
+            while(lo < hi) {
+                int cmp = compareSum(a[i], a[lo], a[hi], x);
+                if(cmp == 0) { return true; }
+                else if(cmp < 0) { lo++; }
+                else { hi--; }
+            }
+        }
+        return false;
+    }
     
     /**
      * Evaluate the polynomial at the given point x.
@@ -187,6 +430,25 @@ public class Shlemiel {
         }
         return true;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersShlemiel(long[] a, int n) {
+        outer:
+        for(int num = 1; num <= n; num++) {
+            for(long e: a) {
+                if(e == num) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
     
     /**
      * Given an {@code n}-element integer array, determine whether it contains
@@ -197,7 +459,19 @@ public class Shlemiel {
      */
     public static boolean containsAllNumbersSorting(int[] a, int n) {
         // In many problems, we can do better by sorting the array first.
-        Arrays.sort(a); // O(n log n) stage dominates asymptotic running time
+        return containsAllNumbersSorting(a, n, Arrays::sort); // O(n log n) stage dominates asymptotic running time
+    }
+
+    /**
+     * Same as {@link #containsAllNumbersSorting(int[], int)}, but sorts the array with the
+     * given sorting algorithm, such as {@code IntRadixSort::sort} that runs in linear time.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @param sorter The algorithm that sorts the array in place.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersSorting(int[] a, int n, Consumer<int[]> sorter) {
+        sorter.accept(a);
         for(int i = 0; i < n; i++) { // O(n)
             if(a[i] != i+1) { // Verify that each position contains the expected element.
                 return false;
@@ -205,6 +479,35 @@ public class Shlemiel {
         }
         return true;
     }
+
+    /**
+     * Same as {@link #containsAllNumbersSorting(int[], int)}, but for an array of {@code long}
+     * elements.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersSorting(long[] a, int n) {
+        return containsAllNumbersSorting(a, n, Arrays::sort);
+    }
+
+    /**
+     * Same as {@link #containsAllNumbersSorting(int[], int, Consumer)}, but for an array of
+     * {@code long} elements.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @param sorter The algorithm that sorts the array in place.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersSorting(long[] a, int n, Consumer<long[]> sorter) {
+        sorter.accept(a);
+        for(int i = 0; i < n; i++) {
+            if(a[i] != i+1) {
+                return false;
+            }
+        }
+        return true;
+    }
     
     /**
      * Given an {@code n}-element integer array, determine whether it contains
@@ -226,6 +529,23 @@ public class Shlemiel {
         }
         return true;
     }        
+
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param a The array to check.
+     * @param n The largest value to look for.
+     * @return {@code true} if each number occurs exactly once, {@code false} otherwise.
+     */
+    public static boolean containsAllNumbersLinear(long[] a, int n) {
+        boolean[] alreadySeen = new boolean[n + 1];
+        for(long e : a) {
+            if(e < 1 || e > n || alreadySeen[(int)e]) {
+                return false;
+            }
+            alreadySeen[(int)e] = true;
+        }
+        return true;
+    }
     
     /**
      * Remove all strings from the given arraylist of strings whose length is shorter than {@code len}.
@@ -260,6 +580,17 @@ public class Shlemiel {
         // Total worst case running time is 3 * O(n) = O(n)
     }
 
+    /**
+     * Remove all strings from the given arraylist of strings whose length is shorter than {@code len}.
+     * @param strings The arraylist of strings to process.
+     * @param len The threshold length for a string to remain in the list.
+     */
+    public static void removeShortStringsInPlace(ArrayList<String> strings, int len) {
+        // Move each survivor directly to its final position, without any temporary buffer.
+        Compaction.retainIf(strings, e -> e.length() >= len);
+        // Total worst case running time is O(n), each reference being touched only once.
+    }
+
     /**
      * Determine whether the array {@code items} contains a strict majority element.
      * @param items The array from which the look for the majority element.
@@ -276,6 +607,22 @@ public class Shlemiel {
         return false;
     }
 
+    /**
+     * Same as previous, but for an array of {@code long} elements.
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean hasMajorityShlemiel(long[] items) {
+        for(long e: items) {
+            int edge = 0;
+            for(long ee: items) {
+                edge += (ee == e? +1 : -1);
+            }
+            if(edge > 0) { return true; }
+        }
+        return false;
+    }
+
     /**
      * Determine whether the array {@code items} contains a strict majority element.
      * @param items The array from which the look for the majority element.
@@ -294,6 +641,44 @@ public class Shlemiel {
         return false;
     }
 
+    /**
+     * Same as previous, but for an array of {@code long} elements. There is no primitive
+     * counterpart of {@code IntIntHashMap} for {@code long} keys, so this is also the
+     * version of the next method for {@code long} elements.
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean hasMajorityHashMap(long[] items) {
+        HashMap<Long, Integer> counters = new HashMap<>();
+        for(long e: items) {
+            counters.put(e, counters.getOrDefault(e, 0) + 1);
+        }
+        for(long e: counters.keySet()) {
+            if(counters.get(e) * 2 > items.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determine whether the array {@code items} contains a strict majority element.
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean hasMajorityIntHashMap(int[] items) {
+        // Same algorithm as previous, but the primitive map does not box keys and counts
+        // into separate Integer objects, or allocate a separate entry object for each key.
+        IntIntHashMap counters = new IntIntHashMap();
+        for(int e: items) {
+            // Early exit is possible since a count never decreases.
+            if(counters.addTo(e, 1) * 2 > items.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Determine whether the array {@code items} contains a strict majority element.
      * @param items The array from which the look for the majority element.
@@ -316,4 +701,28 @@ public class Shlemiel {
         }
         return edge > 0;
     }
+
+    /**
+     * Same as previous, but for an array of {@code long} elements. (Note that the vote
+     * counter itself can never overflow, since its value is at most the array length.)
+     * @param items The array from which the look for the majority element.
+     * @return Whether there exists a majority element.
+     */
+    public static boolean hasMajorityLinear(long[] items) {
+        int edge = 0;
+        long candidate = 0;
+        for(long e: items) {
+            if(edge == 0) {
+                candidate = e; edge = 1;
+            }
+            else {
+                edge += (candidate == e ? +1 : -1);
+            }
+        }
+        edge = 0;
+        for(long e: items) {
+            edge += (candidate == e ? +1 : -1);
+        }
+        return edge > 0;
+    }
 }
\ No newline at end of file
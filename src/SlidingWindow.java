@@ -0,0 +1,234 @@
+/**
+ * Minimum, maximum and sum of every window of {@code w} consecutive elements. The Shlemiel
+ * approach recomputes each window from scratch in {@code O(nw)} time, whereas the linear
+ * versions maintain the answer incrementally as the window slides over the array.
+ */
+public class SlidingWindow {
+
+    private static void checkWindow(int n, int w) {
+        if(w < 1 || w > n) {
+            throw new IllegalArgumentException("Window size " + w + " illegal for array of length " + n);
+        }
+    }
+
+    /**
+     * Compute the minimum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the minimum of {@code a[i..i+w-1]}.
+     */
+    public static int[] slidingMinShlemiel(int[] a, int w) {
+        checkWindow(a.length, w);
+        int[] result = new int[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            int min = a[i];
+            for(int j = i + 1; j < i + w; j++) {
+                if(a[j] < min) { min = a[j]; }
+            }
+            result[i] = min;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the maximum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the maximum of {@code a[i..i+w-1]}.
+     */
+    public static int[] slidingMaxShlemiel(int[] a, int w) {
+        checkWindow(a.length, w);
+        int[] result = new int[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            int max = a[i];
+            for(int j = i + 1; j < i + w; j++) {
+                if(a[j] > max) { max = a[j]; }
+            }
+            result[i] = max;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the sum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the sum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingSumShlemiel(int[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            long sum = 0;
+            for(int j = i; j < i + w; j++) { sum += a[j]; }
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the minimum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the minimum of {@code a[i..i+w-1]}.
+     */
+    public static int[] slidingMin(int[] a, int w) {
+        return slidingExtreme(a, w, false);
+    }
+
+    /**
+     * Compute the maximum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the maximum of {@code a[i..i+w-1]}.
+     */
+    public static int[] slidingMax(int[] a, int w) {
+        return slidingExtreme(a, w, true);
+    }
+
+    private static int[] slidingExtreme(int[] a, int w, boolean max) {
+        checkWindow(a.length, w);
+        int[] result = new int[a.length - w + 1];
+        // Monotonic deque of positions whose elements could still become the extreme of some
+        // future window. Each position enters and leaves the deque at most once, and since no
+        // position ever re-enters, a plain array with head and tail indices suffices.
+        int[] deque = new int[a.length];
+        int head = 0, tail = 0;
+        for(int i = 0; i < a.length; i++) {
+            // Elements that are dominated by the new element can never be the answer again.
+            while(tail > head && (max ? a[deque[tail-1]] <= a[i] : a[deque[tail-1]] >= a[i])) { tail--; }
+            deque[tail++] = i;
+            // The element in front falls out of the window when it gets too old.
+            if(deque[head] <= i - w) { head++; }
+            if(i >= w - 1) { result[i - w + 1] = a[deque[head]]; }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the sum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the sum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingSum(int[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        long sum = 0;
+        for(int i = 0; i < a.length; i++) {
+            sum += a[i]; // The new element enters the window...
+            if(i >= w) { sum -= a[i - w]; } // ... and the oldest element leaves it.
+            if(i >= w - 1) { result[i - w + 1] = sum; }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the minimum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the minimum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingMinShlemiel(long[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            long min = a[i];
+            for(int j = i + 1; j < i + w; j++) {
+                if(a[j] < min) { min = a[j]; }
+            }
+            result[i] = min;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the maximum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the maximum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingMaxShlemiel(long[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            long max = a[i];
+            for(int j = i + 1; j < i + w; j++) {
+                if(a[j] > max) { max = a[j]; }
+            }
+            result[i] = max;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the sum of each window of {@code w} consecutive elements. The sums of
+     * {@code long} elements wrap around on overflow, the same as ordinary addition.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the sum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingSumShlemiel(long[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        for(int i = 0; i < result.length; i++) {
+            long sum = 0;
+            for(int j = i; j < i + w; j++) { sum += a[j]; }
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the minimum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the minimum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingMin(long[] a, int w) {
+        return slidingExtreme(a, w, false);
+    }
+
+    /**
+     * Compute the maximum of each window of {@code w} consecutive elements.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the maximum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingMax(long[] a, int w) {
+        return slidingExtreme(a, w, true);
+    }
+
+    private static long[] slidingExtreme(long[] a, int w, boolean max) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        int[] deque = new int[a.length];
+        int head = 0, tail = 0;
+        for(int i = 0; i < a.length; i++) {
+            while(tail > head && (max ? a[deque[tail-1]] <= a[i] : a[deque[tail-1]] >= a[i])) { tail--; }
+            deque[tail++] = i;
+            if(deque[head] <= i - w) { head++; }
+            if(i >= w - 1) { result[i - w + 1] = a[deque[head]]; }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the sum of each window of {@code w} consecutive elements. The sums of
+     * {@code long} elements wrap around on overflow, the same as ordinary addition.
+     * @param a The array to slide the window over.
+     * @param w The size of the window.
+     * @return The array whose element {@code i} is the sum of {@code a[i..i+w-1]}.
+     */
+    public static long[] slidingSum(long[] a, int w) {
+        checkWindow(a.length, w);
+        long[] result = new long[a.length - w + 1];
+        long sum = 0;
+        for(int i = 0; i < a.length; i++) {
+            sum += a[i];
+            if(i >= w) { sum -= a[i - w]; }
+            if(i >= w - 1) { result[i - w + 1] = sum; }
+        }
+        return result;
+    }
+}
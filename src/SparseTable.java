@@ -0,0 +1,88 @@
+/**
+ * Sparse table answers range minimum or range maximum queries over a static array in
+ * {@code O(1)} time after {@code O(n log n)} preprocessing. Row {@code k} of the table
+ * stores the answer for each range of length {@code 2^k}, and since min and max are
+ * idempotent, any range is covered by two possibly overlapping such ranges.
+ */
+public class SparseTable {
+
+    private final boolean max;
+
+    // table[k][i] is the minimum (or maximum) of elements in positions i, ..., i + 2^k - 1.
+    private final long[][] table;
+
+    private SparseTable(long[] a, boolean max) {
+        this.max = max;
+        int levels = a.length < 2 ? 1 : 32 - Integer.numberOfLeadingZeros(a.length);
+        table = new long[levels][];
+        table[0] = a;
+        for(int k = 1; k < levels; k++) {
+            long[] prev = table[k-1];
+            int half = 1 << (k-1);
+            long[] curr = new long[a.length - (1 << k) + 1];
+            for(int i = 0; i < curr.length; i++) {
+                curr[i] = combine(prev[i], prev[i + half]);
+            }
+            table[k] = curr;
+        }
+    }
+
+    private static long[] widen(int[] a) {
+        long[] result = new long[a.length];
+        for(int i = 0; i < a.length; i++) { result[i] = a[i]; }
+        return result;
+    }
+
+    /**
+     * Create a sparse table for range minimum queries over the given array.
+     * @param a The array to query.
+     * @return The new sparse table.
+     */
+    public static SparseTable min(int[] a) { return new SparseTable(widen(a), false); }
+
+    /**
+     * Create a sparse table for range minimum queries over the given array.
+     * @param a The array to query.
+     * @return The new sparse table.
+     */
+    public static SparseTable min(long[] a) { return new SparseTable(a.clone(), false); }
+
+    /**
+     * Create a sparse table for range maximum queries over the given array.
+     * @param a The array to query.
+     * @return The new sparse table.
+     */
+    public static SparseTable max(int[] a) { return new SparseTable(widen(a), true); }
+
+    /**
+     * Create a sparse table for range maximum queries over the given array.
+     * @param a The array to query.
+     * @return The new sparse table.
+     */
+    public static SparseTable max(long[] a) { return new SparseTable(a.clone(), true); }
+
+    private long combine(long x, long y) {
+        return max ? Math.max(x, y) : Math.min(x, y);
+    }
+
+    /**
+     * Return the number of elements in the underlying array.
+     * @return The number of elements.
+     */
+    public int size() { return table[0].length; }
+
+    /**
+     * Compute the minimum (or maximum) of the elements in positions {@code from, ..., to-1}.
+     * @param from The first position of the range, inclusive.
+     * @param to The last position of the range, exclusive.
+     * @return The minimum (or maximum) of the nonempty range.
+     */
+    public long query(int from, int to) {
+        if(from < 0 || to > size() || from >= to) {
+            throw new IndexOutOfBoundsException("Illegal range [" + from + ", " + to + ")");
+        }
+        // The largest power of two that fits inside the range.
+        int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        return combine(table[k][from], table[k][to - (1 << k)]);
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel that schedules and cancels timers in {@code O(1)} time, instead
+ * of the {@code O(log n)} time of a priority queue. Time advances in discrete ticks. Each
+ * level of the wheel is a circular array of buckets, and each bucket is a {@code DLList} of
+ * the timers that expire in the same slot. The buckets of level 0 are one tick wide, and
+ * the buckets of each higher level are as wide as the entire level below it. A new timer goes
+ * to the lowest level whose span reaches its deadline.
+ *
+ * At each tick, when the slots of the lower levels have wrapped around, the timers of the
+ * current bucket of each higher level are cascaded down to the lower levels, where they are
+ * now close enough to their deadlines. The current bucket of level 0 is then detached as a
+ * whole and its timers are run as one batch. Each timer within the span of the wheel moves
+ * down at most once per level, so its total cost does not depend on the number of timers.
+ *
+ * The node of the timer in its bucket is the handle returned by {@code schedule}, so that
+ * the timer can be cancelled by unlinking its node. The wheel can be advanced manually with
+ * {@code tick}, or by running its {@code driver} in a thread that follows the real time.
+ * All operations are safe to call from several threads, and the tasks of the timers run
+ * without holding the lock of the wheel, so they can schedule and cancel timers themselves.
+ */
+public class TimingWheel {
+
+    /**
+     * A task scheduled to run at the given tick.
+     */
+    public static final class Timer {
+        private final long deadline;
+        private final Runnable task;
+        // Whether the timer is still waiting in its bucket, guarded by the lock of the wheel.
+        private boolean pending = true;
+
+        private Timer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Return the tick at which this timer expires.
+         * @return The tick of expiry.
+         */
+        public long getDeadline() { return deadline; }
+
+        /**
+         * Return the task that this timer runs when it expires.
+         * @return The task of this timer.
+         */
+        public Runnable getTask() { return task; }
+
+        @Override public String toString() { return "Timer@" + deadline; }
+    }
+
+    private final int slotBits, levels;
+    private final int mask;
+    // The buckets of each level, indexed by level and then by slot.
+    private final DLList<Timer>[][] buckets;
+    // The ticks that have been completed, so that the timers due at this tick have run.
+    private long now;
+    private int size;
+    // Set to stop the driver.
+    private volatile boolean stopped;
+
+    /**
+     * Create a wheel with four levels of 64 slots each, for a total span of {@code 2^24}
+     * ticks. Timers farther in the future than that are parked in the highest level until
+     * their deadline is within the span.
+     */
+    public TimingWheel() {
+        this(6, 4);
+    }
+
+    /**
+     * Create a wheel with the given number of levels of {@code 2^slotBits} slots each.
+     * @param slotBits The base two logarithm of the number of slots per level.
+     * @param levels The number of levels.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotBits, int levels) {
+        if(slotBits < 1 || levels < 1 || (long)slotBits * levels > 62) {
+            throw new IllegalArgumentException("Cannot have " + levels + " levels of " + slotBits + " bits");
+        }
+        this.slotBits = slotBits;
+        this.levels = levels;
+        this.mask = (1 << slotBits) - 1;
+        this.buckets = (DLList<Timer>[][])new DLList<?>[levels][1 << slotBits];
+        for(int level = 0; level < levels; level++) {
+            for(int slot = 0; slot <= mask; slot++) { buckets[level][slot] = new DLList<>(); }
+        }
+    }
+
+    /**
+     * Schedule the given task to run after the given number of ticks.
+     * @param task The task to run.
+     * @param delay The number of ticks from now, at least one, since the current tick has
+     * already been completed.
+     * @return The handle of the timer, to be given to {@link #cancel(DLNode)}.
+     */
+    public synchronized DLNode<Timer> schedule(Runnable task, long delay) {
+        if(delay < 1) { throw new IllegalArgumentException("Delay " + delay + " is not positive"); }
+        long deadline = delay > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delay;
+        DLNode<Timer> node = new DLNode<>(new Timer(deadline, task));
+        place(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Cancel the timer of the given handle, if it has not yet expired or been cancelled.
+     * @param handle The handle returned by {@link #schedule(Runnable, long)}.
+     * @return Whether the timer was cancelled by this call.
+     */
+    public synchronized boolean cancel(DLNode<Timer> handle) {
+        Timer timer = handle.getKey();
+        if(!timer.pending) { return false; }
+        timer.pending = false;
+        handle.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Return the number of timers that have neither expired nor been cancelled.
+     * @return The number of pending timers.
+     */
+    public synchronized int size() { return size; }
+
+    /**
+     * Return the number of ticks completed so far.
+     * @return The current tick.
+     */
+    public synchronized long getTicks() { return now; }
+
+    /**
+     * Advance the wheel by one tick, and run the tasks of the timers that expire at it. If
+     * some tasks throw an exception, the remaining tasks are still run, and the first
+     * exception is then rethrown with the others added to it as suppressed.
+     * @return The number of timers that expired.
+     */
+    public int tick() {
+        DLList<Timer> batch;
+        int count = 0;
+        synchronized(this) {
+            now++;
+            // Cascade from the highest level whose lower levels have all wrapped around,
+            // since its timers may land in the current buckets of the levels below it.
+            int top = 0;
+            while(top + 1 < levels && (now & ((1L << (slotBits * (top + 1))) - 1)) == 0) { top++; }
+            for(int level = top; level >= 1; level--) {
+                DLList<Timer> cascade = buckets[level][slot(now, level)].drain();
+                while(!cascade.isEmpty()) { place(cascade.removeFront()); }
+            }
+            // Detach the whole bucket of this tick, and move its expired timers to the batch,
+            // after which cancel can no longer reach them. With only one level, the bucket can
+            // also contain timers parked beyond the span of the wheel, which are placed again.
+            DLList<Timer> bucket = buckets[0][slot(now, 0)].drain();
+            batch = new DLList<>();
+            while(!bucket.isEmpty()) {
+                DLNode<Timer> node = bucket.removeFront();
+                if(node.getKey().deadline > now) { place(node); continue; }
+                node.getKey().pending = false;
+                batch.linkBack(node);
+                count++;
+            }
+            size -= count;
+        }
+        RuntimeException failure = null;
+        while(!batch.isEmpty()) {
+            try { batch.removeFront().getKey().task.run(); }
+            catch(RuntimeException e) {
+                if(failure == null) { failure = e; } else { failure.addSuppressed(e); }
+            }
+        }
+        if(failure != null) { throw failure; }
+        return count;
+    }
+
+    /**
+     * Advance the wheel by the given number of ticks, one tick at a time.
+     * @param ticks The number of ticks to advance.
+     * @return The total number of timers that expired.
+     */
+    public int advance(long ticks) {
+        int count = 0;
+        for(long i = 0; i < ticks; i++) { count += tick(); }
+        return count;
+    }
+
+    /**
+     * Create the loop that ticks this wheel in real time, once per given duration, until
+     * {@link #stop()} is called or its thread is interrupted. If the loop falls behind, it
+     * catches up by ticking several times in a row. An exception from a task is passed to
+     * the uncaught exception handler of the thread, after which the loop continues. The loop
+     * can be run in a dedicated thread or in an {@code Executor}, and since it spends almost
+     * all of its time sleeping, it is also suited for running in a virtual thread.
+     * @param tickDuration The duration of one tick.
+     * @param unit The unit of the duration.
+     * @return The loop to run.
+     */
+    public Runnable driver(long tickDuration, TimeUnit unit) {
+        long tickNanos = unit.toNanos(tickDuration);
+        if(tickNanos < 1) { throw new IllegalArgumentException("Tick duration must be positive"); }
+        return () -> {
+            long start = System.nanoTime(), done = 0;
+            while(!stopped && !Thread.currentThread().isInterrupted()) {
+                long due = (System.nanoTime() - start) / tickNanos;
+                while(done < due && !stopped) {
+                    try { tick(); }
+                    catch(RuntimeException e) {
+                        Thread t = Thread.currentThread();
+                        t.getUncaughtExceptionHandler().uncaughtException(t, e);
+                    }
+                    done++;
+                }
+                try { TimeUnit.NANOSECONDS.sleep(start + (done + 1) * tickNanos - System.nanoTime()); }
+                catch(InterruptedException e) { return; }
+            }
+        };
+    }
+
+    /**
+     * Stop the driver of this wheel after its current tick.
+     */
+    public void stop() { stopped = true; }
+
+    // The slot of the given tick in the given level.
+    private int slot(long tick, int level) {
+        return (int)(tick >>> (slotBits * level)) & mask;
+    }
+
+    // Link the node of a pending timer into the bucket of the lowest level that reaches it.
+    private void place(DLNode<Timer> node) {
+        long deadline = node.getKey().deadline;
+        long delta = deadline - now;
+        for(int level = 0; level < levels; level++) {
+            if(delta >> (slotBits * (level + 1)) == 0) {
+                buckets[level][slot(deadline, level)].linkBack(node);
+                return;
+            }
+        }
+        // Beyond the span of the wheel, park the timer in the farthest bucket of the highest
+        // level, from which it is placed again when that bucket is cascaded.
+        long farthest = now + (1L << (slotBits * levels)) - 1;
+        buckets[levels - 1][slot(farthest, levels - 1)].linkBack(node);
+    }
+}
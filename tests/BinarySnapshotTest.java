@@ -0,0 +1,208 @@
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinarySnapshotTest {
+
+    private static final int SEED = 12345;
+
+    private static int[] createSorted(Random rng, int n) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) {
+            switch(rng.nextInt(3)) {
+                case 0: a[i] = rng.nextInt(); break;
+                case 1: a[i] = rng.nextInt(3*n + 1) - n; break;
+                default: a[i] = rng.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            }
+        }
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Test public void testRoundTrips() throws IOException {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 200; n++) {
+            int[] sorted = createSorted(rng, n);
+            int[] unsorted = new int[n];
+            Integer[] keys = new Integer[n];
+            String[] words = new String[n];
+            for(int i = 0; i < n; i++) {
+                unsorted[i] = rng.nextInt();
+                keys[i] = rng.nextInt(2*n + 1) - n;
+                words[i] = "\u00e4" + "x".repeat(rng.nextInt(40)) + i;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            // Small buffers, so that values and arrays are split between several flushes.
+            BinarySnapshot.Output out = new BinarySnapshot.Output(Channels.newChannel(bytes), 16 + rng.nextInt(32));
+            BinarySnapshot.writeList(out, new DLList<>(keys), BinarySnapshot.INTEGERS);
+            BinarySnapshot.writeSorted(out, sorted, 1 + rng.nextInt(10));
+            BinarySnapshot.writeList(out, new DLList<>(words), BinarySnapshot.STRINGS);
+            BinarySnapshot.writeInts(out, unsorted);
+            BinarySnapshot.writeSorted(out, sorted);
+            out.flush();
+            BinarySnapshot.Input in = new BinarySnapshot.Input(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), 16 + rng.nextInt(32));
+            assertEquals(Arrays.toString(keys), BinarySnapshot.readList(in, BinarySnapshot.INTEGERS).toString());
+            assertArrayEquals(sorted, BinarySnapshot.readInts(in));
+            BinarySnapshot.skipRecord(in, BinarySnapshot.STRINGS);
+            assertArrayEquals(unsorted, BinarySnapshot.readInts(in));
+            assertArrayEquals(sorted, BinarySnapshot.readInts(in));
+            // The same bytes read directly from a buffer, skipping the other kinds of records.
+            in = new BinarySnapshot.Input(ByteBuffer.wrap(bytes.toByteArray()));
+            BinarySnapshot.skipRecord(in, BinarySnapshot.INTEGERS);
+            BinarySnapshot.skipRecord(in, null);
+            assertEquals(Arrays.toString(words), BinarySnapshot.readList(in, BinarySnapshot.STRINGS).toString());
+            BinarySnapshot.skipRecord(in, null);
+            assertArrayEquals(sorted, BinarySnapshot.readInts(in));
+        }
+    }
+
+    @Test public void testDeltaIndexSearch() throws IOException {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            int[] a = createSorted(rng, n);
+            int blockSize = 1 + rng.nextInt(20);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinarySnapshot.Output out = new BinarySnapshot.Output(Channels.newChannel(bytes));
+            BinarySnapshot.writeInts(out, new int[] {1, 2, 3});
+            out.flush();
+            int start = bytes.size();
+            BinarySnapshot.writeSorted(out, a, blockSize);
+            out.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            buffer.position(start);
+            BinarySnapshot.DeltaIndex index = new BinarySnapshot.DeltaIndex(buffer);
+            assertEquals(bytes.size(), buffer.position());
+            assertEquals(n, index.size());
+            for(int i = 0; i < n; i++) { assertEquals(a[i], index.get(i)); }
+            for(int j = 0; j < 20; j++) {
+                int x = j < 10 && n > 0 ? a[rng.nextInt(n)] + rng.nextInt(3) - 1 : rng.nextInt();
+                assertEquals(ArraySearchDemo.binarySearch(a, x), index.lowerBound(x));
+                assertEquals(ArraySearchDemo.linearSearch(a, x), index.indexOf(x));
+            }
+        }
+    }
+
+    @Test public void testMappedFile() throws IOException {
+        Random rng = new Random(SEED);
+        int[] a = new int[100_000];
+        for(int i = 1; i < a.length; i++) { a[i] = a[i-1] + rng.nextInt(100); }
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                BinarySnapshot.Output out = new BinarySnapshot.Output(channel);
+                BinarySnapshot.writeSorted(out, a);
+                out.flush();
+            }
+            // Small deltas take one byte each, so the record is little over a quarter of the raw format.
+            long size = Files.size(path);
+            assertTrue(size < a.length * 4L / 3);
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                BinarySnapshot.DeltaIndex index = new BinarySnapshot.DeltaIndex(mapped);
+                for(int j = 0; j < 1000; j++) {
+                    int x = rng.nextInt(a[a.length - 1] + 2);
+                    assertEquals(ArraySearchDemo.binarySearch(a, x), index.lowerBound(x));
+                }
+                channel.position(0);
+                assertArrayEquals(a, BinarySnapshot.readInts(new BinarySnapshot.Input(channel)));
+            }
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test public void testCorruptSnapshots() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinarySnapshot.Output out = new BinarySnapshot.Output(Channels.newChannel(bytes));
+        BinarySnapshot.writeSorted(out, new int[] {1, 2, 3, 5, 8, 13});
+        out.flush();
+        byte[] data = bytes.toByteArray();
+        try {
+            BinarySnapshot.readList(new BinarySnapshot.Input(ByteBuffer.wrap(data)), BinarySnapshot.INTEGERS);
+            fail();
+        }
+        catch(StreamCorruptedException expected) { }
+        try {
+            BinarySnapshot.readInts(new BinarySnapshot.Input(ByteBuffer.wrap(data, 0, data.length - 1)));
+            fail();
+        }
+        catch(EOFException expected) { }
+        try {
+            new BinarySnapshot.DeltaIndex(ByteBuffer.wrap(data, 0, data.length - 1));
+            fail();
+        }
+        catch(EOFException expected) { }
+        // A header that claims too many blocks, whose index size would wrap around in int.
+        ByteBuffer huge = ByteBuffer.wrap(data.clone());
+        huge.putInt(4, Integer.MAX_VALUE).putInt(8, 1).putInt(12, 0);
+        try {
+            new BinarySnapshot.DeltaIndex(huge);
+            fail();
+        }
+        catch(EOFException expected) { }
+        // A header whose deltas are too short for the number of elements it claims.
+        ByteBuffer inconsistent = ByteBuffer.wrap(data.clone());
+        inconsistent.putInt(4, Integer.MAX_VALUE).putInt(8, Integer.MAX_VALUE).putInt(12, 0);
+        try {
+            BinarySnapshot.readInts(new BinarySnapshot.Input(inconsistent.duplicate()));
+            fail();
+        }
+        catch(StreamCorruptedException expected) { }
+        try {
+            new BinarySnapshot.DeltaIndex(inconsistent);
+            fail();
+        }
+        catch(StreamCorruptedException expected) { }
+        // Consistent headers that claim more data than remains are rejected before the
+        // array or the list is allocated.
+        inconsistent.putInt(12, Integer.MAX_VALUE);
+        try {
+            BinarySnapshot.readInts(new BinarySnapshot.Input(inconsistent.duplicate()));
+            fail();
+        }
+        catch(EOFException expected) { }
+        bytes.reset();
+        BinarySnapshot.writeInts(out, new int[] {1, 2, 3});
+        out.flush();
+        ByteBuffer ints = ByteBuffer.wrap(bytes.toByteArray());
+        ints.put(4, (byte)0xFF).put(5, (byte)0xFF).put(6, (byte)0xFF).put(7, (byte)0xFF).put(8, (byte)0x07);
+        try {
+            BinarySnapshot.readInts(new BinarySnapshot.Input(ints));
+            fail();
+        }
+        catch(EOFException expected) { }
+        // A list header that claims 2^40 keys, followed by the magic of the next record.
+        ByteBuffer list = ByteBuffer.wrap(data.clone());
+        list.putInt(0, 0x444c4c31).put(4, (byte)0x80).put(5, (byte)0x80).put(6, (byte)0x80)
+            .put(7, (byte)0x80).put(8, (byte)0x80).put(9, (byte)0x20);
+        try {
+            BinarySnapshot.readList(new BinarySnapshot.Input(list), BinarySnapshot.INTEGERS);
+            fail();
+        }
+        catch(EOFException expected) { }
+        try {
+            BinarySnapshot.writeSorted(out, new int[] {2, 1});
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class CompactionTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testRetainIf() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 500; n++) {
+            Integer[] items = new Integer[n];
+            for(int i = 0; i < n; i++) {
+                items[i] = rng.nextInt(100);
+            }
+            int limit = rng.nextInt(101);
+            Predicate<Integer> keep = e -> e < limit;
+            List<Integer> expected = new ArrayList<>(Arrays.asList(items));
+            expected.removeIf(keep.negate());
+            ArrayList<Integer> arrayList = new ArrayList<>(Arrays.asList(items));
+            Compaction.retainIf(arrayList, keep);
+            assertEquals(expected, arrayList);
+            LinkedList<Integer> linkedList = new LinkedList<>(Arrays.asList(items));
+            Compaction.retainIf(linkedList, keep);
+            assertEquals(expected, linkedList);
+            Integer[] expectedArray = expected.toArray(new Integer[0]);
+            assertArrayEquals(expectedArray, Compaction.parallelRetainIf(items, keep, rng.nextInt(20) + 1));
+            assertArrayEquals(expectedArray, Compaction.parallelRetainIf(items, keep));
+            int[] primitives = new int[n];
+            for(int i = 0; i < n; i++) { primitives[i] = items[i]; }
+            int len = Compaction.retainIf(primitives, e -> e < limit);
+            assertArrayEquals(expected.stream().mapToInt(e -> e).toArray(), Arrays.copyOf(primitives, len));
+            len = Compaction.retainIf(items, keep);
+            assertArrayEquals(expectedArray, Arrays.copyOf(items, len));
+            for(int i = len; i < n; i++) { assertNull(items[i]); }
+        }
+    }
+
+    @Test public void testRetainIfFixedSize() {
+        List<Integer> fixed = Arrays.asList(1, 2, 3, 4, 5);
+        // Keeping every element needs no removal, so the fixed size list is fine.
+        Compaction.retainIf(fixed, e -> true);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), fixed);
+        // Otherwise the list refuses the removal before any element has been moved.
+        try {
+            Compaction.retainIf(fixed, e -> e % 2 == 1);
+            fail();
+        }
+        catch(UnsupportedOperationException expected) { }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), fixed);
+    }
+
+    @Test public void testParallelRetainIfLarge() {
+        Random rng = new Random(SEED);
+        String[] items = new String[200_000];
+        for(int i = 0; i < items.length; i++) {
+            items[i] = "" + rng.nextInt(1000);
+        }
+        String[] expected = Arrays.stream(items).filter(s -> s.length() > 2).toArray(String[]::new);
+        String[] result = Compaction.parallelRetainIf(items, s -> s.length() > 2);
+        assertArrayEquals(expected, result);
+        assertEquals(String[].class, result.getClass());
+    }
+}
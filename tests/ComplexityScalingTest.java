@@ -0,0 +1,68 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class ComplexityScalingTest {
+
+    private static final double EPS = 0.00001;
+
+    // The tests that measure running times depend on the load of the machine, so they are
+    // run only on request with mvn test -Pperformance, which sets this system property.
+    private static void assumePerformanceTests() {
+        assumeTrue("Timing tests need -Dperformance=true", Boolean.getBoolean("performance"));
+    }
+
+    @Test public void testFitPowerLaw() {
+        double[] ns = {100, 200, 400, 800, 1600};
+        for(double k = 0.5; k <= 3; k += 0.5) {
+            double[] times = new double[ns.length];
+            for(int i = 0; i < ns.length; i++) { times[i] = 3 * Math.pow(ns[i], k); }
+            ComplexityScaling.Fit fit = ComplexityScaling.fit(ns, times);
+            assertEquals(k, fit.getExponent(), EPS);
+            assertEquals(Math.log(3), fit.getIntercept(), EPS);
+            assertEquals(1, fit.getR2(), EPS);
+            assertEquals(3 * Math.pow(5000, k), fit.predict(5000), 3 * Math.pow(5000, k) * EPS);
+        }
+    }
+
+    @Test public void testCrossover() {
+        double[] ns = {10, 20, 40, 80};
+        double[] linear = new double[ns.length], quadratic = new double[ns.length];
+        for(int i = 0; i < ns.length; i++) {
+            linear[i] = 10 * ns[i];
+            quadratic[i] = 0.1 * ns[i] * ns[i];
+        }
+        ComplexityScaling.Fit f1 = ComplexityScaling.fit(ns, linear), f2 = ComplexityScaling.fit(ns, quadratic);
+        assertEquals(100, f1.crossover(f2), EPS);
+        assertEquals(100, f2.crossover(f1), EPS);
+        assertTrue(Double.isNaN(f1.crossover(f1)));
+    }
+
+    @Test public void testLinearVersionsAreLinear() {
+        assumePerformanceTests();
+        for(ComplexityScaling.Case c: ComplexityScaling.linearCases()) {
+            ComplexityScaling.Result result = ComplexityScaling.measure(c);
+            assertTrue(result.toString(), result.isWithinDeclared());
+        }
+    }
+
+    @Test public void testShlemielVersionsAreQuadratic() {
+        assumePerformanceTests();
+        for(ComplexityScaling.Case c: ComplexityScaling.shlemielCases()) {
+            ComplexityScaling.Result result = ComplexityScaling.measure(c);
+            assertTrue(result.toString(), result.isWithinDeclared());
+            assertTrue(result.toString(), result.getFit().getExponent() > 1.5);
+        }
+    }
+
+    @Test public void testQuadraticDeclaredLinearFails() {
+        assumePerformanceTests();
+        ComplexityScaling.Case c = new ComplexityScaling.Case("accumulateShlemiel", 1, 1 << 9, 1 << 13, n -> {
+            int[] a = new int[n];
+            return () -> Shlemiel.accumulateShlemiel(a);
+        });
+        assertTrue(!ComplexityScaling.measure(c).isWithinDeclared());
+    }
+}
@@ -76,4 +76,42 @@ public class DLListTest {
         }
         assertEquals("[2, 3, 4, 5, 6, 7, 8, 9, 10]", list.toString());
     }
+
+    @Test public void testDrain() {
+        DLList<Integer> list = new DLList<>(Arrays.asList(1, 2, 3));
+        DLNode<Integer> node = list.removeFront();
+        DLList<Integer> drained = list.drain();
+        assertEquals(true, list.isEmpty());
+        assertEquals("[]", list.toString());
+        assertEquals("[2, 3]", drained.toString());
+        // The same node can be linked back, and the drained list still works as usual.
+        drained.linkBack(node);
+        drained.insertFront(0);
+        assertEquals("[0, 2, 3, 1]", drained.toString());
+        list.insertBack(4);
+        assertEquals("[4]", list.toString());
+        assertEquals("[]", new DLList<Integer>().drain().toString());
+    }
+
+    @Test public void testChain() {
+        DLList<Integer> list = new DLList<>(Arrays.asList(1, 2));
+        DLList.Chain<Integer> chain = new DLList.Chain<>();
+        assertEquals(true, chain.isEmpty());
+        list.spliceBack(chain);
+        assertEquals("[1, 2]", list.toString());
+        for(int i = 3; i <= 5; i++) { chain.add(i); }
+        list.spliceBack(chain);
+        assertEquals(true, chain.isEmpty());
+        assertEquals("[1, 2, 3, 4, 5]", list.toString());
+        // The spliced list is cyclic in both directions, and the chain can be reused.
+        assertEquals(5, (int)list.removeBack().getKey());
+        list.insertFront(0);
+        DLNode<Integer> node = chain.add(6);
+        DLList<Integer> other = new DLList<>();
+        other.spliceBack(chain);
+        assertEquals("[0, 1, 2, 3, 4]", list.toString());
+        assertEquals("[6]", other.toString());
+        assertEquals(node, other.removeFront());
+        assertEquals(true, other.isEmpty());
+    }
 }
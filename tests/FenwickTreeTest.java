@@ -0,0 +1,84 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FenwickTreeTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testPointUpdates() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n;
+            }
+            FenwickTree tree1 = new FenwickTree(items);
+            FenwickTree tree2 = FenwickTree.fromPrefixSums(Shlemiel.accumulate(items));
+            for(int round = 0; round < 20; round++) {
+                int i = rng.nextInt(n);
+                int delta = rng.nextInt(2*n + 1) - n;
+                items[i] += delta;
+                tree1.add(i, delta);
+                tree2.set(i, items[i]);
+                // After each update, compare against the accumulation recomputed from scratch.
+                int[] expected = Shlemiel.accumulateShlemiel(items);
+                for(int j = 0; j < n; j++) {
+                    assertEquals(expected[j], tree1.prefixSum(j));
+                    assertEquals(expected[j], tree2.prefixSum(j));
+                }
+                int from = rng.nextInt(n + 1), to = from + rng.nextInt(n - from + 1);
+                long sum = 0;
+                for(int j = from; j < to; j++) { sum += items[j]; }
+                assertEquals(sum, tree1.rangeSum(from, to));
+                assertEquals(items[i], tree2.get(i));
+            }
+        }
+    }
+
+    @Test public void testWrappedPrefixSums() {
+        int[] items = {Integer.MAX_VALUE, 5, 7};
+        // The accumulation array {MAX, MIN+4, MIN+11} has wrapped around in int.
+        FenwickTree tree = FenwickTree.fromPrefixSums(Shlemiel.accumulate(items));
+        assertEquals(5, tree.get(1));
+        assertEquals(Integer.MAX_VALUE + 12L, tree.prefixSum(2));
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 100; n++) {
+            items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextBoolean() ? Integer.MAX_VALUE - rng.nextInt(n) : Integer.MIN_VALUE + rng.nextInt(n);
+            }
+            tree = FenwickTree.fromPrefixSums(Shlemiel.accumulate(items));
+            long sum = 0;
+            for(int j = 0; j < n; j++) {
+                sum += items[j];
+                assertEquals(items[j], tree.get(j));
+                assertEquals(sum, tree.prefixSum(j));
+            }
+        }
+    }
+
+    @Test public void testRangeUpdates() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n;
+            }
+            FenwickTree.RangeUpdate tree = new FenwickTree.RangeUpdate(items);
+            for(int round = 0; round < 20; round++) {
+                int from = rng.nextInt(n + 1), to = from + rng.nextInt(n - from + 1);
+                int delta = rng.nextInt(2*n + 1) - n;
+                for(int j = from; j < to; j++) { items[j] += delta; }
+                tree.add(from, to, delta);
+                int[] expected = Shlemiel.accumulateShlemiel(items);
+                for(int j = 0; j < n; j++) {
+                    assertEquals(expected[j], tree.prefixSum(j));
+                    assertEquals(items[j], tree.get(j));
+                }
+            }
+        }
+    }
+}
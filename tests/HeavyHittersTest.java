@@ -0,0 +1,87 @@
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HeavyHittersTest {
+
+    private static final int SEED = 12345;
+
+    private static int[] createItems(Random rng, int n) {
+        // Skewed distribution so that some elements are frequent and most are rare.
+        int[] items = new int[n];
+        for(int j = 0; j < n; j++) {
+            int r = rng.nextInt(100);
+            items[j] = r < 30 ? rng.nextInt(3) : r < 60 ? rng.nextInt(20) : rng.nextInt(n * n + 1);
+        }
+        return items;
+    }
+
+    private static void checkSummary(HeavyHitters summary, int[] items, int k) {
+        HashMap<Integer, Long> exact = new HashMap<>();
+        for(int e: items) { exact.merge(e, 1L, Long::sum); }
+        assertEquals(items.length, summary.getCount());
+        assertTrue(summary.getError() <= items.length / (k + 1));
+        assertTrue(summary.candidates().size() <= k);
+        // Every candidate must have correct bounds for its true count...
+        for(HeavyHitters.Candidate c: summary.candidates()) {
+            long count = exact.get(c.getItem());
+            assertTrue(c.getLowerBound() <= count && count <= c.getUpperBound());
+        }
+        // ... and every frequent element must be one of the candidates.
+        for(int e: exact.keySet()) {
+            if(exact.get(e) > items.length / (k + 1)) {
+                assertTrue(summary.candidates().stream().anyMatch(c -> c.getItem() == e));
+            }
+        }
+    }
+
+    @Test public void testSinglePass() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            int[] items = createItems(rng, n);
+            int k = rng.nextInt(10) + 1;
+            HeavyHitters summary = new HeavyHitters(k);
+            summary.addAll(items);
+            checkSummary(summary, items, k);
+        }
+    }
+
+    @Test public void testMerge() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            int[] items = createItems(rng, n);
+            int k = rng.nextInt(10) + 1;
+            // Summarize the array in random partitions, then merge the partition summaries.
+            HeavyHitters total = new HeavyHitters(k);
+            int pos = 0;
+            while(pos < n) {
+                HeavyHitters part = new HeavyHitters(k);
+                int end = Math.min(n, pos + rng.nextInt(n) + 1);
+                for(int j = pos; j < end; j++) { part.add(items[j]); }
+                total.merge(part);
+                pos = end;
+            }
+            checkSummary(total, items, k);
+        }
+    }
+
+    @Test public void testHasMajority() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(n*n);
+            }
+            int copies = rng.nextInt(n/2 + 1) + n/4;
+            int item = items[rng.nextInt(n)];
+            for(int j = 0; j < copies; j++) {
+                items[rng.nextInt(n)] = item;
+            }
+            assertEquals(Shlemiel.hasMajorityHashMap(items), HeavyHitters.hasMajority(items));
+        }
+    }
+}
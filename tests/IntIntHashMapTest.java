@@ -0,0 +1,92 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class IntIntHashMapTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testAgainstHashMap() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            IntIntHashMap map = new IntIntHashMap(rng.nextInt(n));
+            HashMap<Integer, Integer> expected = new HashMap<>();
+            for(int round = 0; round < 10 * n; round++) {
+                // Small key range, including zero and negative keys, for plenty of collisions.
+                int key = rng.nextInt(2*n + 1) - n;
+                int value = rng.nextInt();
+                switch(rng.nextInt(4)) {
+                    case 0: map.put(key, value); expected.put(key, value); break;
+                    case 1: assertEquals((int)expected.merge(key, value, Integer::sum), map.addTo(key, value)); break;
+                    case 2: assertEquals(expected.remove(key) != null, map.remove(key)); break;
+                    default: assertEquals(expected.containsKey(key), map.containsKey(key));
+                }
+                assertEquals((int)expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+                assertEquals(expected.size(), map.size());
+            }
+            HashMap<Integer, Integer> actual = new HashMap<>();
+            map.forEach(actual::put);
+            assertEquals(expected, actual);
+            int[] keys = map.keys();
+            Arrays.sort(keys);
+            assertArrayEquals(expected.keySet().stream().mapToInt(k -> k).sorted().toArray(), keys);
+            map.clear();
+            assertEquals(0, map.size());
+        }
+    }
+
+    @Test public void testIntHashSet() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            IntHashSet set = new IntHashSet();
+            HashSet<Integer> expected = new HashSet<>();
+            for(int round = 0; round < 10 * n; round++) {
+                int key = rng.nextInt(2*n + 1) - n;
+                if(rng.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), set.remove(key));
+                }
+                else {
+                    assertEquals(expected.add(key), set.add(key));
+                }
+                assertEquals(expected.contains(key), set.contains(key));
+                assertEquals(expected.size(), set.size());
+            }
+            int[] elements = set.toArray();
+            Arrays.sort(elements);
+            assertArrayEquals(expected.stream().mapToInt(k -> k).sorted().toArray(), elements);
+        }
+    }
+
+    @Test public void testTableSizeFor() {
+        assertEquals(4, IntIntHashMap.tableSizeFor(0));
+        assertEquals(4, IntIntHashMap.tableSizeFor(2));
+        // Exactly at the load factor, the expected keys fit without doubling the table.
+        assertEquals(32, IntIntHashMap.tableSizeFor(16));
+        assertEquals(64, IntIntHashMap.tableSizeFor(17));
+        assertEquals(8192, IntIntHashMap.tableSizeFor(4096));
+        assertEquals(IntIntHashMap.MAX_CAPACITY, IntIntHashMap.tableSizeFor(IntIntHashMap.MAX_CAPACITY / 2));
+        try {
+            IntIntHashMap.tableSizeFor(IntIntHashMap.MAX_CAPACITY / 2 + 1);
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+
+    @Test public void testGrowthLimit() {
+        assertEquals(32, IntIntHashMap.grow(16));
+        assertEquals(IntIntHashMap.MAX_CAPACITY, IntIntHashMap.grow(IntIntHashMap.MAX_CAPACITY / 2));
+        // Doubling the largest table would overflow int, so it is refused instead.
+        try {
+            IntIntHashMap.grow(IntIntHashMap.MAX_CAPACITY);
+            fail();
+        }
+        catch(IllegalStateException expected) { }
+    }
+}
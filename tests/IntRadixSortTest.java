@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntRadixSortTest {
+
+    private static final int SEED = 12345;
+
+    // Values from a range that depends on the shape, including the extremes of int.
+    private static int[] createItems(Random rng, int n, int shape) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) {
+            switch(shape) {
+                case 0: a[i] = rng.nextInt(); break;
+                case 1: a[i] = rng.nextInt(2*n + 1) - n; break;
+                case 2: a[i] = rng.nextInt(4); break;
+                default: a[i] = rng.nextBoolean() ? Integer.MIN_VALUE + rng.nextInt(3) : Integer.MAX_VALUE - rng.nextInt(3);
+            }
+        }
+        return a;
+    }
+
+    @Test public void testSort() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 500; n++) {
+            for(int shape = 0; shape < 4; shape++) {
+                int[] a = createItems(rng, n, shape);
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                for(int bits: new int[] {1, 3, 8, 11, 16}) {
+                    // The counts of the widest digits take longer to go through than short arrays.
+                    if(bits == 16 && n % 25 != 0) { continue; }
+                    int[] b = a.clone();
+                    IntRadixSort.sort(b, bits);
+                    assertArrayEquals(expected, b);
+                    if(bits >= 8) {
+                        // Tiny threshold, so that even short arrays are sorted in parallel chunks.
+                        b = a.clone();
+                        IntRadixSort.sort(b, null, bits, 7);
+                        assertArrayEquals(expected, b);
+                    }
+                }
+                int[] b = a.clone();
+                IntRadixSort.sort(b);
+                assertArrayEquals(expected, b);
+            }
+        }
+    }
+
+    @Test public void testParallelSortLarge() {
+        Random rng = new Random(SEED);
+        for(int round = 0; round < 8; round++) {
+            int[] a = createItems(rng, 200_000 + rng.nextInt(200_000), round % 4);
+            int[] expected = a.clone();
+            Arrays.sort(expected);
+            int[] b = a.clone();
+            IntRadixSort.parallelSort(b);
+            assertArrayEquals(expected, b);
+            b = a.clone();
+            IntRadixSort.parallelSort(b, 11);
+            assertArrayEquals(expected, b);
+        }
+    }
+
+    @Test public void testPermutation() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            int[] a = createItems(rng, n, rng.nextInt(4));
+            int[] sorted = a.clone(), parallel = a.clone(), chunked = a.clone();
+            int[] perm = IntRadixSort.sortWithPermutation(sorted);
+            int[] parallelPerm = IntRadixSort.parallelSortWithPermutation(parallel);
+            int[] chunkedPerm = new int[n];
+            for(int i = 0; i < n; i++) { chunkedPerm[i] = i; }
+            IntRadixSort.sort(chunked, chunkedPerm, 11, 5);
+            assertArrayEquals(perm, parallelPerm);
+            assertArrayEquals(perm, chunkedPerm);
+            assertArrayEquals(sorted, parallel);
+            assertArrayEquals(sorted, chunked);
+            for(int i = 0; i < n; i++) {
+                assertEquals(sorted[i], a[perm[i]]);
+                // Equal keys keep their original order.
+                if(i > 0 && sorted[i-1] == sorted[i]) { assertTrue(perm[i-1] < perm[i]); }
+            }
+        }
+    }
+
+    @Test public void testContainsAllNumbersSorting() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            int[] a = new int[n];
+            for(int i = 0; i < n; i++) { a[i] = i + 1; }
+            if(rng.nextBoolean()) { a[rng.nextInt(n)] = rng.nextInt(3*n + 1) - n; }
+            boolean expected = Shlemiel.containsAllNumbersLinear(a, n);
+            assertEquals(expected, Shlemiel.containsAllNumbersSorting(a.clone(), n));
+            assertEquals(expected, Shlemiel.containsAllNumbersSorting(a.clone(), n, IntRadixSort::sort));
+            assertEquals(expected, Shlemiel.containsAllNumbersSorting(a.clone(), n, IntRadixSort::parallelSort));
+        }
+    }
+
+    @Test public void testIllegalDigitWidth() {
+        try {
+            IntRadixSort.sort(new int[] {2, 1}, 17);
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+}
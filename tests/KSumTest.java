@@ -0,0 +1,100 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class KSumTest {
+
+    private static final int SEED = 12345;
+
+    private static int[] createItems(Random rng, int n, int range) {
+        int[] items = new int[n];
+        for(int j = 0; j < n; j++) {
+            items[j] = rng.nextInt(2*range + 1) - range;
+        }
+        Arrays.sort(items);
+        return items;
+    }
+
+    @Test public void testKSum() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 40; n++) {
+            for(int round = 0; round < 20; round++) {
+                int[] items = createItems(rng, n, 3*n + 1);
+                int k = rng.nextInt(6);
+                long goal = rng.nextInt(4*k*n + 1) - 2L*k*n;
+                assertEquals(KSum.kSumShlemiel(items, k, goal), KSum.kSum(items, k, goal));
+            }
+        }
+    }
+
+    @Test public void testCounting() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 120; n++) {
+            // Narrow range of values to have plenty of duplicates.
+            int[] items = createItems(rng, n, n/4 + 1);
+            for(int round = 0; round < 10; round++) {
+                long goal = rng.nextInt(n + 1) - n/2;
+                assertEquals(KSum.countPairsShlemiel(items, goal), KSum.countPairs(items, goal));
+                long triples = KSum.countTriplesShlemiel(items, goal);
+                assertEquals(triples, KSum.countTriples(items, goal));
+                assertEquals(triples, KSum.parallelCountTriples(items, goal));
+                assertEquals(triples > 0, KSum.parallelThreeSummingElements(items, goal));
+                assertEquals(triples > 0, Shlemiel.threeSummingElementsShlemiel(items, goal));
+                assertEquals(triples > 0, Shlemiel.threeSummingElements(items, goal));
+            }
+        }
+    }
+
+    @Test public void testListing() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 80; n++) {
+            int[] items = createItems(rng, n, n/4 + 1);
+            long goal = rng.nextInt(n + 1) - n/2;
+            // Brute force list of distinct triples, which come out sorted as the array is sorted.
+            List<String> expected = new ArrayList<>();
+            for(int i = 0; i < n; i++) {
+                for(int j = i + 1; j < n; j++) {
+                    for(int k = j + 1; k < n; k++) {
+                        String t = Arrays.toString(new int[] {items[i], items[j], items[k]});
+                        if((long)items[i] + items[j] + items[k] == goal && !expected.contains(t)) {
+                            expected.add(t);
+                        }
+                    }
+                }
+            }
+            List<String> actual = new ArrayList<>();
+            for(int[] t: KSum.listTriples(items, goal)) { actual.add(Arrays.toString(t)); }
+            expected.sort(null);
+            actual.sort(null);
+            assertEquals(expected, actual);
+            for(int[] p: KSum.listPairs(items, goal)) {
+                assertEquals(goal, (long)p[0] + p[1]);
+            }
+        }
+    }
+
+    @Test public void testNoOverflow() {
+        int[] items = {Integer.MIN_VALUE, -5, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        // The int sum of the two largest elements would overflow to a negative number.
+        assertEquals(true, KSum.kSum(items, 2, 2L * Integer.MAX_VALUE - 1));
+        assertEquals(false, KSum.kSum(items, 2, -3));
+        assertEquals(true, KSum.kSum(items, 3, 2L * Integer.MAX_VALUE));
+        assertEquals(true, Shlemiel.threeSummingElements(items, 2L * Integer.MAX_VALUE));
+        assertEquals(1, KSum.countTriples(items, (long)Integer.MIN_VALUE - 4));
+    }
+
+    @Test public void testParallelLarge() {
+        Random rng = new Random(SEED);
+        int[] items = createItems(rng, 5000, 100_000);
+        for(int round = 0; round < 3; round++) {
+            long goal = rng.nextInt(100_000);
+            assertEquals(KSum.countTriples(items, goal), KSum.parallelCountTriples(items, goal));
+            assertEquals(Shlemiel.threeSummingElements(items, goal), KSum.parallelThreeSummingElements(items, goal));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class MaximumSubarrayTest {
+
+    private static final int SEED = 12345;
+
+    private static long sum(int[] a, MaximumSubarray.Subarray s) {
+        long sum = 0;
+        for(int i = s.getFrom(); i < s.getTo(); i++) { sum += a[i]; }
+        return sum;
+    }
+
+    @Test public void testMaxSumSubarray() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 500; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n - rng.nextInt(3);
+            }
+            long expected = MaximumSubarray.maxSumSubarrayShlemiel(items).getValue();
+            MaximumSubarray.Subarray result1 = MaximumSubarray.maxSumSubarray(items);
+            MaximumSubarray.Subarray result2 = MaximumSubarray.parallelMaxSumSubarray(items, rng.nextInt(20) + 1);
+            assertEquals(expected, result1.getValue());
+            assertEquals(expected, sum(items, result1));
+            assertEquals(expected, result2.getValue());
+            assertEquals(expected, sum(items, result2));
+        }
+    }
+
+    @Test public void testMaxSumSubarrayNoOverflow() {
+        int[] items = new int[100_000];
+        java.util.Arrays.fill(items, Integer.MAX_VALUE);
+        items[50_000] = Integer.MIN_VALUE;
+        long expected = (items.length - 1) * (long)Integer.MAX_VALUE + Integer.MIN_VALUE;
+        assertEquals(expected, MaximumSubarray.maxSumSubarray(items).getValue());
+        assertEquals(expected, MaximumSubarray.parallelMaxSumSubarray(items).getValue());
+    }
+
+    @Test public void testMaxProductSubarray() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 30; n++) {
+            for(int round = 0; round < 30; round++) {
+                int[] items = new int[n];
+                for(int j = 0; j < n; j++) {
+                    items[j] = rng.nextInt(7) - 3;
+                }
+                long expected = MaximumSubarray.maxProductSubarrayShlemiel(items).getValue();
+                MaximumSubarray.Subarray result = MaximumSubarray.maxProductSubarray(items);
+                assertEquals(expected, result.getValue());
+                long prod = 1;
+                for(int i = result.getFrom(); i < result.getTo(); i++) { prod *= items[i]; }
+                assertEquals(expected, prod);
+            }
+        }
+    }
+
+    @Test public void testLongestSubarrayWithSumAtMost() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n + rng.nextInt(n/2 + 1);
+            }
+            for(int round = 0; round < 5; round++) {
+                long k = rng.nextInt(4*n + 1) - 2*n;
+                MaximumSubarray.Subarray expected = MaximumSubarray.longestSubarrayWithSumAtMostShlemiel(items, k);
+                MaximumSubarray.Subarray result = MaximumSubarray.longestSubarrayWithSumAtMost(items, k);
+                assertEquals(expected.toString(), result.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryFootprintTest {
+
+    @Test public void testShallowSizes() {
+        // Array elements are packed, so only the padding at the end depends on the length.
+        assertEquals(40, MemoryFootprint.shallowSize(new int[10]) - MemoryFootprint.shallowSize(new int[0]));
+        assertEquals(80, MemoryFootprint.shallowSize(new long[10]) - MemoryFootprint.shallowSize(new long[0]));
+        assertEquals(MemoryFootprint.shallowSize(new int[8]), MemoryFootprint.shallowSize(new int[7]));
+        // Objects are padded to a multiple of eight bytes, and DLNode has three references.
+        long node = MemoryFootprint.shallowSize(new DLNode<Integer>());
+        assertEquals(0, node % 8);
+        assertTrue(node >= 3 * 4 + 8);
+        assertTrue(MemoryFootprint.shallowSize(Long.valueOf(1)) >= MemoryFootprint.shallowSize(Integer.valueOf(1)));
+    }
+
+    @Test public void testDLListFootprint() {
+        long list = MemoryFootprint.shallowSize(new DLList<Integer>());
+        long node = MemoryFootprint.shallowSize(new DLNode<Integer>());
+        long key = MemoryFootprint.shallowSize(Integer.valueOf(1000));
+        for(int n: new int[] {0, 1, 10, 1000}) {
+            Integer[] keys = new Integer[n];
+            for(int i = 0; i < n; i++) { keys[i] = 1000 + i; }
+            DLList<Integer> dl = new DLList<>(keys);
+            // The list, its header node and one node per key, each counted once in the cycle.
+            MemoryFootprint.Footprint alone = MemoryFootprint.measure(dl, o -> o instanceof Integer);
+            assertTrue(alone.isComplete());
+            assertEquals(n + 2, alone.getObjects());
+            assertEquals(list + (n + 1) * node, alone.getBytes());
+            MemoryFootprint.Footprint all = MemoryFootprint.measure(dl);
+            assertEquals(list + (n + 1) * node + n * key, all.getBytes());
+            // The same key object in every node is counted only once.
+            DLList<Integer> shared = new DLList<>(Collections.nCopies(n, keys.length > 0 ? keys[0] : 0));
+            assertEquals(list + (n + 1) * node + (n > 0 ? key : 0), MemoryFootprint.measure(shared).getBytes());
+        }
+    }
+
+    @Test public void testLongList() {
+        // Deeper than the call stack would allow for a recursive walk.
+        Integer[] keys = new Integer[1_000_000];
+        Arrays.fill(keys, 1000);
+        MemoryFootprint.Footprint footprint = MemoryFootprint.measure(new DLList<>(keys));
+        assertEquals(keys.length + 3, footprint.getObjects());
+    }
+
+    @Test public void testAllocatedBytes() {
+        long bytes = MemoryFootprint.allocatedBytes(() -> {
+            byte[] a = new byte[1 << 20];
+            a[a.length - 1] = 1;
+        });
+        assertTrue(bytes == -1 || bytes >= 1 << 20);
+    }
+
+    @Test public void testTables() {
+        String footprints = MemoryFootprint.footprintTable(new int[] {0, 100});
+        // A header line, and a line per structure, key type and size.
+        assertEquals(1 + 4 * 3 * 2, footprints.split("\n").length);
+        assertTrue(footprints.contains("DLList"));
+        assertTrue(footprints.contains("LinkedList"));
+        String allocations = MemoryFootprint.allocationTable(new int[] {10}, 1000);
+        assertEquals(1 + 4 * 2, allocations.split("\n").length);
+    }
+}
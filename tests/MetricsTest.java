@@ -0,0 +1,134 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testSearchesAgreeWithOriginals() {
+        Random rng = new Random(SEED);
+        Metrics metrics = new Metrics();
+        for(int n = 0; n < 300; n++) {
+            int[] a = new int[n];
+            for(int i = 0; i < n; i++) { a[i] = rng.nextInt(3 * n + 1); }
+            int[] sorted = a.clone();
+            Arrays.sort(sorted);
+            for(int j = 0; j < 10; j++) {
+                int x = rng.nextInt(3 * n + 2);
+                assertEquals(ArraySearchDemo.linearSearch(a, x), ArraySearchDemo.linearSearch(a, x, metrics));
+                assertEquals(ArraySearchDemo.sentinelSearch(a, x), ArraySearchDemo.sentinelSearch(a, x, metrics));
+                assertEquals(ArraySearchDemo.unrolledSearch(a, x), ArraySearchDemo.unrolledSearch(a, x, metrics));
+                assertEquals(ArraySearchDemo.binarySearch(sorted, x), ArraySearchDemo.binarySearch(sorted, x, metrics));
+                assertEquals(ArraySearchDemo.binarySearchIncorrect(sorted, x), ArraySearchDemo.binarySearchIncorrect(sorted, x, metrics));
+                assertEquals(ArraySearchDemo.linearSearch(a, x), ArraySearchDemo.linearSearch(a, x, null));
+            }
+        }
+        for(String op: metrics.operations()) { assertEquals(3000, metrics.getCalls(op)); }
+    }
+
+    @Test public void testSearchCounts() {
+        int[] a = {10, 20, 30, 40, 50, 60, 70, 80};
+        Metrics metrics = new Metrics();
+        // Found in position 4 after five comparisons and six bounds checks, counting the final one.
+        ArraySearchDemo.linearSearch(a, 50, metrics);
+        assertEquals(5, metrics.getTotal("ArraySearchDemo.linearSearch", Metrics.Counter.COMPARISONS));
+        assertEquals(6, metrics.getTotal("ArraySearchDemo.linearSearch", Metrics.Counter.BOUNDS_CHECKS));
+        // Sentinel search does the same comparisons with only one bounds check in the loop.
+        ArraySearchDemo.sentinelSearch(a, 50, metrics);
+        assertEquals(5, metrics.getTotal("ArraySearchDemo.sentinelSearch", Metrics.Counter.COMPARISONS));
+        assertEquals(2, metrics.getTotal("ArraySearchDemo.sentinelSearch", Metrics.Counter.BOUNDS_CHECKS));
+        assertEquals(8, metrics.getTotal("ArraySearchDemo.sentinelSearch", Metrics.Counter.PROBES));
+        // Unrolled search checks the bounds once for each pair of elements.
+        ArraySearchDemo.unrolledSearch(a, 55, metrics);
+        assertEquals(8, metrics.getTotal("ArraySearchDemo.unrolledSearch", Metrics.Counter.COMPARISONS));
+        assertEquals(5, metrics.getTotal("ArraySearchDemo.unrolledSearch", Metrics.Counter.BOUNDS_CHECKS));
+        // Binary search compares the last element, and then halves the range three times.
+        ArraySearchDemo.binarySearch(a, 30, metrics);
+        assertEquals(4, metrics.getTotal("ArraySearchDemo.binarySearch", Metrics.Counter.COMPARISONS));
+        assertEquals(0, metrics.getTotal("ArraySearchDemo.binarySearch", Metrics.Counter.NODE_HOPS));
+    }
+
+    @Test public void testListOperationsAgreeWithOriginals() {
+        Random rng = new Random(SEED);
+        Metrics metrics = new Metrics();
+        for(int n = 0; n < 100; n++) {
+            List<Integer> keys = Arrays.asList(IntStream.range(0, n).map(i -> rng.nextInt(100)).boxed().toArray(Integer[]::new));
+            DLList<Integer> list1 = new DLList<>(keys), list2 = new DLList<>(keys);
+            int x = rng.nextInt(100);
+            assertEquals(list1.contains(x), list2.contains(x, metrics));
+            int steps = rng.nextInt(n + 1);
+            list1.rotateLeft(steps); list2.rotateLeft(steps, metrics);
+            list1.rotateRight(steps / 2); list2.rotateRight(steps / 2, metrics);
+            assertEquals(list1.toString(), list2.toString());
+            list1.removeIf(e -> e % 3 == 0); list2.removeIf(e -> e % 3 == 0, metrics);
+            assertEquals(list1.toString(), list2.toString());
+            Integer[] sorted1 = keys.toArray(new Integer[0]), sorted2 = sorted1.clone();
+            Arrays.sort(sorted1);
+            Arrays.sort(sorted2, 0, n / 2);
+            DLList<Integer> merged1 = DLList.merge(new DLList<>(sorted1), new DLList<>(Arrays.copyOf(sorted2, n / 2)));
+            DLList<Integer> merged2 = DLList.merge(new DLList<>(sorted1), new DLList<>(Arrays.copyOf(sorted2, n / 2)), metrics);
+            assertEquals(merged1.toString(), merged2.toString());
+        }
+        assertEquals(100, metrics.getCalls("DLList.merge"));
+        assertEquals(200, metrics.getTotal("DLList.merge", Metrics.Counter.ALLOCATIONS));
+    }
+
+    @Test public void testListCounts() {
+        Metrics metrics = new Metrics();
+        DLList<Integer> list = new DLList<>(Arrays.asList(1, 2, 3, 4, 5));
+        // Three hops to find the key, six to return to the header after a miss.
+        list.contains(3, metrics);
+        list.contains(9, metrics);
+        assertEquals(9, metrics.getTotal("DLList.contains", Metrics.Counter.NODE_HOPS));
+        assertEquals(6, metrics.getMax("DLList.contains", Metrics.Counter.NODE_HOPS));
+        list.rotateLeft(3, metrics);
+        assertEquals(3, metrics.getTotal("DLList.rotateLeft", Metrics.Counter.NODE_HOPS));
+        list.removeIf(e -> e > 3, metrics);
+        assertEquals(5, metrics.getTotal("DLList.removeIf", Metrics.Counter.COMPARISONS));
+        assertEquals(6, metrics.getTotal("DLList.removeIf", Metrics.Counter.NODE_HOPS));
+        DLList<Integer> merged = DLList.merge(new DLList<>(Arrays.asList(1, 3)), new DLList<>(Arrays.asList(2, 4, 6)), metrics);
+        assertEquals("[1, 2, 3, 4, 6]", merged.toString());
+        assertEquals(3, metrics.getTotal("DLList.merge", Metrics.Counter.COMPARISONS));
+        assertEquals(5, metrics.getTotal("DLList.merge", Metrics.Counter.NODE_HOPS));
+    }
+
+    @Test public void testPercentilesAndConcurrency() {
+        Metrics metrics = new Metrics();
+        IntStream.range(0, 100_000).parallel().forEach(i -> metrics.record("op", i % 100, 0, 0, 0, 0));
+        assertEquals(100_000, metrics.getCalls("op"));
+        assertEquals(1000L * (99 * 100 / 2), metrics.getTotal("op", Metrics.Counter.COMPARISONS));
+        assertEquals(99, metrics.getMax("op", Metrics.Counter.COMPARISONS));
+        // Half of the counts are at most 49, which falls in the bucket of 32, ..., 63.
+        assertEquals(63, metrics.getPercentile("op", Metrics.Counter.COMPARISONS, 0.5));
+        assertEquals(99, metrics.getPercentile("op", Metrics.Counter.COMPARISONS, 0.99));
+        // One percent of the counts are zero, and they are in the lowest bucket.
+        assertEquals(0, metrics.getPercentile("op", Metrics.Counter.COMPARISONS, 0.005));
+        assertEquals(1, metrics.getPercentile("op", Metrics.Counter.COMPARISONS, 0.015));
+        assertEquals(0, metrics.getPercentile("op", Metrics.Counter.PROBES, 0.5));
+        assertEquals(0, metrics.getCalls("nothing"));
+    }
+
+    @Test public void testReports() {
+        Metrics metrics = new Metrics();
+        ArraySearchDemo.linearSearch(new int[] {1, 2, 3}, 2, metrics);
+        new DLList<>(Arrays.asList(1, 2, 3)).contains(3, metrics);
+        String[] csv = metrics.toCsv().split("\n");
+        assertEquals("operation,counter,calls,total,mean,p50,p90,p99,max", csv[0]);
+        // Linear search has comparisons, bounds checks and probes, contains has comparisons and hops.
+        assertEquals(6, csv.length);
+        assertEquals("ArraySearchDemo.linearSearch,COMPARISONS,1,2,2.0,2,2,2,2", csv[1]);
+        assertTrue(csv[5].startsWith("DLList.contains,NODE_HOPS,1,3,"));
+        String text = metrics.toText();
+        assertEquals(6, text.split("\n").length);
+        assertTrue(text.contains("DLList.contains"));
+        metrics.reset();
+        assertEquals(1, metrics.toCsv().split("\n").length);
+    }
+}
@@ -0,0 +1,49 @@
+import org.junit.Test;
+
+import java.util.OptionalInt;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelMajorityTest {
+
+    private static final int SEED = 12345;
+
+    private static int[] createItems(Random rng, int n) {
+        int[] items = new int[n];
+        for(int j = 0; j < n; j++) {
+            items[j] = rng.nextInt((int)Math.min((long)n*n, 1 << 30));
+        }
+        int copies = rng.nextInt(n/2 + 1) + n/4;
+        int item = items[rng.nextInt(n)];
+        for(int j = 0; j < copies; j++) {
+            items[rng.nextInt(n)] = item;
+        }
+        return items;
+    }
+
+    @Test public void testFindMajority() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            int[] items = createItems(rng, n);
+            boolean expected = Shlemiel.hasMajorityLinear(items);
+            OptionalInt result = ParallelMajority.findMajority(items, rng.nextInt(20) + 1);
+            assertEquals(expected, result.isPresent());
+            if(expected) {
+                int count = 0;
+                for(int e: items) { if(e == result.getAsInt()) { count++; } }
+                assertTrue(count * 2 > n);
+            }
+        }
+    }
+
+    @Test public void testParallelHasMajorityLarge() {
+        Random rng = new Random(SEED);
+        for(int round = 0; round < 10; round++) {
+            int[] items = createItems(rng, 1_000_000 + round);
+            assertEquals(Shlemiel.hasMajorityLinear(items), ParallelMajority.parallelHasMajority(items));
+        }
+        assertTrue(!ParallelMajority.parallelHasMajority(new int[0]));
+    }
+}
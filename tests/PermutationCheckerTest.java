@@ -0,0 +1,62 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PermutationCheckerTest {
+
+    private static final int SEED = 12345;
+
+    private static int[] createItems(Random rng, int n) {
+        int[] a = new int[n];
+        for(int i = 0; i < n; i++) {
+            a[i] = i+1;
+        }
+        for(int i = 1; i < n; i++) {
+            int k = rng.nextInt(i);
+            int tmp = a[i]; a[i] = a[k]; a[k] = tmp;
+        }
+        int r = rng.nextInt(4);
+        if(r == 0) {
+            a[rng.nextInt(n)] = rng.nextInt(n) + 1;
+        }
+        else if(r == 1) {
+            a[rng.nextInt(n)] = rng.nextInt(3*n + 1) - n;
+        }
+        return a;
+    }
+
+    @Test public void testContainsAllNumbers() {
+        Random rng = new Random(SEED);
+        PermutationChecker checker = new PermutationChecker();
+        for(int n = 1; n < 1000; n++) {
+            for(int j = 0; j < 10; j++) {
+                int[] a = createItems(rng, n);
+                int[] original = a.clone();
+                boolean expected = Shlemiel.containsAllNumbersShlemiel(a, n);
+                assertEquals(expected, PermutationChecker.containsAllNumbersBitset(a, n));
+                assertEquals(expected, checker.containsAllNumbers(a, n));
+                assertEquals(expected, PermutationChecker.containsAllNumbersInPlace(a, n));
+                assertEquals(expected, PermutationChecker.containsAllNumbersParallel(a, n));
+                assertArrayEquals(original, a); // None of the methods may modify the array.
+            }
+        }
+    }
+
+    @Test public void testContainsAllNumbersLarge() {
+        Random rng = new Random(SEED);
+        PermutationChecker checker = new PermutationChecker();
+        for(int round = 0; round < 20; round++) {
+            int n = 100_000 + rng.nextInt(100_000);
+            int[] a = createItems(rng, n);
+            boolean expected = Shlemiel.containsAllNumbersLinear(a, n);
+            assertEquals(expected, checker.containsAllNumbers(a, n));
+            assertEquals(expected, PermutationChecker.containsAllNumbersInPlace(a, n));
+            assertEquals(expected, PermutationChecker.containsAllNumbersParallel(a, n));
+            assertEquals(expected, Shlemiel.containsAllNumbersSorting(Arrays.copyOf(a, n), n));
+        }
+    }
+}
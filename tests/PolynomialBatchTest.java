@@ -0,0 +1,67 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PolynomialBatchTest {
+
+    private static final int SEED = 12345;
+
+    private static final double EPS = 0.00001;
+
+    @Test public void testEvaluateSinglePoint() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 10000; n++) {
+            int m = n/500;
+            double[] coefficients = new double[m];
+            for(int i = 0; i < m; i++) {
+                coefficients[i] = rng.nextDouble() * 10 - 5;
+            }
+            double x = rng.nextDouble() * 2 - 1;
+            double expected = Shlemiel.evaluatePolynomialHorner(coefficients, x);
+            assertTrue(Math.abs(expected - PolynomialBatch.evaluatePolynomialFma(coefficients, x)) < EPS);
+            assertTrue(Math.abs(expected - PolynomialBatch.evaluatePolynomialEstrin(coefficients, x)) < EPS);
+        }
+    }
+
+    @Test public void testEvaluateBatch() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 200; n++) {
+            int m = rng.nextInt(12);
+            double[] coefficients = new double[m];
+            for(int i = 0; i < m; i++) {
+                coefficients[i] = rng.nextDouble() * 10 - 5;
+            }
+            double[] xs = new double[n];
+            for(int i = 0; i < n; i++) {
+                xs[i] = rng.nextDouble() * 6 - 3;
+            }
+            double[] out1 = new double[n], out2 = new double[n];
+            PolynomialBatch.evaluatePolynomialBatch(coefficients, xs, out1);
+            PolynomialBatch.parallelEvaluatePolynomialBatch(coefficients, xs, out2);
+            for(int i = 0; i < n; i++) {
+                double expected = Shlemiel.evaluatePolynomialHorner(coefficients, xs[i]);
+                assertEquals(expected, out1[i], EPS * Math.max(1, Math.abs(expected)));
+                assertEquals(out1[i], out2[i], 0);
+            }
+        }
+    }
+
+    @Test public void testParallelBatchLarge() {
+        Random rng = new Random(SEED);
+        double[] coefficients = {1, -2, 0.5, 3, -0.25, 0.125};
+        double[] xs = new double[100_003];
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = rng.nextDouble() * 2 - 1;
+        }
+        double[] out1 = new double[xs.length], out2 = new double[xs.length];
+        PolynomialBatch.evaluatePolynomialBatch(coefficients, xs, out1);
+        PolynomialBatch.parallelEvaluatePolynomialBatch(coefficients, xs, out2);
+        for(int i = 0; i < xs.length; i++) {
+            assertEquals(out1[i], out2[i], 0);
+            assertEquals(Shlemiel.evaluatePolynomialHorner(coefficients, xs[i]), out1[i], EPS);
+        }
+    }
+}
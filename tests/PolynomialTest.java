@@ -0,0 +1,85 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PolynomialTest {
+
+    private static final int SEED = 12345;
+
+    private static final double EPS = 0.00001;
+
+    private static double[] randomCoefficients(Random rng, int m) {
+        double[] coefficients = new double[m];
+        for(int i = 0; i < m; i++) {
+            coefficients[i] = rng.nextDouble() * 10 - 5;
+        }
+        return coefficients;
+    }
+
+    @Test public void testTrimAndDegree() {
+        Polynomial p = new Polynomial(1, 2, 0, 0);
+        assertEquals(1, p.degree());
+        assertArrayEquals(new double[] {1, 2}, p.coefficients(), 0);
+        assertEquals(0, p.coefficient(7), 0);
+        assertEquals(-1, new Polynomial(0, 0).degree());
+        assertEquals(new Polynomial(1, 2), p);
+        assertEquals(new Polynomial(2, 0, 3), new Polynomial(1, 2, 0, 1).derivative());
+    }
+
+    @Test public void testStrategies() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            Polynomial p = new Polynomial(randomCoefficients(rng, 1 + n/200));
+            double x = rng.nextDouble() * 6 - 3;
+            double expected = Shlemiel.evaluatePolynomialHorner(p.coefficients(), x);
+            assertEquals(expected, p.evaluate(x), EPS);
+            for(Polynomial.Strategy strategy: Polynomial.Strategy.values()) {
+                assertEquals(expected, p.evaluate(x, strategy), EPS);
+            }
+        }
+    }
+
+    @Test public void testEvaluateWithDerivative() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 1000; n++) {
+            Polynomial p = new Polynomial(randomCoefficients(rng, 1 + n/100));
+            double x = rng.nextDouble() * 2 - 1;
+            double[] result = p.evaluateWithDerivative(x);
+            assertEquals(p.evaluate(x), result[0], EPS);
+            assertEquals(p.derivative().evaluate(x), result[1], EPS);
+        }
+    }
+
+    @Test public void testMultipointEvaluation() {
+        Random rng = new Random(SEED);
+        Polynomial p = new Polynomial(randomCoefficients(rng, 20));
+        double[] xs = new double[50_000];
+        for(int i = 0; i < xs.length; i++) { xs[i] = rng.nextDouble() * 2 - 1; }
+        double[] values = p.evaluate(xs);
+        for(int i = 0; i < xs.length; i++) {
+            assertEquals(p.evaluate(xs[i], Polynomial.Strategy.HORNER), values[i], EPS);
+        }
+    }
+
+    @Test public void testMultiply() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n += 1 + n/8) {
+            double[] a = randomCoefficients(rng, n);
+            double[] b = randomCoefficients(rng, rng.nextInt(2*n) + 1);
+            double[] expected = Polynomial.multiplySchoolbook(a, b);
+            double[] actual = Polynomial.multiplyFFT(a, b);
+            assertEquals(expected.length, actual.length);
+            for(int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i], EPS);
+            }
+            // The product evaluated at a point equals the product of the values at that point.
+            Polynomial pa = new Polynomial(a), pb = new Polynomial(b);
+            double x = rng.nextDouble() * 2 - 1;
+            double value = pa.evaluate(x) * pb.evaluate(x);
+            assertEquals(value, pa.multiply(pb).evaluate(x), EPS * Math.max(1, Math.abs(value)));
+        }
+    }
+}
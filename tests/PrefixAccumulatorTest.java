@@ -0,0 +1,98 @@
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PrefixAccumulatorTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testChunks() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 1000; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n;
+            }
+            int[] expected = Shlemiel.accumulateShlemiel(items);
+            // Feed the same array in random sized chunks through reused buffers.
+            PrefixAccumulator acc = new PrefixAccumulator();
+            int[] chunk = new int[10];
+            long[] out = new long[10];
+            int pos = 0;
+            while(pos < n) {
+                int len = Math.min(n - pos, rng.nextInt(chunk.length) + 1);
+                System.arraycopy(items, pos, chunk, 0, len);
+                acc.accept(chunk, 0, len, out);
+                for(int j = 0; j < len; j++) {
+                    assertEquals(expected[pos + j], out[j]);
+                }
+                pos += len;
+            }
+            assertEquals(n, acc.getCount());
+            assertEquals(n == 0 ? 0 : expected[n-1], acc.getTotal());
+        }
+    }
+
+    @Test public void testBuffersAndStreams() {
+        Random rng = new Random(SEED);
+        int[] items = new int[5000];
+        for(int j = 0; j < items.length; j++) {
+            items[j] = rng.nextInt();
+        }
+        long[] expected = PrefixScan.accumulateLong(items);
+        PrefixAccumulator acc = new PrefixAccumulator();
+        IntBuffer in = IntBuffer.wrap(items);
+        LongBuffer out = LongBuffer.allocate(777);
+        int pos = 0;
+        while(in.hasRemaining()) {
+            out.clear();
+            acc.accept(in, out);
+            out.flip();
+            while(out.hasRemaining()) {
+                assertEquals(expected[pos++], out.get());
+            }
+        }
+        assertEquals(items.length, pos);
+        acc.reset();
+        assertArrayEquals(expected, acc.accumulate(Arrays.stream(items)).toArray());
+        acc.reset();
+        LongStream.Builder totals = LongStream.builder();
+        acc.accumulate(Arrays.stream(items), totals);
+        assertArrayEquals(expected, totals.build().toArray());
+        assertEquals(items.length, acc.getCount());
+        assertEquals(expected[items.length - 1], acc.getTotal());
+    }
+
+    @Test public void testCheckpoint() {
+        PrefixAccumulator acc = new PrefixAccumulator();
+        assertArrayEquals(new long[] {1, 3, 6}, acc.accept(new int[] {1, 2, 3}));
+        PrefixAccumulator.Checkpoint cp = acc.checkpoint();
+        assertArrayEquals(new long[] {10, 15}, acc.accept(new int[] {4, 5}));
+        acc.restore(cp);
+        assertEquals(6, acc.getTotal());
+        assertEquals(3, acc.getCount());
+        assertArrayEquals(new long[] {106}, acc.accept(new int[] {100}));
+        PrefixAccumulator resumed = new PrefixAccumulator(cp);
+        assertArrayEquals(new long[] {7, 9, 12}, resumed.accumulate(IntStream.of(1, 2, 3)).toArray());
+        // A checkpoint rebuilt from its saved parts resumes the same way as the original.
+        PrefixAccumulator.Checkpoint saved = PrefixAccumulator.Checkpoint.of(cp.getTotal(), cp.getCount());
+        assertEquals(cp.toString(), saved.toString());
+        resumed = new PrefixAccumulator(saved);
+        assertArrayEquals(new long[] {7, 9, 12}, resumed.accumulate(IntStream.of(1, 2, 3)).toArray());
+        assertEquals(6, resumed.getCount());
+        try {
+            PrefixAccumulator.Checkpoint.of(0, -1);
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+}
@@ -0,0 +1,89 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PrefixScanTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testAccumulate() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 1000; n++) {
+            int[] items = new int[n];
+            long[] longItems = new long[n];
+            double[] doubleItems = new double[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n;
+                longItems[j] = items[j];
+                doubleItems[j] = items[j];
+            }
+            int[] expected = Shlemiel.accumulateShlemiel(items);
+            assertArrayEquals(expected, Shlemiel.accumulate(items));
+            assertArrayEquals(expected, PrefixScan.scan(items, Integer::sum));
+            long[] result1 = PrefixScan.accumulateLong(items);
+            long[] result2 = PrefixScan.accumulate(longItems);
+            double[] result3 = PrefixScan.accumulate(doubleItems);
+            for(int j = 0; j < n; j++) {
+                assertEquals(expected[j], result1[j]);
+                assertEquals(expected[j], result2[j]);
+                assertEquals(expected[j], result3[j], 0);
+            }
+        }
+    }
+
+    @Test public void testAccumulateLongDoesNotOverflow() {
+        int[] items = new int[1000];
+        Arrays.fill(items, Integer.MAX_VALUE);
+        long[] result = PrefixScan.accumulateLong(items);
+        for(int i = 0; i < items.length; i++) {
+            assertEquals((i + 1) * (long)Integer.MAX_VALUE, result[i]);
+        }
+        assertArrayEquals(result, PrefixScan.parallelAccumulateLong(items));
+    }
+
+    @Test public void testScanLeavesOriginalIntact() {
+        int[] items = {3, 1, 4, 1, 5, 9, 2, 6};
+        int[] result = PrefixScan.scan(items, Math::max);
+        assertArrayEquals(new int[] {3, 1, 4, 1, 5, 9, 2, 6}, items);
+        assertArrayEquals(new int[] {3, 3, 4, 4, 5, 9, 9, 9}, result);
+        assertArrayEquals(result, PrefixScan.scanInPlace(items, Math::max));
+        assertArrayEquals(result, items);
+    }
+
+    @Test public void testParallelScan() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 2000; n += 1 + n/10) {
+            for(int threshold = 1; threshold < 40; threshold += 7) {
+                int[] items = new int[n];
+                long[] longItems = new long[n];
+                for(int j = 0; j < n; j++) {
+                    items[j] = rng.nextInt(2*n + 1) - n;
+                    longItems[j] = rng.nextLong();
+                }
+                assertArrayEquals(Shlemiel.accumulate(items),
+                        PrefixScan.parallelScanInPlace(items.clone(), Integer::sum, threshold));
+                int[] expectedMin = items.clone();
+                Arrays.parallelPrefix(expectedMin, Math::min);
+                assertArrayEquals(expectedMin, PrefixScan.parallelScanInPlace(items.clone(), Math::min, threshold));
+                long[] expectedXor = longItems.clone();
+                Arrays.parallelPrefix(expectedXor, (x, y) -> x ^ y);
+                assertArrayEquals(expectedXor, PrefixScan.parallelScanInPlace(longItems.clone(), (x, y) -> x ^ y, threshold));
+            }
+        }
+    }
+
+    @Test public void testParallelScanLarge() {
+        Random rng = new Random(SEED);
+        int[] items = new int[1_000_000];
+        for(int j = 0; j < items.length; j++) {
+            items[j] = rng.nextInt();
+        }
+        long[] expected = PrefixScan.accumulateLong(items);
+        assertArrayEquals(expected, PrefixScan.parallelAccumulateLong(items));
+        assertArrayEquals(Shlemiel.accumulate(items), PrefixScan.parallelScan(items, Integer::sum));
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class RunTrackerTest {
+
+    private static final int SEED = 12345;
+
+    // Brute force longest run of the given kind, returned as {length, start}.
+    private static long[] longestRunShlemiel(long[] a, RunTracker.Kind kind) {
+        long bestLen = 0, bestStart = 0;
+        for(int i = 0; i < a.length; i++) {
+            int j = i + 1;
+            while(j < a.length && kind.continues(Long.compare(a[j-1], a[j]))) { j++; }
+            if(j - i > bestLen) { bestLen = j - i; bestStart = i; }
+        }
+        return new long[] {bestLen, bestStart};
+    }
+
+    private static long[] createItems(Random rng, int n) {
+        long[] items = new long[n];
+        for(int j = 0; j < n; j++) {
+            int r = rng.nextInt(10);
+            items[j] = j == 0 || r < 2 ? rng.nextInt(20) : items[j-1] + (r < 5 ? 1 : r < 8 ? -1 : 0);
+        }
+        return items;
+    }
+
+    private static void checkTracker(RunTracker tracker, long[] items) {
+        assertEquals(items.length, tracker.getCount());
+        for(RunTracker.Kind kind: RunTracker.Kind.values()) {
+            long[] expected = longestRunShlemiel(items, kind);
+            assertEquals(expected[0], tracker.getLongest(kind));
+            assertEquals(expected[1], tracker.getLongestStart(kind));
+        }
+    }
+
+    @Test public void testIncremental() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            long[] items = createItems(rng, n);
+            RunTracker.OfLong t1 = new RunTracker.OfLong();
+            RunTracker.OfDouble t2 = new RunTracker.OfDouble();
+            RunTracker.Of<String> t3 = new RunTracker.Of<>(Comparator.comparing(Long::parseLong));
+            for(long e: items) {
+                t1.add(e);
+                t2.add(e);
+                t3.add("" + e);
+            }
+            checkTracker(t1, items);
+            checkTracker(t2, items);
+            checkTracker(t3, items);
+        }
+    }
+
+    @Test public void testLongestAscendingSubarray() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 1000; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(n + 1);
+            }
+            RunTracker.OfLong tracker = RunTracker.parallelSummarize(items, rng.nextInt(10) + 1);
+            assertEquals(Shlemiel.longestAscendingSubarray(items), tracker.getLongest(RunTracker.Kind.STRICTLY_ASCENDING));
+        }
+    }
+
+    @Test public void testMerge() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            long[] items = createItems(rng, n);
+            // Track random chunks separately, then merge them together.
+            RunTracker.OfLong total = new RunTracker.OfLong();
+            int pos = 0;
+            while(pos < n) {
+                RunTracker.OfLong part = new RunTracker.OfLong();
+                int end = Math.min(n, pos + rng.nextInt(8));
+                for(int j = pos; j < end; j++) { part.add(items[j]); }
+                total.merge(part);
+                pos = end;
+            }
+            checkTracker(total, items);
+            checkTracker(RunTracker.parallelSummarize(items), items);
+        }
+    }
+
+    @Test public void testParallelLarge() {
+        Random rng = new Random(SEED);
+        long[] items = createItems(rng, 200_000);
+        double[] doubles = new double[items.length];
+        Long[] boxed = new Long[items.length];
+        RunTracker.OfLong expected = new RunTracker.OfLong();
+        for(int i = 0; i < items.length; i++) {
+            doubles[i] = items[i];
+            boxed[i] = items[i];
+            expected.add(items[i]);
+        }
+        RunTracker[] results = {
+                RunTracker.parallelSummarize(items), RunTracker.parallelSummarize(doubles),
+                RunTracker.parallelSummarize(boxed, Comparator.naturalOrder())
+        };
+        for(RunTracker result: results) {
+            assertEquals(expected.getCount(), result.getCount());
+            for(RunTracker.Kind kind: RunTracker.Kind.values()) {
+                assertEquals(expected.getLongest(kind), result.getLongest(kind));
+                assertEquals(expected.getLongestStart(kind), result.getLongestStart(kind));
+            }
+        }
+    }
+}
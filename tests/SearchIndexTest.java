@@ -0,0 +1,86 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SearchIndexTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testIndexOfAgreesWithLinearSearch() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            int[] a = new int[n];
+            for(int i = 0; i < n; i++) { a[i] = rng.nextInt(3 * n + 1); }
+            int[] sorted = a.clone();
+            Arrays.sort(sorted);
+            // The calibrated index and indices forced to each strategy.
+            SearchIndex[] indices = {
+                SearchIndex.of(a), new SearchIndex(a, 0, 0, 1), new SearchIndex(a, n, n, 1), new SearchIndex(a, 0, 0, 5),
+                SearchIndex.of(sorted), new SearchIndex(sorted, 0, 0, 1), new SearchIndex(sorted, n, n, 1)
+            };
+            for(int j = 0; j < 20; j++) {
+                int x = rng.nextInt(3 * n + 2);
+                for(int k = 0; k < indices.length; k++) {
+                    int[] b = k < 4 ? a : sorted;
+                    assertEquals(ArraySearchDemo.linearSearch(b, x), indices[k].indexOf(x));
+                }
+                for(int k = 4; k < indices.length; k++) {
+                    assertEquals(ArraySearchDemo.binarySearch(sorted, x), indices[k].lowerBound(x));
+                }
+            }
+        }
+    }
+
+    @Test public void testStrategies() {
+        int[] sorted = {1, 3, 5, 7, 9, 11, 13, 15};
+        assertTrue(new SearchIndex(sorted, 8, 8, 1).isSorted());
+        assertEquals(SearchIndex.Strategy.LINEAR, new SearchIndex(sorted, 8, 8, 1).getStrategy());
+        assertEquals(SearchIndex.Strategy.BINARY, new SearchIndex(sorted, 7, 7, 1).getStrategy());
+        int[] a = {5, 2, 8, 2, 9, 1, 5, 7};
+        SearchIndex index = new SearchIndex(a, 100, 4, 3);
+        assertFalse(index.isSorted());
+        // The hash index is built on the third search, and used from the fourth on.
+        for(int i = 0; i < 3; i++) {
+            assertEquals(SearchIndex.Strategy.LINEAR, index.getStrategy());
+            assertEquals(1, index.indexOf(2));
+        }
+        assertEquals(SearchIndex.Strategy.HASH_INDEX, index.getStrategy());
+        assertEquals(1, index.indexOf(2));
+        assertEquals(0, index.indexOf(5));
+        assertEquals(-1, index.indexOf(3));
+        // Unsorted arrays no longer than the hash limit are always searched linearly,
+        // regardless of the limit for sorted arrays.
+        SearchIndex small = new SearchIndex(a, 0, 8, 1);
+        for(int i = 0; i < 5; i++) { small.indexOf(9); }
+        assertEquals(SearchIndex.Strategy.LINEAR, small.getStrategy());
+    }
+
+    @Test public void testCache() {
+        int[] a = new int[1000];
+        for(int i = 0; i < a.length; i++) { a[i] = (i * 7919) % a.length; }
+        // Enough searches through fresh facades builds the shared hash index.
+        for(int i = 0; i < 100; i++) { assertEquals(i, SearchIndex.of(a).indexOf((i * 7919) % a.length)); }
+        assertEquals(SearchIndex.Strategy.HASH_INDEX, SearchIndex.of(a).getStrategy());
+        // After the array has been sorted in place, the cached decision must be forgotten.
+        Arrays.sort(a);
+        SearchIndex.invalidate(a);
+        assertTrue(SearchIndex.of(a).isSorted());
+        assertEquals(500, SearchIndex.of(a).lowerBound(500));
+    }
+
+    @Test public void testLowerBoundOfUnsorted() {
+        try {
+            new SearchIndex(new int[] {2, 1}, 8, 8, 1).lowerBound(1);
+            fail();
+        }
+        catch(IllegalStateException expected) { }
+        assertEquals(0, new SearchIndex(new int[0], 8, 8, 1).lowerBound(42));
+        assertEquals(-1, SearchIndex.of(new int[0]).indexOf(42));
+    }
+}
@@ -0,0 +1,94 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SegmentTreeTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testSum() {
+        testOperation(SegmentTree.Operation.SUM);
+    }
+
+    @Test public void testMin() {
+        testOperation(SegmentTree.Operation.MIN);
+    }
+
+    @Test public void testMax() {
+        testOperation(SegmentTree.Operation.MAX);
+    }
+
+    @Test public void testWrappedPrefixSums() {
+        int[] items = {Integer.MAX_VALUE, 5, 7};
+        // The accumulation array {MAX, MIN+4, MIN+11} has wrapped around in int.
+        SegmentTree tree = SegmentTree.fromPrefixSums(Shlemiel.accumulate(items), SegmentTree.Operation.SUM);
+        assertEquals(5, tree.get(1));
+        assertEquals(Integer.MAX_VALUE + 12L, tree.query(0, 3));
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 100; n++) {
+            items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextBoolean() ? Integer.MAX_VALUE - rng.nextInt(n) : Integer.MIN_VALUE + rng.nextInt(n);
+            }
+            tree = SegmentTree.fromPrefixSums(Shlemiel.accumulate(items), SegmentTree.Operation.MAX);
+            for(int j = 0; j < n; j++) { assertEquals(items[j], tree.get(j)); }
+            int from = rng.nextInt(n), to = from + 1 + rng.nextInt(n - from);
+            long expected = Long.MIN_VALUE;
+            for(int j = from; j < to; j++) { expected = Math.max(expected, items[j]); }
+            assertEquals(expected, tree.query(from, to));
+        }
+    }
+
+    @Test public void testTreeSize() {
+        assertEquals(2, SegmentTree.treeSize(0));
+        assertEquals(2, SegmentTree.treeSize(1));
+        assertEquals(8, SegmentTree.treeSize(3));
+        assertEquals(8, SegmentTree.treeSize(4));
+        assertEquals(16, SegmentTree.treeSize(5));
+        assertEquals(1 << 30, SegmentTree.treeSize(1 << 29));
+        // Where 4 * n used to overflow int, the size is refused before any allocation.
+        try {
+            SegmentTree.treeSize((1 << 29) + 1);
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+
+    private void testOperation(SegmentTree.Operation op) {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 200; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt(2*n + 1) - n;
+            }
+            SegmentTree tree = rng.nextBoolean() ? new SegmentTree(items, op) :
+                    SegmentTree.fromPrefixSums(Shlemiel.accumulate(items), op);
+            for(int round = 0; round < 50; round++) {
+                int from = rng.nextInt(n + 1), to = from + rng.nextInt(n - from + 1);
+                int delta = rng.nextInt(2*n + 1) - n;
+                if(rng.nextBoolean()) {
+                    for(int j = from; j < to; j++) { items[j] += delta; }
+                    tree.add(from, to, delta);
+                }
+                else if(from < n) {
+                    items[from] = delta;
+                    tree.set(from, delta);
+                }
+                from = rng.nextInt(n + 1);
+                to = from + rng.nextInt(n - from + 1);
+                long expected = op.identity();
+                for(int j = from; j < to; j++) { expected = op.combine(expected, items[j]); }
+                assertEquals(expected, tree.query(from, to));
+                if(op == SegmentTree.Operation.SUM && to > 0) {
+                    int[] prefix = Shlemiel.accumulateShlemiel(items);
+                    assertEquals(prefix[to - 1], tree.query(0, to));
+                }
+                int i = rng.nextInt(n);
+                assertEquals(items[i], tree.get(i));
+            }
+        }
+    }
+}
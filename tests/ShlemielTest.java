@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ShlemielTest {
 
@@ -25,6 +26,37 @@ public class ShlemielTest {
         }
     }
 
+    @Test public void testAccumulateLongAndExact() {
+        Random rng = new Random(SEED);
+        for(int n = 0; n < 300; n++) {
+            int[] items = new int[n];
+            long[] wide = new long[n];
+            for(int j = 0; j < n; j++) {
+                wide[j] = items[j] = rng.nextInt(2*n + 1) - n;
+            }
+            int[] result1 = Shlemiel.accumulate(items);
+            long[] result2 = Shlemiel.accumulate(wide);
+            assertArrayEquals(result2, Shlemiel.accumulateShlemiel(wide));
+            assertArrayEquals(result2, Shlemiel.accumulateExact(wide));
+            for(int j = 0; j < n; j++) { assertEquals(result1[j], result2[j]); }
+        }
+        // Sums that wrap around in int are correct in long, and detected by the exact version for long.
+        long[] expected = {Integer.MAX_VALUE, 2L * Integer.MAX_VALUE, 2L * Integer.MAX_VALUE + 1};
+        assertArrayEquals(expected, Shlemiel.accumulate(new long[] {Integer.MAX_VALUE, Integer.MAX_VALUE, 1}));
+        assertArrayEquals(expected, Shlemiel.accumulateExact(new long[] {Integer.MAX_VALUE, Integer.MAX_VALUE, 1}));
+        try {
+            Shlemiel.accumulateExact(new long[] {Long.MIN_VALUE, -1});
+            fail();
+        }
+        catch(ArithmeticException expectedException) { }
+    }
+
+    private static long[] widen(int[] a) {
+        long[] result = new long[a.length];
+        for(int i = 0; i < a.length; i++) { result[i] = a[i]; }
+        return result;
+    }
+
     @Test public void testLongestAscendingSubarray() {
         Random rng = new Random(SEED);
         for(int n = 1; n < 1000; n++) {
@@ -39,7 +71,11 @@ public class ShlemielTest {
             }
             int result1 = Shlemiel.longestAscendingSubarrayShlemiel(items);
             int result2 = Shlemiel.longestAscendingSubarray(items);
+            int result3 = Shlemiel.longestAscendingSubarray(widen(items));
+            int result4 = Shlemiel.longestAscendingSubarrayShlemiel(widen(items));
             assertEquals(result1, result2);
+            assertEquals(result2, result3);
+            assertEquals(result3, result4);
         }
     }
 
@@ -60,6 +96,71 @@ public class ShlemielTest {
         }
     }
 
+    @Test public void testTwoSummingElementsLongAndExact() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            int[] items = new int[n];
+            long[] wide = new long[n];
+            items[0] = rng.nextInt(10);
+            for(int j = 1; j < n; j++) {
+                items[j] = items[j-1] + 1 + rng.nextInt(n*n);
+            }
+            for(int j = 0; j < n; j++) { wide[j] = items[j]; }
+            for(int j = 0; j < 10; j++) {
+                int goal = rng.nextInt(items[n-1] + items[n/2]);
+                boolean result1 = Shlemiel.twoSummingElementsShlemiel(items, goal);
+                assertEquals(result1, Shlemiel.twoSummingElementsExact(items, goal));
+                assertEquals(result1, Shlemiel.twoSummingElements(wide, goal));
+                assertEquals(result1, Shlemiel.twoSummingElementsShlemiel(wide, goal));
+            }
+        }
+        // Sums of two ints that do not fit in int.
+        int[] big = {1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        assertTrue(Shlemiel.twoSummingElementsExact(big, 2L * Integer.MAX_VALUE - 1));
+        assertTrue(!Shlemiel.twoSummingElementsExact(big, 2L * Integer.MAX_VALUE));
+        // Sums of two longs that do not fit in long are beyond every goal.
+        long[] huge = {Long.MIN_VALUE, -5, 3, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        assertTrue(Shlemiel.twoSummingElements(huge, -2));
+        assertTrue(Shlemiel.twoSummingElements(huge, Long.MAX_VALUE - 6));
+        assertTrue(Shlemiel.twoSummingElements(huge, -1));
+        assertTrue(!Shlemiel.twoSummingElements(huge, Long.MIN_VALUE + 1));
+        assertTrue(!Shlemiel.twoSummingElements(huge, 7));
+        for(long goal: new long[] {-2, Long.MAX_VALUE - 6, -1, Long.MIN_VALUE + 1, 7}) {
+            assertEquals(Shlemiel.twoSummingElements(huge, goal), Shlemiel.twoSummingElementsShlemiel(huge, goal));
+        }
+    }
+
+    @Test public void testThreeSummingElements() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 150; n++) {
+            int[] items = new int[n];
+            items[0] = rng.nextInt(10);
+            for(int j = 1; j < n; j++) {
+                items[j] = items[j-1] + 1 + rng.nextInt(n);
+            }
+            for(int j = 0; j < 10; j++) {
+                long goal = rng.nextInt(items[n-1] + items[n/2] + items[n/4] + 1);
+                boolean result1 = Shlemiel.threeSummingElementsShlemiel(items, goal);
+                boolean result2 = Shlemiel.threeSummingElements(items, goal);
+                assertEquals(result1, result2);
+                assertEquals(result1, Shlemiel.threeSummingElementsShlemiel(widen(items), goal));
+                assertEquals(result1, Shlemiel.threeSummingElements(widen(items), goal));
+            }
+        }
+        // Some sums of three longs overflow in the first addition but fit in total, such as
+        // MIN - 10 + MAX = -11, and others do not fit at all, but would wrap around to -13, 1
+        // and MAX - 5. The long versions must find exactly the sums that truly exist.
+        long[] huge = {Long.MIN_VALUE, -10, 4, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for(long goal: new long[] {-11, -12, Long.MAX_VALUE - 6, Long.MAX_VALUE - 2}) {
+            assertTrue(Shlemiel.threeSummingElements(huge, goal));
+            assertTrue(Shlemiel.threeSummingElementsShlemiel(huge, goal));
+        }
+        for(long goal: new long[] {-13, 1, Long.MAX_VALUE - 5, -2}) {
+            assertTrue(!Shlemiel.threeSummingElements(huge, goal));
+            assertTrue(!Shlemiel.threeSummingElementsShlemiel(huge, goal));
+        }
+    }
+
     @Test public void testEvaluatePolynomial() {
         Random rng = new Random(SEED);
         for(int n = 1; n < 10000; n++) {
@@ -97,8 +198,12 @@ public class ShlemielTest {
                 boolean result1 = Shlemiel.containsAllNumbersShlemiel(Arrays.copyOf(a, a.length), n);
                 boolean result2 = Shlemiel.containsAllNumbersSorting(Arrays.copyOf(a, a.length), n);
                 boolean result3 = Shlemiel.containsAllNumbersLinear(Arrays.copyOf(a, a.length), n);
+                boolean result4 = Shlemiel.containsAllNumbersLinear(widen(a), n);
                 assertEquals(result1, result2);
                 assertEquals(result2, result3);
+                assertEquals(result3, result4);
+                assertEquals(result4, Shlemiel.containsAllNumbersShlemiel(widen(a), n));
+                assertEquals(result4, Shlemiel.containsAllNumbersSorting(widen(a), n));
             }
         }
     }
@@ -123,9 +228,12 @@ public class ShlemielTest {
             }
             int len = rng.nextInt(words.length);
             ArrayList<String> copy = new ArrayList<>(strings);
+            ArrayList<String> copy2 = new ArrayList<>(strings);
             Shlemiel.removeShortStringsShlemiel(strings, len);
             Shlemiel.removeShortStrings(copy, len);
+            Shlemiel.removeShortStringsInPlace(copy2, len);
             assertEquals(strings, copy);
+            assertEquals(copy, copy2);
         }
     }
 
@@ -152,8 +260,14 @@ public class ShlemielTest {
             boolean result1 = Shlemiel.hasMajorityShlemiel(items);
             boolean result2 = Shlemiel.hasMajorityHashMap(items);
             boolean result3 = Shlemiel.hasMajorityLinear(items);
+            boolean result4 = Shlemiel.hasMajorityIntHashMap(items);
+            boolean result5 = Shlemiel.hasMajorityLinear(widen(items));
             assertEquals(result1, result2);
             assertEquals(result2, result3);
+            assertEquals(result3, result4);
+            assertEquals(result4, result5);
+            assertEquals(result5, Shlemiel.hasMajorityShlemiel(widen(items)));
+            assertEquals(result5, Shlemiel.hasMajorityHashMap(widen(items)));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SlidingWindowTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testSlidingWindowInt() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            int[] items = new int[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt();
+            }
+            for(int round = 0; round < 5; round++) {
+                int w = rng.nextInt(n) + 1;
+                assertArrayEquals(SlidingWindow.slidingMinShlemiel(items, w), SlidingWindow.slidingMin(items, w));
+                assertArrayEquals(SlidingWindow.slidingMaxShlemiel(items, w), SlidingWindow.slidingMax(items, w));
+                assertArrayEquals(SlidingWindow.slidingSumShlemiel(items, w), SlidingWindow.slidingSum(items, w));
+            }
+        }
+    }
+
+    @Test public void testSlidingWindowLong() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 300; n++) {
+            long[] items = new long[n];
+            for(int j = 0; j < n; j++) {
+                // Many duplicates to exercise the ties in the monotonic deque.
+                items[j] = rng.nextInt(n / 4 + 1) - n / 8;
+            }
+            for(int round = 0; round < 5; round++) {
+                int w = rng.nextInt(n) + 1;
+                assertArrayEquals(SlidingWindow.slidingMinShlemiel(items, w), SlidingWindow.slidingMin(items, w));
+                assertArrayEquals(SlidingWindow.slidingMaxShlemiel(items, w), SlidingWindow.slidingMax(items, w));
+                assertArrayEquals(SlidingWindow.slidingSumShlemiel(items, w), SlidingWindow.slidingSum(items, w));
+            }
+        }
+    }
+
+    @Test public void testSparseTable() {
+        Random rng = new Random(SEED);
+        for(int n = 1; n < 200; n++) {
+            int[] items = new int[n];
+            long[] longItems = new long[n];
+            for(int j = 0; j < n; j++) {
+                items[j] = rng.nextInt();
+                longItems[j] = rng.nextLong();
+            }
+            SparseTable min = SparseTable.min(items), max = SparseTable.max(items);
+            SparseTable longMin = SparseTable.min(longItems), longMax = SparseTable.max(longItems);
+            // Every window of every size must agree with the sliding window results.
+            for(int w = 1; w <= n; w += 1 + w/4) {
+                int[] expectedMin = SlidingWindow.slidingMinShlemiel(items, w);
+                int[] expectedMax = SlidingWindow.slidingMaxShlemiel(items, w);
+                long[] expectedLongMin = SlidingWindow.slidingMinShlemiel(longItems, w);
+                long[] expectedLongMax = SlidingWindow.slidingMaxShlemiel(longItems, w);
+                for(int i = 0; i + w <= n; i++) {
+                    assertEquals(expectedMin[i], min.query(i, i + w));
+                    assertEquals(expectedMax[i], max.query(i, i + w));
+                    assertEquals(expectedLongMin[i], longMin.query(i, i + w));
+                    assertEquals(expectedLongMax[i], longMax.query(i, i + w));
+                }
+            }
+        }
+    }
+}
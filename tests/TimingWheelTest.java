@@ -0,0 +1,114 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TimingWheelTest {
+
+    private static final int SEED = 12345;
+
+    @Test public void testTimersExpireOnTime() {
+        Random rng = new Random(SEED);
+        // Small wheels with a short span, so that the cascades and the parking are exercised.
+        int[][] shapes = {{1, 1}, {2, 3}, {3, 2}, {6, 4}};
+        for(int[] shape: shapes) {
+            TimingWheel wheel = new TimingWheel(shape[0], shape[1]);
+            int n = 2000;
+            long[] fired = new long[n];
+            List<DLNode<TimingWheel.Timer>> handles = new ArrayList<>();
+            boolean[] cancelled = new boolean[n];
+            long last = 0;
+            for(int i = 0; i < n; i++) {
+                final int id = i;
+                // Interleave scheduling with ticking, so that timers start at different phases.
+                if(rng.nextInt(4) == 0) { wheel.advance(rng.nextInt(5)); }
+                long delay = 1 + rng.nextInt(rng.nextBoolean() ? 100 : 5000);
+                DLNode<TimingWheel.Timer> handle = wheel.schedule(() -> fired[id] = wheel.getTicks(), delay);
+                assertEquals(wheel.getTicks() + delay, handle.getKey().getDeadline());
+                last = Math.max(last, handle.getKey().getDeadline());
+                handles.add(handle);
+                if(rng.nextInt(5) == 0) {
+                    int victim = rng.nextInt(i + 1);
+                    assertEquals(!cancelled[victim] && fired[victim] == 0, wheel.cancel(handles.get(victim)));
+                    cancelled[victim] = true;
+                }
+            }
+            int pending = 0;
+            for(int i = 0; i < n; i++) { if(!cancelled[i] && fired[i] == 0) { pending++; } }
+            assertEquals(pending, wheel.size());
+            assertEquals(pending, wheel.advance(last - wheel.getTicks()));
+            assertEquals(0, wheel.size());
+            for(int i = 0; i < n; i++) {
+                long deadline = handles.get(i).getKey().getDeadline();
+                if(cancelled[i]) { assertTrue(fired[i] == 0 || fired[i] == deadline); }
+                else { assertEquals(deadline, fired[i]); }
+                assertFalse(wheel.cancel(handles.get(i)));
+            }
+        }
+    }
+
+    @Test public void testTasksReschedule() {
+        TimingWheel wheel = new TimingWheel(2, 2);
+        List<Long> ticks = new ArrayList<>();
+        // A task that runs every seven ticks until it has run five times.
+        Runnable[] periodic = new Runnable[1];
+        int[] runs = new int[1];
+        periodic[0] = () -> {
+            ticks.add(wheel.getTicks());
+            if(++runs[0] < 5) { wheel.schedule(periodic[0], 7); }
+        };
+        wheel.schedule(periodic[0], 7);
+        // A task that cancels a timer due at the same tick, which is then too late.
+        DLNode<TimingWheel.Timer> other = wheel.schedule(() -> ticks.add(-1L), 3);
+        wheel.schedule(() -> assertFalse(wheel.cancel(other)), 3);
+        wheel.advance(100);
+        assertEquals("[-1, 7, 14, 21, 28, 35]", ticks.toString());
+    }
+
+    @Test public void testFailingTasks() {
+        TimingWheel wheel = new TimingWheel();
+        int[] runs = new int[1];
+        wheel.schedule(() -> { throw new IllegalStateException("first"); }, 2);
+        wheel.schedule(() -> runs[0]++, 2);
+        wheel.schedule(() -> { throw new IllegalArgumentException("second"); }, 2);
+        wheel.schedule(() -> runs[0]++, 3);
+        assertEquals(0, wheel.tick());
+        try {
+            wheel.tick();
+            fail();
+        }
+        catch(IllegalStateException e) {
+            assertEquals("first", e.getMessage());
+            assertEquals(1, e.getSuppressed().length);
+        }
+        assertEquals(1, runs[0]);
+        assertEquals(1, wheel.tick());
+        assertEquals(2, runs[0]);
+        try {
+            wheel.schedule(() -> {}, 0);
+            fail();
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+
+    @Test public void testDriver() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel();
+        CountDownLatch latch = new CountDownLatch(3);
+        for(int delay = 1; delay <= 3; delay++) { wheel.schedule(latch::countDown, delay); }
+        Thread driver = new Thread(wheel.driver(1, TimeUnit.MILLISECONDS));
+        driver.start();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        wheel.stop();
+        driver.join(10_000);
+        assertFalse(driver.isAlive());
+        assertTrue(wheel.getTicks() >= 3);
+    }
+}